@@ -0,0 +1,322 @@
+package com.bank.fund.admission;
+
+import com.bank.fund.common.concurrent.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for subscription requests, applied before the saga's database or remote work
+ * A request must get a token from its channel's bucket and from its customer's bucket, then a
+ * processing slot from the lane scheduler. The rate check is cheap and runs before any database
+ * work; the slot is taken separately so a caller can take it only once it knows the request will
+ * run. Channels map to priority lanes that share the slots by weight, so a partner flooding a
+ * low-priority lane only delays itself. Tokens taken by a request rejected at a later step are
+ * refunded.
+ */
+@Component
+@Slf4j
+public class AdmissionGate {
+    
+    private static final Admission UNLIMITED = new Admission(true, null, null, 0, null, null, null);
+    
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LaneScheduler scheduler;
+    private final Map<String, ChannelState> channels = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> customers = new ConcurrentHashMap<>();
+    
+    private volatile boolean enabled;
+    private volatile double customerRatePerSecond;
+    private volatile int customerBurst;
+    
+    public AdmissionGate(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+        this.customerRatePerSecond = properties.getCustomerRatePerSecond();
+        this.customerBurst = properties.getCustomerBurst();
+        this.scheduler = new LaneScheduler(properties.getMaxConcurrent());
+        
+        properties.getLanes().forEach((name, lane) -> registerLane(name, lane.getWeight(), lane.getMaxQueue()));
+        if (!properties.getLanes().containsKey(properties.getDefaultLane())) {
+            registerLane(properties.getDefaultLane(), 1, new AdmissionProperties.Lane().getMaxQueue());
+        }
+        properties.getChannels().forEach((channel, limit) ->
+            channels.put(channel, new ChannelState(laneOrDefault(limit.getLane()), limit.getRatePerSecond(), limit.getBurst())));
+        
+        meterRegistry.gauge("admission.inflight", scheduler, LaneScheduler::inFlight);
+        meterRegistry.gauge("admission.customer.buckets", customers, Map::size);
+    }
+    
+    /**
+     * Take the request's channel and customer rate tokens or say why it is rejected
+     * The returned admission holds no processing slot yet; pass it to acquireSlot.
+     */
+    public Admission checkRate(String channel, String customerId) {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        ChannelState state = channelState(channel);
+        String lane = state.lane;
+        
+        if (!state.bucket.tryAcquire()) {
+            return reject(lane, "channel_rate", retryAfterSeconds(state.bucket.nanosUntilToken()));
+        }
+        TokenBucket customerBucket = customers.computeIfAbsent(customerId,
+            id -> new TokenBucket(customerRatePerSecond, customerBurst));
+        if (!customerBucket.tryAcquire()) {
+            state.bucket.refund();
+            return reject(lane, "customer_rate", retryAfterSeconds(customerBucket.nanosUntilToken()));
+        }
+        return new Admission(true, null, null, 0, lane, state.bucket, customerBucket);
+    }
+    
+    /**
+     * Take a processing slot in the lane of a request that passed the rate check
+     * A request that gets no slot has its rate tokens refunded. An admitted request must close
+     * the returned admission when it finishes.
+     */
+    public Admission acquireSlot(Admission rated) {
+        if (!rated.isAdmitted() || rated.lane == null) {
+            return rated;
+        }
+        String lane = rated.lane;
+        long startTime = System.nanoTime();
+        LaneScheduler.Outcome outcome;
+        try {
+            outcome = scheduler.acquire(lane, Deadline.timeoutMillis(properties.getQueueTimeoutMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return rejectFromLane(rated, "interrupted");
+        }
+        switch (outcome) {
+            case ADMITTED:
+                count(lane, "admitted");
+                return new Admission(true, null, scheduler, 0, lane, null, null);
+            case QUEUED_ADMITTED:
+                meterRegistry.timer("admission.queue.wait", "lane", lane)
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                count(lane, "queued_admitted");
+                return new Admission(true, null, scheduler, 0, lane, null, null);
+            case QUEUE_FULL:
+                return rejectFromLane(rated, "queue_full");
+            case TIMED_OUT:
+                meterRegistry.timer("admission.queue.wait", "lane", lane)
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                return rejectFromLane(rated, "queue_timeout");
+            default:
+                return rejectFromLane(rated, "unknown_lane");
+        }
+    }
+    
+    /**
+     * Change global settings; null arguments keep the current value
+     */
+    public void configure(Boolean enabled, Integer maxConcurrent, Double customerRatePerSecond, Integer customerBurst) {
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+        if (maxConcurrent != null) {
+            scheduler.resize(maxConcurrent);
+        }
+        if (customerRatePerSecond != null || customerBurst != null) {
+            if (customerRatePerSecond != null) {
+                this.customerRatePerSecond = customerRatePerSecond;
+            }
+            if (customerBurst != null) {
+                this.customerBurst = customerBurst;
+            }
+            customers.values().forEach(bucket -> bucket.configure(this.customerRatePerSecond, this.customerBurst));
+        }
+        log.warn("Admission control reconfigured: enabled={}, maxConcurrent={}, customerRate={}/s, customerBurst={}",
+                 this.enabled, scheduler.slots(), this.customerRatePerSecond, this.customerBurst);
+    }
+    
+    /**
+     * Change a channel's lane and rate; null arguments keep the current value
+     */
+    public void configureChannel(String channel, String lane, Double ratePerSecond, Integer burst) {
+        if (lane != null && !scheduler.queueSizes().containsKey(lane)) {
+            throw new IllegalArgumentException("Unknown admission lane: " + lane);
+        }
+        ChannelState state = channelState(channel);
+        synchronized (state) {
+            if (lane != null) {
+                state.lane = lane;
+            }
+            if (ratePerSecond != null) {
+                state.ratePerSecond = ratePerSecond;
+            }
+            if (burst != null) {
+                state.burst = burst;
+            }
+            state.bucket.configure(state.ratePerSecond, state.burst);
+        }
+        log.warn("Admission for channel {} reconfigured: lane={}, rate={}/s, burst={}",
+                 channel, state.lane, state.ratePerSecond, state.burst);
+    }
+    
+    /**
+     * Current settings and queue state, for monitoring
+     */
+    public AdmissionStatus status() {
+        Map<String, ChannelStatus> channelStatus = new LinkedHashMap<>();
+        channels.forEach((channel, state) -> channelStatus.put(channel,
+            new ChannelStatus(state.lane, state.ratePerSecond, state.burst)));
+        return AdmissionStatus.builder()
+            .enabled(enabled)
+            .maxConcurrent(scheduler.slots())
+            .inFlight(scheduler.inFlight())
+            .queueSizes(scheduler.queueSizes())
+            .customerRatePerSecond(customerRatePerSecond)
+            .customerBurst(customerBurst)
+            .channels(channelStatus)
+            .build();
+    }
+    
+    /**
+     * Drop customer buckets that have refilled completely; a new bucket behaves the same
+     */
+    @Scheduled(fixedDelayString = "${fund.admission.customer-bucket-cleanup-millis:60000}")
+    public void evictIdleCustomers() {
+        customers.entrySet().removeIf(entry -> entry.getValue().isFull());
+    }
+    
+    private ChannelState channelState(String channel) {
+        return channels.computeIfAbsent(channel, c -> new ChannelState(
+            properties.getDefaultLane(), properties.getDefaultRatePerSecond(), properties.getDefaultBurst()));
+    }
+    
+    private String laneOrDefault(String lane) {
+        return lane != null && scheduler.queueSizes().containsKey(lane) ? lane : properties.getDefaultLane();
+    }
+    
+    private void registerLane(String lane, int weight, int maxQueue) {
+        scheduler.configureLane(lane, weight, maxQueue);
+        meterRegistry.gauge("admission.queue.size", Tags.of("lane", lane), scheduler, s -> s.queueSize(lane));
+    }
+    
+    private Admission reject(String lane, String reason, long retryAfterSeconds) {
+        count(lane, "rejected_" + reason);
+        return new Admission(false, reason, null, retryAfterSeconds, lane, null, null);
+    }
+    
+    /**
+     * Reject a request that got its rate tokens but no processing slot, returning the tokens
+     */
+    private Admission rejectFromLane(Admission rated, String reason) {
+        rated.channelBucket.refund();
+        rated.customerBucket.refund();
+        return reject(rated.lane, reason,
+            retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeoutMillis())));
+    }
+    
+    /**
+     * Whole seconds to wait, at least one; a bucket that never refills is retried after a minute
+     */
+    private static long retryAfterSeconds(long nanos) {
+        if (nanos == Long.MAX_VALUE) {
+            return 60;
+        }
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    private void count(String lane, String result) {
+        meterRegistry.counter("admission.requests", "lane", lane, "result", result).increment();
+    }
+    
+    /**
+     * Admission decision; closing an admitted request frees its processing slot
+     * After a passed rate check it carries the buckets to refund if no slot is granted.
+     */
+    public static final class Admission implements AutoCloseable {
+        private final boolean admitted;
+        private final String rejectReason;
+        private final LaneScheduler scheduler;
+        private final long retryAfterSeconds;
+        private final String lane;
+        private final TokenBucket channelBucket;
+        private final TokenBucket customerBucket;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        private Admission(boolean admitted, String rejectReason, LaneScheduler scheduler, long retryAfterSeconds,
+                          String lane, TokenBucket channelBucket, TokenBucket customerBucket) {
+            this.admitted = admitted;
+            this.rejectReason = rejectReason;
+            this.scheduler = scheduler;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.lane = lane;
+            this.channelBucket = channelBucket;
+            this.customerBucket = customerBucket;
+        }
+        
+        public boolean isAdmitted() {
+            return admitted;
+        }
+        
+        public String getRejectReason() {
+            return rejectReason;
+        }
+        
+        /**
+         * Seconds a rejected request should wait before retrying
+         */
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+        
+        @Override
+        public void close() {
+            if (scheduler != null && closed.compareAndSet(false, true)) {
+                scheduler.release();
+            }
+        }
+    }
+    
+    /**
+     * Mutable limits of one channel
+     */
+    private static final class ChannelState {
+        private volatile String lane;
+        private volatile double ratePerSecond;
+        private volatile int burst;
+        private final TokenBucket bucket;
+        
+        private ChannelState(String lane, double ratePerSecond, int burst) {
+            this.lane = lane;
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.bucket = new TokenBucket(ratePerSecond, burst);
+        }
+    }
+    
+    @Value
+    public static class ChannelStatus {
+        String lane;
+        double ratePerSecond;
+        int burst;
+    }
+    
+    @Value
+    @Builder
+    public static class AdmissionStatus {
+        boolean enabled;
+        int maxConcurrent;
+        int inFlight;
+        Map<String, Integer> queueSizes;
+        double customerRatePerSecond;
+        int customerBurst;
+        Map<String, ChannelStatus> channels;
+    }
+}
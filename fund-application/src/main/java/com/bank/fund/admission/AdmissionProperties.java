@@ -0,0 +1,98 @@
+package com.bank.fund.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for admission control of subscription requests
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.admission")
+public class AdmissionProperties {
+    
+    /**
+     * Apply rate limits and lanes to subscription requests
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Subscriptions processed at once across all lanes
+     * Sized to the (online) connection pool, since each subscription holds a connection for its whole saga
+     */
+    private int maxConcurrent = 10;
+    
+    /**
+     * Milliseconds a request may wait in its lane for a processing slot before being rejected
+     */
+    private long queueTimeoutMillis = 200;
+    
+    /**
+     * Sustained requests per second allowed for one customer
+     */
+    private double customerRatePerSecond = 5;
+    
+    /**
+     * Requests one customer may send in a burst
+     */
+    private int customerBurst = 10;
+    
+    /**
+     * Lane of channels without their own limit
+     */
+    private String defaultLane = "STANDARD";
+    
+    /**
+     * Sustained requests per second of a channel without its own limit
+     */
+    private double defaultRatePerSecond = 200;
+    
+    /**
+     * Burst of a channel without its own limit
+     */
+    private int defaultBurst = 400;
+    
+    /**
+     * Priority lanes by name
+     */
+    private Map<String, Lane> lanes = new LinkedHashMap<>();
+    
+    /**
+     * Per-channel limits and lane assignment
+     */
+    private Map<String, ChannelLimit> channels = new LinkedHashMap<>();
+    
+    /**
+     * Priority lane sharing the processing slots by weight
+     */
+    @Data
+    public static class Lane {
+        
+        /**
+         * Share of freed slots given to this lane while several lanes are waiting
+         */
+        private int weight = 1;
+        
+        /**
+         * Requests waiting in the lane beyond which new ones are rejected at once
+         */
+        private int maxQueue = 100;
+    }
+    
+    /**
+     * Rate limit and lane of one channel
+     */
+    @Data
+    public static class ChannelLimit {
+        
+        private String lane;
+        
+        private double ratePerSecond;
+        
+        private int burst;
+    }
+}
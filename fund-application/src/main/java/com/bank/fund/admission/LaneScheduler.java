@@ -0,0 +1,222 @@
+package com.bank.fund.admission;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares a fixed number of processing slots between priority lanes
+ * A request takes a free slot at once when no lane is waiting. Otherwise it queues in its lane,
+ * and each freed slot goes to the head of a waiting lane chosen by smooth weighted round robin,
+ * so lanes receive slots in proportion to their weights and a busy lane cannot starve the rest.
+ */
+final class LaneScheduler {
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, LaneQueue> lanes = new LinkedHashMap<>();
+    private int slots;
+    private int available;
+    private int waiting;
+    
+    LaneScheduler(int slots) {
+        this.slots = Math.max(1, slots);
+        this.available = this.slots;
+    }
+    
+    /**
+     * Add a lane or change its weight and queue bound
+     */
+    void configureLane(String lane, int weight, int maxQueue) {
+        lock.lock();
+        try {
+            LaneQueue queue = lanes.computeIfAbsent(lane, name -> new LaneQueue());
+            queue.weight = Math.max(1, weight);
+            queue.maxQueue = Math.max(0, maxQueue);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Change the number of slots; slots in use above a lowered limit are retired as they are released
+     */
+    void resize(int newSlots) {
+        lock.lock();
+        try {
+            int target = Math.max(1, newSlots);
+            available += target - slots;
+            slots = target;
+            while (available > 0 && waiting > 0) {
+                available--;
+                grantNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Take a slot for a request in the lane
+     *
+     * @return ADMITTED or QUEUED_ADMITTED with a slot to release, otherwise the rejection
+     */
+    Outcome acquire(String lane, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            LaneQueue queue = lanes.get(lane);
+            if (queue == null) {
+                return Outcome.UNKNOWN_LANE;
+            }
+            if (available > 0 && waiting == 0) {
+                available--;
+                return Outcome.ADMITTED;
+            }
+            if (queue.waiters.size() >= queue.maxQueue) {
+                return Outcome.QUEUE_FULL;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.waiters.addLast(waiter);
+            waiting++;
+            
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        queue.waiters.remove(waiter);
+                        waiting--;
+                        return Outcome.TIMED_OUT;
+                    }
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    releaseLocked();
+                } else {
+                    queue.waiters.remove(waiter);
+                    waiting--;
+                }
+                throw e;
+            }
+            return Outcome.QUEUED_ADMITTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Return a slot taken by a successful acquire
+     */
+    void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Queue lengths by lane
+     */
+    Map<String, Integer> queueSizes() {
+        lock.lock();
+        try {
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            lanes.forEach((name, queue) -> sizes.put(name, queue.waiters.size()));
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int queueSize(String lane) {
+        lock.lock();
+        try {
+            LaneQueue queue = lanes.get(lane);
+            return queue != null ? queue.waiters.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int inFlight() {
+        lock.lock();
+        try {
+            return Math.max(0, slots - available);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    int slots() {
+        lock.lock();
+        try {
+            return slots;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void releaseLocked() {
+        if (waiting > 0 && available >= 0) {
+            grantNext();
+        } else {
+            available++;
+        }
+    }
+    
+    /**
+     * Hand a slot to the next waiter by smooth weighted round robin over non-empty lanes
+     */
+    private void grantNext() {
+        LaneQueue chosen = null;
+        int totalWeight = 0;
+        for (LaneQueue queue : lanes.values()) {
+            if (queue.waiters.isEmpty()) {
+                continue;
+            }
+            queue.currentWeight += queue.weight;
+            totalWeight += queue.weight;
+            if (chosen == null || queue.currentWeight > chosen.currentWeight) {
+                chosen = queue;
+            }
+        }
+        if (chosen == null) {
+            available++;
+            return;
+        }
+        chosen.currentWeight -= totalWeight;
+        Waiter waiter = chosen.waiters.pollFirst();
+        waiting--;
+        waiter.granted = true;
+        waiter.signal.signal();
+    }
+    
+    enum Outcome {
+        ADMITTED,
+        QUEUED_ADMITTED,
+        QUEUE_FULL,
+        TIMED_OUT,
+        UNKNOWN_LANE
+    }
+    
+    private static final class LaneQueue {
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int weight = 1;
+        private int maxQueue;
+        private int currentWeight;
+    }
+    
+    private static final class Waiter {
+        private final Condition signal;
+        private boolean granted;
+        
+        private Waiter(Condition signal) {
+            this.signal = signal;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.fund.admission;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its burst capacity
+ */
+final class TokenBucket {
+    
+    private double ratePerNano;
+    private double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+    
+    TokenBucket(double ratePerSecond, int burst) {
+        configure(ratePerSecond, burst);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * Take one token if available
+     */
+    synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Return a token taken by a request that was rejected further on
+     */
+    synchronized void refund() {
+        refill(System.nanoTime());
+        tokens = Math.min(capacity, tokens + 1);
+    }
+    
+    /**
+     * Nanoseconds until a token is available, Long.MAX_VALUE when the bucket never refills
+     */
+    synchronized long nanosUntilToken() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            return 0;
+        }
+        if (ratePerNano <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((1 - tokens) / ratePerNano);
+    }
+    
+    /**
+     * Change rate and burst, keeping the tokens currently available up to the new burst
+     */
+    synchronized void configure(double ratePerSecond, int burst) {
+        refill(System.nanoTime());
+        this.ratePerNano = Math.max(0, ratePerSecond) / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = Math.min(tokens, capacity);
+    }
+    
+    /**
+     * Check if the bucket is full, i.e. indistinguishable from a new one
+     */
+    synchronized boolean isFull() {
+        refill(System.nanoTime());
+        return tokens >= capacity;
+    }
+    
+    private void refill(long now) {
+        if (lastRefillNanos != 0) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+        }
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.fund.api;
+
+import com.bank.fund.trading.domain.service.accounting.AccountingRoutingMode;
+import com.bank.fund.trading.domain.service.accounting.CoreBankHealthTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing core banking health and overriding accounting routing
+ * GET /actuator/accountingrouting, POST /actuator/accountingrouting {"mode":"FORCE_FREEZE"}
+ */
+@Component
+@Endpoint(id = "accountingrouting")
+@RequiredArgsConstructor
+public class AccountingRoutingEndpoint {
+    
+    private final CoreBankHealthTracker healthTracker;
+    
+    @ReadOperation
+    public CoreBankHealthTracker.RoutingStatus status() {
+        return healthTracker.status();
+    }
+    
+    @WriteOperation
+    public CoreBankHealthTracker.RoutingStatus setMode(AccountingRoutingMode mode) {
+        healthTracker.setMode(mode);
+        return healthTracker.status();
+    }
+}
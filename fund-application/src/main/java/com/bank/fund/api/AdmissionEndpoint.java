@@ -0,0 +1,91 @@
+package com.bank.fund.api;
+
+import com.bank.fund.admission.AdmissionGate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing and tuning subscription admission control
+ * One setting is changed per call, so every operation parameter is required:
+ * GET /actuator/admission, POST /actuator/admission/maxConcurrent {"value":"20"},
+ * POST /actuator/admission/PARTNER/lane {"value":"BATCH"}
+ */
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint {
+    
+    private final AdmissionGate admissionGate;
+    
+    @ReadOperation
+    public AdmissionGate.AdmissionStatus status() {
+        return admissionGate.status();
+    }
+    
+    /**
+     * Change one global setting: enabled, maxConcurrent, customerRatePerSecond or customerBurst
+     */
+    @WriteOperation
+    public AdmissionGate.AdmissionStatus configure(@Selector String setting, String value) {
+        try {
+            switch (setting) {
+                case "enabled":
+                    admissionGate.configure(Boolean.valueOf(value), null, null, null);
+                    break;
+                case "maxConcurrent":
+                    admissionGate.configure(null, Integer.valueOf(value), null, null);
+                    break;
+                case "customerRatePerSecond":
+                    admissionGate.configure(null, null, Double.valueOf(value), null);
+                    break;
+                case "customerBurst":
+                    admissionGate.configure(null, null, null, Integer.valueOf(value));
+                    break;
+                default:
+                    throw new InvalidEndpointRequestException("Unknown admission setting: " + setting,
+                        "Unknown admission setting");
+            }
+        } catch (NumberFormatException e) {
+            throw invalidValue(setting, value);
+        }
+        return admissionGate.status();
+    }
+    
+    /**
+     * Change one setting of a channel: lane, ratePerSecond or burst
+     */
+    @WriteOperation
+    public AdmissionGate.AdmissionStatus configureChannel(@Selector String channel, @Selector String setting,
+                                                          String value) {
+        try {
+            switch (setting) {
+                case "lane":
+                    admissionGate.configureChannel(channel, value, null, null);
+                    break;
+                case "ratePerSecond":
+                    admissionGate.configureChannel(channel, null, Double.valueOf(value), null);
+                    break;
+                case "burst":
+                    admissionGate.configureChannel(channel, null, null, Integer.valueOf(value));
+                    break;
+                default:
+                    throw new InvalidEndpointRequestException("Unknown channel admission setting: " + setting,
+                        "Unknown channel admission setting");
+            }
+        } catch (NumberFormatException e) {
+            throw invalidValue(setting, value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return admissionGate.status();
+    }
+    
+    private static InvalidEndpointRequestException invalidValue(String setting, String value) {
+        return new InvalidEndpointRequestException("Invalid value for " + setting + ": " + value, "Invalid value");
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.fund.api;
+
+import com.bank.fund.common.concurrent.Workload;
+import com.bank.fund.trading.domain.model.CustomerHolding;
+import com.bank.fund.trading.domain.model.ShareRecord;
+import com.bank.fund.trading.domain.service.holding.CustomerHoldingCache;
+import com.bank.fund.trading.domain.service.share.ShareBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint reading and rebuilding the customer holdings projection
+ * GET /actuator/holdings/{customerId}, GET /actuator/holdings/{customerId}/{productCode} (current shares),
+ * POST /actuator/holdings (rebuild from shares and transactions)
+ * Reads run on the reporting connection pool and the rebuild on the background pool.
+ */
+@Component
+@Endpoint(id = "holdings")
+@RequiredArgsConstructor
+public class HoldingsEndpoint {
+    
+    private final CustomerHoldingCache holdingCache;
+    private final ShareBalanceService shareBalanceService;
+    
+    @ReadOperation
+    public List<CustomerHolding> holdings(@Selector String customerId) {
+        return Workload.REPORTING.call(() -> holdingCache.getByCustomer(customerId));
+    }
+    
+    @ReadOperation
+    public ShareRecord shares(@Selector String customerId, @Selector String productCode) {
+        return Workload.REPORTING.call(() -> shareBalanceService.getBalance(customerId, productCode).orElse(null));
+    }
+    
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Collections.singletonMap("rows", Workload.BACKGROUND.call(holdingCache::rebuild));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.fund.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in downstream system for the HTTP outbox sink
+ * Accepts relayed batches, counts their messages and flags messages arriving out of ID order;
+ * redelivered messages are counted as duplicates.
+ */
+@RestController
+@ConditionalOnProperty(name = "fund.outbox.http.loopback-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxLoopbackController {
+    
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong highestId = new AtomicLong();
+    
+    @PostMapping("/internal/outbox/loopback")
+    public ResponseEntity<Void> receive(@RequestBody JsonNode batch) {
+        for (JsonNode message : batch) {
+            long id = message.path("id").asLong();
+            long previous = highestId.getAndAccumulate(id, Math::max);
+            if (id > previous) {
+                meterRegistry.counter("outbox.loopback.received", "eventType", message.path("eventType").asText())
+                    .increment();
+            } else {
+                meterRegistry.counter("outbox.loopback.duplicates").increment();
+                log.debug("Outbox message {} received again or out of order after {}", id, previous);
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
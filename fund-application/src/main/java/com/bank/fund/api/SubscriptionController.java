@@ -1,16 +1,29 @@
 package com.bank.fund.api;
 
+import com.bank.fund.admission.AdmissionGate;
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.utils.SerialNumberGenerator;
 import com.bank.fund.trading.application.SubscriptionApplicationService;
+import com.bank.fund.trading.application.deadline.DeadlineGuard;
 import com.bank.fund.trading.application.dto.SubscriptionRequest;
 import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.application.idempotency.IdempotencyService;
+import com.bank.fund.trading.application.inbox.SubscriptionInboxService;
+import com.bank.fund.trading.application.shedding.LoadSheddingGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * REST API controller for fund subscription
@@ -23,17 +36,94 @@ import javax.validation.Valid;
 public class SubscriptionController {
     
     private final SubscriptionApplicationService subscriptionApplicationService;
+    private final IdempotencyService idempotencyService;
+    private final AdmissionGate admissionGate;
+    private final LoadSheddingGuard loadSheddingGuard;
+    private final SubscriptionInboxService inboxService;
+    private final DeadlineGuard deadlineGuard;
+    private final SubscriptionForwarder forwarder;
     
     /**
      * Process fund subscription request
+     * Retries carrying the same Idempotency-Key header, or channel order ID, get the original response.
+     * Requests over their channel or customer rate, or that cannot get a processing slot in time,
+     * are rejected with 429 before any work is done. While core banking's circuit breaker is open,
+     * requests are rejected with 503 instead of being saved and compensated.
+     * Channels configured for asynchronous confirmation get 202 Accepted once the request is in the
+     * inbox, including during core banking outages; the saga runs later on an inbox worker.
+     * Synchronous requests run under a deadline from the caller's timeout header or the channel budget,
+     * and are abandoned with 504 when the next saga step could not finish in time.
+     * With customer routing enabled, requests for customers owned by another node are relayed there
+     * and the owner's response is returned as is, or 504/502 when the owner took the request but did
+     * not answer; a request arriving while another order of the customer for the product is running gets 409.
      */
     @PostMapping
-    public ResponseEntity<SubscriptionResponse> subscribe(@Valid @RequestBody SubscriptionRequest request) {
+    public ResponseEntity<?> subscribe(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "${fund.deadline.header:X-Request-Timeout-Millis}", required = false) String timeoutMillis,
+            @RequestHeader(value = SubscriptionForwarder.FORWARDED_HEADER, required = false) String forwarded,
+            @Valid @RequestBody SubscriptionRequest request) {
         log.info("Received subscription request: customerId={}, productCode={}, amount={}", 
                  request.getCustomerId(), request.getProductCode(), request.getAmount());
         
-        SubscriptionResponse response = subscriptionApplicationService.processSubscription(request);
+        if (forwarder.shouldForward(request, forwarded)) {
+            Optional<ResponseEntity<?>> relayed =
+                forwarder.forward(idempotencyKey, timeoutMillis, request);
+            if (relayed.isPresent()) {
+                return relayed.get();
+            }
+        }
+        
+        boolean async = inboxService.isAsyncChannel(request.getChannel());
+        String openBreaker = async ? null : loadSheddingGuard.openBreaker();
+        if (openBreaker != null) {
+            log.warn("Subscription shed, {} circuit breaker is open: customerId={}",
+                     openBreaker, request.getCustomerId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(loadSheddingGuard.retryAfterSeconds(openBreaker)))
+                .body(loadSheddingGuard.shed(request, openBreaker));
+        }
+        
+        Deadline deadline = async ? null : deadlineGuard.deadlineFor(request.getChannel(), timeoutMillis);
+        return Deadline.callWith(deadline, () -> admitAndProcess(idempotencyKey, request, async));
+    }
+    
+    private ResponseEntity<SubscriptionResponse> admitAndProcess(String idempotencyKey, SubscriptionRequest request,
+                                                                 boolean async) {
+        // Rate limits are checked before the idempotency claim so an over-rate request gets its 429
+        // without touching the database; the processing slot is taken only once the claim is won,
+        // so a retry waiting on the original request holds no slot
+        AdmissionGate.Admission rated = admissionGate.checkRate(request.getChannel(), request.getCustomerId());
+        if (!rated.isAdmitted()) {
+            return tooManyRequests(request, rated);
+        }
+        AtomicLong retryAfterSeconds = new AtomicLong(1);
+        Function<String, SubscriptionResponse> subscription = serialNumber -> {
+            try (AdmissionGate.Admission admission = admissionGate.acquireSlot(rated)) {
+                if (!admission.isAdmitted()) {
+                    retryAfterSeconds.set(admission.getRetryAfterSeconds());
+                    return admissionRejected(request, admission);
+                }
+                return async ?
+                    inboxService.accept(request, serialNumber) :
+                    subscriptionApplicationService.processSubscription(request, serialNumber);
+            }
+        };
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey : request.getChannelOrderId();
+        SubscriptionResponse response = StringUtils.hasText(key) ?
+            idempotencyService.execute(key, request, subscription) :
+            subscription.apply(SerialNumberGenerator.generate("SUB"));
         
+        if (ErrorCode.ADMISSION_REJECTED.equals(response.getErrorCode())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds.get()))
+                .body(response);
+        }
+        if (response.isSuccess() && SubscriptionInboxService.ACCEPTED.equals(response.getStatus())) {
+            log.info("Subscription accepted for asynchronous processing: transactionSerialNumber={}",
+                     response.getTransactionSerialNumber());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        }
         if (response.isSuccess()) {
             log.info("Subscription succeeded: transactionSerialNumber={}", 
                      response.getTransactionSerialNumber());
@@ -41,16 +131,50 @@ public class SubscriptionController {
         } else {
             log.error("Subscription failed: errorCode={}, errorMessage={}", 
                       response.getErrorCode(), response.getErrorMessage());
+            if (ErrorCode.DUPLICATE_REQUEST_IN_PROGRESS.equals(response.getErrorCode())
+                || ErrorCode.CONCURRENT_ORDER_IN_PROGRESS.equals(response.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            if (ErrorCode.IDEMPOTENCY_KEY_MISMATCH.equals(response.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+            }
+            if (ErrorCode.DEADLINE_EXCEEDED.equals(response.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
     }
     
+    private ResponseEntity<SubscriptionResponse> tooManyRequests(SubscriptionRequest request,
+                                                                 AdmissionGate.Admission admission) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.getRetryAfterSeconds()))
+            .body(admissionRejected(request, admission));
+    }
+    
+    private SubscriptionResponse admissionRejected(SubscriptionRequest request, AdmissionGate.Admission admission) {
+        log.warn("Subscription rejected by admission control: channel={}, customerId={}, reason={}",
+                 request.getChannel(), request.getCustomerId(), admission.getRejectReason());
+        return SubscriptionResponse.builder()
+            .success(false)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .errorCode(ErrorCode.ADMISSION_REJECTED)
+            .errorMessage("Too many requests: " + admission.getRejectReason())
+            .build();
+    }
+    
     /**
      * Query subscription transaction status
+     * Subscriptions accepted into the inbox report their processing status and, once processed, the saga response
      */
     @GetMapping("/{transactionSerialNumber}")
-    public ResponseEntity<String> queryTransaction(@PathVariable String transactionSerialNumber) {
+    public ResponseEntity<?> queryTransaction(@PathVariable String transactionSerialNumber) {
         log.info("Querying transaction: {}", transactionSerialNumber);
+        Optional<SubscriptionResponse> accepted = inboxService.status(transactionSerialNumber);
+        if (accepted.isPresent()) {
+            return ResponseEntity.ok(accepted.get());
+        }
         // Placeholder for query implementation
         return ResponseEntity.ok("Transaction query not yet implemented");
     }
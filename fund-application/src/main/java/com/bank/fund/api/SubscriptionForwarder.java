@@ -0,0 +1,173 @@
+package com.bank.fund.api;
+
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.trading.application.dto.SubscriptionRequest;
+import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.application.lock.CustomerRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Relays a subscription to the node owning the customer's orders
+ * The relayed request carries the cluster's shared secret in a marker header so the owner processes
+ * it even if its view of the node list differs; a marker without the secret, as an external caller
+ * could send, is ignored. The owner's status, Retry-After and body are passed back unchanged.
+ * Only when the connection to the owner could not be opened, so the request never reached it,
+ * does the caller process the order itself. Once the request was sent it may be running on the
+ * owner, so a timeout answers 504 and any other failure 502, and the client retries with the same
+ * idempotency key.
+ */
+@Component
+@Slf4j
+public class SubscriptionForwarder {
+    
+    static final String FORWARDED_HEADER = "X-Fund-Forwarded";
+    
+    private final CustomerRouter router;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String timeoutHeader;
+    private final HttpClient httpClient;
+    
+    public SubscriptionForwarder(CustomerRouter router, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${fund.deadline.header:X-Request-Timeout-Millis}") String timeoutHeader) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeoutHeader = timeoutHeader;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(router.getForwardTimeoutMillis()))
+            .build();
+    }
+    
+    /**
+     * Check if the request should be relayed instead of processed here
+     */
+    public boolean shouldForward(SubscriptionRequest request, String forwardedMarker) {
+        if (router.isLocal(request.getCustomerId())) {
+            return false;
+        }
+        if (!StringUtils.hasText(forwardedMarker)) {
+            return true;
+        }
+        if (isFromPeer(forwardedMarker)) {
+            return false;
+        }
+        log.warn("Ignoring forwarded marker without the cluster secret: customerId={}", request.getCustomerId());
+        meterRegistry.counter("order.routing.forwarded", "result", "untrusted_marker").increment();
+        return true;
+    }
+    
+    /**
+     * Relay the request to its owner and return the owner's answer, or empty when the owner could not be reached
+     */
+    public Optional<ResponseEntity<?>> forward(String idempotencyKey, String timeoutMillis,
+                                                                  SubscriptionRequest request) {
+        String ownerUrl = router.ownerUrl(request.getCustomerId());
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(URI.create(ownerUrl + "/api/v1/subscriptions"))
+                .timeout(Duration.ofMillis(timeoutFor(timeoutMillis)))
+                .header("Content-Type", "application/json")
+                .header(FORWARDED_HEADER, router.getForwardSecret())
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize subscription request", e);
+        }
+        if (StringUtils.hasText(idempotencyKey)) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        if (StringUtils.hasText(timeoutMillis)) {
+            builder.header(timeoutHeader, timeoutMillis);
+        }
+        
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (HttpConnectTimeoutException | ConnectException e) {
+            // The request was never sent, so the order cannot be running on the owner
+            log.warn("Owner node {} unreachable for customer {}, processing locally: {}",
+                     ownerUrl, request.getCustomerId(), e.getMessage());
+            meterRegistry.counter("order.routing.forwarded", "result", "fallback").increment();
+            return Optional.empty();
+        } catch (HttpTimeoutException e) {
+            log.warn("Owner node {} did not answer in time for customer {}", ownerUrl, request.getCustomerId());
+            meterRegistry.counter("order.routing.forwarded", "result", "timeout").increment();
+            return Optional.of(failure(HttpStatus.GATEWAY_TIMEOUT, ErrorCode.EXTERNAL_SYSTEM_TIMEOUT,
+                "Owner node did not answer in time, retry with the same Idempotency-Key", request));
+        } catch (IOException e) {
+            log.warn("Forwarding to owner node {} failed for customer {}: {}",
+                     ownerUrl, request.getCustomerId(), e.getMessage());
+            meterRegistry.counter("order.routing.forwarded", "result", "failed").increment();
+            return Optional.of(failure(HttpStatus.BAD_GATEWAY, ErrorCode.EXTERNAL_SYSTEM_ERROR,
+                "Forwarding to owner node failed, retry with the same Idempotency-Key", request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted forwarding subscription", e);
+        }
+        
+        meterRegistry.counter("order.routing.forwarded", "result", "relayed").increment();
+        return Optional.of(relay(response));
+    }
+    
+    /**
+     * The owner's answer with its status, content type, Retry-After and body as received
+     */
+    private ResponseEntity<String> relay(HttpResponse<String> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+            .ifPresent(value -> headers.set(HttpHeaders.CONTENT_TYPE, value));
+        response.headers().firstValue(HttpHeaders.RETRY_AFTER)
+            .ifPresent(value -> headers.set(HttpHeaders.RETRY_AFTER, value));
+        return ResponseEntity.status(response.statusCode()).headers(headers).body(response.body());
+    }
+    
+    private ResponseEntity<SubscriptionResponse> failure(HttpStatus status, String errorCode, String message,
+                                                         SubscriptionRequest request) {
+        return ResponseEntity.status(status).body(SubscriptionResponse.builder()
+            .success(false)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .errorCode(errorCode)
+            .errorMessage(message)
+            .build());
+    }
+    
+    private boolean isFromPeer(String forwardedMarker) {
+        String secret = router.getForwardSecret();
+        return StringUtils.hasText(secret) && MessageDigest.isEqual(
+            forwardedMarker.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private long timeoutFor(String timeoutMillis) {
+        if (StringUtils.hasText(timeoutMillis)) {
+            try {
+                return Math.max(1, Long.parseLong(timeoutMillis.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid timeout header value: {}", timeoutMillis);
+            }
+        }
+        return router.getForwardTimeoutMillis();
+    }
+}
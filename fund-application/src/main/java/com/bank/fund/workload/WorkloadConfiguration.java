@@ -0,0 +1,68 @@
+package com.bank.fund.workload;
+
+import com.bank.fund.common.concurrent.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-workload connection pools and scheduler threads
+ * Every workload gets its own Hikari pool, so a compensation scan or export exhausting its pool
+ * leaves online connections untouched. Scheduler threads run as background work; per-pool
+ * connection wait is recorded in the hikaricp.connections.acquire timer tagged by pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fund.workload.enabled", havingValue = "true")
+@Slf4j
+public class WorkloadConfiguration {
+    
+    @Bean
+    public WorkloadRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                WorkloadProperties properties,
+                                                Environment environment,
+                                                MeterRegistry meterRegistry) {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            WorkloadProperties.Pool config = properties.getPools().get(workload);
+            if (config == null) {
+                throw new IllegalStateException("No connection pool configured for workload " + workload);
+            }
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("fund-" + workload.name().toLowerCase(Locale.ROOT));
+            pool.setMaximumPoolSize(config.getMaximumPoolSize());
+            pool.setMinimumIdle(config.getMinimumIdle());
+            if (config.getConnectionTimeout() != null) {
+                pool.setConnectionTimeout(config.getConnectionTimeout());
+            }
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+            log.info("Connection pool {} sized {} for {} work", pool.getPoolName(), config.getMaximumPoolSize(), workload);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+    
+    /**
+     * Mark scheduler threads so scheduled jobs use the background pool
+     */
+    @Bean
+    public TaskSchedulerCustomizer backgroundSchedulerThreads() {
+        return scheduler -> scheduler.setThreadFactory(
+            runnable -> scheduler.newThread(Workload.BACKGROUND.wrap(runnable)));
+    }
+}
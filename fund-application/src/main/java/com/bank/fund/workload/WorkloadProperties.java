@@ -0,0 +1,53 @@
+package com.bank.fund.workload;
+
+import com.bank.fund.common.concurrent.Workload;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration for isolating online, background and reporting work on separate connection pools
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.workload")
+public class WorkloadProperties {
+    
+    /**
+     * Replace the single datasource pool with one pool per workload
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Pool settings per workload, applied over spring.datasource.hikari
+     */
+    private Map<Workload, Pool> pools = defaultPools();
+    
+    private static Map<Workload, Pool> defaultPools() {
+        Map<Workload, Pool> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.ONLINE, new Pool(10, 5, 5000L));
+        pools.put(Workload.BACKGROUND, new Pool(4, 1, null));
+        pools.put(Workload.REPORTING, new Pool(2, 0, null));
+        return pools;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        
+        private int maximumPoolSize;
+        
+        private int minimumIdle;
+        
+        /**
+         * Milliseconds to wait for a connection, the spring.datasource.hikari value when unset
+         */
+        private Long connectionTimeout;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.fund.workload;
+
+import com.bank.fund.common.concurrent.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource handing out connections from the pool of the calling thread's workload
+ * The pool is picked when a connection is obtained, i.e. when a transaction begins, so a
+ * transaction stays on one pool even if it calls code marked with another workload.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    private final Map<Workload, HikariDataSource> pools;
+    
+    public WorkloadRoutingDataSource(Map<Workload, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.ONLINE));
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+    
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
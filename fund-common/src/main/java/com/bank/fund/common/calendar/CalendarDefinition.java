@@ -0,0 +1,125 @@
+package com.bank.fund.common.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parsed content of a trading calendar file
+ *
+ * One entry per line, fields separated by whitespace; blank lines and lines starting with '#' are ignored:
+ * HOLIDAY yyyy-MM-dd [description]        exchange closed on a weekday
+ * TRADING_DAY yyyy-MM-dd [description]    exchange open on a weekend day
+ * HALF_DAY yyyy-MM-dd HH:mm HH:mm         trading day with a special session
+ * CUTOFF productCode HH:mm                order cut-off override for a product
+ */
+final class CalendarDefinition {
+
+    static final CalendarDefinition EMPTY = new CalendarDefinition(
+        Collections.emptySet(), Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final Set<LocalDate> holidays;
+    private final Set<LocalDate> extraTradingDays;
+    private final Map<LocalDate, TradingSession> specialSessions;
+    private final Map<String, LocalTime> productCutoffs;
+
+    private CalendarDefinition(Set<LocalDate> holidays, Set<LocalDate> extraTradingDays,
+                               Map<LocalDate, TradingSession> specialSessions,
+                               Map<String, LocalTime> productCutoffs) {
+        this.holidays = holidays;
+        this.extraTradingDays = extraTradingDays;
+        this.specialSessions = specialSessions;
+        this.productCutoffs = productCutoffs;
+    }
+
+    /**
+     * Parse calendar file lines
+     *
+     * @throws IllegalArgumentException on the first malformed line
+     */
+    static CalendarDefinition parse(List<String> lines) {
+        Set<LocalDate> holidays = new HashSet<>();
+        Set<LocalDate> extraTradingDays = new HashSet<>();
+        Map<LocalDate, TradingSession> specialSessions = new HashMap<>();
+        Map<String, LocalTime> productCutoffs = new HashMap<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            try {
+                switch (fields[0]) {
+                    case "HOLIDAY":
+                        requireFields(fields, 2);
+                        holidays.add(LocalDate.parse(fields[1]));
+                        break;
+                    case "TRADING_DAY":
+                        requireFields(fields, 2);
+                        extraTradingDays.add(LocalDate.parse(fields[1]));
+                        break;
+                    case "HALF_DAY":
+                        requireFields(fields, 4);
+                        specialSessions.put(LocalDate.parse(fields[1]),
+                            new TradingSession(LocalTime.parse(fields[2]), LocalTime.parse(fields[3])));
+                        break;
+                    case "CUTOFF":
+                        requireFields(fields, 3);
+                        productCutoffs.put(fields[1], LocalTime.parse(fields[2]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown entry type " + fields[0]);
+                }
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Invalid trading calendar line " + (i + 1) + ": " + line + " (" + e.getMessage() + ")", e);
+            }
+        }
+        return new CalendarDefinition(holidays, extraTradingDays, specialSessions, productCutoffs);
+    }
+
+    private static void requireFields(String[] fields, int count) {
+        if (fields.length < count) {
+            throw new IllegalArgumentException("expected at least " + count + " fields");
+        }
+    }
+
+    /**
+     * Check if the exchange opens on the date, before any precomputation
+     */
+    boolean isTradingDay(LocalDate date) {
+        if (holidays.contains(date)) {
+            return false;
+        }
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+        return !weekend || extraTradingDays.contains(date);
+    }
+
+    /**
+     * Years mentioned by date entries
+     */
+    Set<Integer> years() {
+        Set<Integer> years = new HashSet<>();
+        holidays.forEach(date -> years.add(date.getYear()));
+        extraTradingDays.forEach(date -> years.add(date.getYear()));
+        specialSessions.keySet().forEach(date -> years.add(date.getYear()));
+        return years;
+    }
+
+    TradingSession specialSession(LocalDate date) {
+        return specialSessions.get(date);
+    }
+
+    Map<String, LocalTime> productCutoffs() {
+        return productCutoffs;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.fund.common.calendar;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+
+/**
+ * Precomputed trading days of one year
+ * Bit n-1 of the bitset is set when day-of-year n is a trading day. The next and previous
+ * arrays hold, for every day-of-year, the nearest trading day after and before it within
+ * the year (0 when there is none), so neighbour lookups never scan.
+ */
+final class CalendarYear {
+
+    private final int year;
+    private final BitSet tradingDays;
+    private final short[] nextTradingDay;
+    private final short[] previousTradingDay;
+
+    private CalendarYear(int year, BitSet tradingDays, short[] nextTradingDay, short[] previousTradingDay) {
+        this.year = year;
+        this.tradingDays = tradingDays;
+        this.nextTradingDay = nextTradingDay;
+        this.previousTradingDay = previousTradingDay;
+    }
+
+    static CalendarYear build(int year, CalendarDefinition definition) {
+        int length = Year.of(year).length();
+        BitSet tradingDays = new BitSet(length);
+        for (int day = 1; day <= length; day++) {
+            if (definition.isTradingDay(LocalDate.ofYearDay(year, day))) {
+                tradingDays.set(day - 1);
+            }
+        }
+
+        // Index 0 and length + 1 act as sentinels before the first and after the last day
+        short[] next = new short[length + 2];
+        short[] previous = new short[length + 2];
+        short candidate = 0;
+        for (int day = length; day >= 0; day--) {
+            next[day] = candidate;
+            if (day >= 1 && tradingDays.get(day - 1)) {
+                candidate = (short) day;
+            }
+        }
+        candidate = 0;
+        for (int day = 1; day <= length + 1; day++) {
+            previous[day] = candidate;
+            if (day <= length && tradingDays.get(day - 1)) {
+                candidate = (short) day;
+            }
+        }
+        return new CalendarYear(year, tradingDays, next, previous);
+    }
+
+    int year() {
+        return year;
+    }
+
+    boolean isTradingDay(int dayOfYear) {
+        return tradingDays.get(dayOfYear - 1);
+    }
+
+    /**
+     * First trading day-of-year strictly after the given day, 0 when none left in the year
+     */
+    int nextTradingDay(int dayOfYear) {
+        return nextTradingDay[dayOfYear];
+    }
+
+    /**
+     * Last trading day-of-year strictly before the given day, 0 when none earlier in the year
+     */
+    int previousTradingDay(int dayOfYear) {
+        return previousTradingDay[dayOfYear];
+    }
+
+    int firstTradingDay() {
+        return nextTradingDay[0];
+    }
+
+    int lastTradingDay() {
+        return previousTradingDay[previousTradingDay.length - 1];
+    }
+}
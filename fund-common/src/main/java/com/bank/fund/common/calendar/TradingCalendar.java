@@ -0,0 +1,246 @@
+package com.bank.fund.common.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exchange trading calendar
+ * Trading days are precomputed per year from weekends, holidays and extra trading days in the
+ * calendar file, so trading-time checks and next-open lookups are constant time.
+ * The file is checked for changes periodically and swapped in atomically when it parses.
+ */
+@Component
+@Slf4j
+public class TradingCalendar {
+
+    /**
+     * Years searched forward or backward for a trading day before giving up
+     */
+    private static final int MAX_YEARS_SEARCHED = 5;
+
+    private final TradingCalendarProperties properties;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final TradingSession regularSession;
+
+    private volatile Snapshot snapshot;
+    private volatile long loadedFileModified = -1;
+
+    public TradingCalendar(TradingCalendarProperties properties, ObjectProvider<Clock> clockProvider) {
+        this.properties = properties;
+        this.clock = clockProvider.getIfAvailable(Clock::systemDefaultZone);
+        this.zone = properties.getZone() != null && !properties.getZone().isEmpty() ?
+            ZoneId.of(properties.getZone()) : clock.getZone();
+        this.regularSession = new TradingSession(
+            LocalTime.parse(properties.getOpenTime()), LocalTime.parse(properties.getCloseTime()));
+        this.snapshot = new Snapshot(CalendarDefinition.EMPTY, productCutoffs(CalendarDefinition.EMPTY));
+    }
+
+    @PostConstruct
+    public void init() {
+        reloadIfChanged();
+    }
+
+    /**
+     * Reload the calendar file when its modification time changed
+     * A file that fails to parse or disappears is logged and the previous calendar stays in effect.
+     */
+    @Scheduled(fixedDelayString = "${fund.calendar.reload-interval-millis:60000}")
+    public void reloadIfChanged() {
+        Path file = Paths.get(properties.getFile());
+        try {
+            if (!Files.isRegularFile(file)) {
+                if (snapshot.years.isEmpty()) {
+                    log.warn("Trading calendar file {} not found, using weekends only", file);
+                    install(CalendarDefinition.EMPTY, -1);
+                }
+                return;
+            }
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified == loadedFileModified) {
+                return;
+            }
+            CalendarDefinition definition =
+                CalendarDefinition.parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+            install(definition, modified);
+            log.info("Trading calendar loaded from {}", file);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load trading calendar file {}, keeping previous calendar", file, e);
+        }
+    }
+
+    private void install(CalendarDefinition definition, long modified) {
+        Snapshot next = new Snapshot(definition, productCutoffs(definition));
+        int currentYear = today().getYear();
+        for (int year = currentYear - 1; year <= currentYear + 1; year++) {
+            next.year(year);
+        }
+        definition.years().forEach(next::year);
+        snapshot = next;
+        loadedFileModified = modified;
+    }
+
+    private Map<String, LocalTime> productCutoffs(CalendarDefinition definition) {
+        Map<String, LocalTime> cutoffs = new HashMap<>();
+        properties.getProductCutoffs().forEach((product, time) -> cutoffs.put(product, LocalTime.parse(time)));
+        cutoffs.putAll(definition.productCutoffs());
+        return cutoffs;
+    }
+
+    /**
+     * Current date in the exchange time zone
+     */
+    public LocalDate today() {
+        return LocalDate.now(clock.withZone(zone));
+    }
+
+    /**
+     * Current date and time in the exchange time zone
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock.withZone(zone));
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        return snapshot.year(date.getYear()).isTradingDay(date.getDayOfYear());
+    }
+
+    /**
+     * Session of a trading day, null when the exchange is closed
+     */
+    public TradingSession getSession(LocalDate date) {
+        if (!isTradingDay(date)) {
+            return null;
+        }
+        TradingSession special = snapshot.definition.specialSession(date);
+        return special != null ? special : regularSession;
+    }
+
+    /**
+     * Check if the exchange is in session now
+     */
+    public boolean isTradingTime() {
+        return isTradingTime(clock.instant());
+    }
+
+    public boolean isTradingTime(Instant instant) {
+        ZonedDateTime time = instant.atZone(zone);
+        TradingSession session = getSession(time.toLocalDate());
+        return session != null && session.contains(time.toLocalTime());
+    }
+
+    /**
+     * Check if orders for the product are still taken in the current session
+     * The session closes for the product at its cut-off when that is earlier than the session close.
+     */
+    public boolean isTradingTime(String productCode) {
+        return isTradingTime(productCode, clock.instant());
+    }
+
+    public boolean isTradingTime(String productCode, Instant instant) {
+        ZonedDateTime time = instant.atZone(zone);
+        LocalDate date = time.toLocalDate();
+        TradingSession session = getSession(date);
+        if (session == null || !session.contains(time.toLocalTime())) {
+            return false;
+        }
+        return time.toLocalTime().isBefore(getCutoff(productCode, date));
+    }
+
+    /**
+     * Order cut-off of the product on a trading day: its override, capped at the session close
+     */
+    public LocalTime getCutoff(String productCode, LocalDate date) {
+        TradingSession session = getSession(date);
+        LocalTime close = session != null ? session.getClose() : regularSession.getClose();
+        LocalTime override = productCode != null ? snapshot.productCutoffs.get(productCode) : null;
+        return override != null && override.isBefore(close) ? override : close;
+    }
+
+    /**
+     * Start of the next session at or after the instant
+     */
+    public ZonedDateTime nextTradingOpen(Instant instant) {
+        ZonedDateTime time = instant.atZone(zone);
+        LocalDate date = time.toLocalDate();
+        TradingSession session = getSession(date);
+        if (session != null && time.toLocalTime().isBefore(session.getOpen())) {
+            return date.atTime(session.getOpen()).atZone(zone);
+        }
+        LocalDate next = nextTradingDay(date);
+        return next.atTime(getSession(next).getOpen()).atZone(zone);
+    }
+
+    /**
+     * First trading day strictly after the date
+     */
+    public LocalDate nextTradingDay(LocalDate date) {
+        CalendarYear year = snapshot.year(date.getYear());
+        int day = year.nextTradingDay(date.getDayOfYear());
+        if (day > 0) {
+            return LocalDate.ofYearDay(year.year(), day);
+        }
+        for (int y = date.getYear() + 1; y <= date.getYear() + MAX_YEARS_SEARCHED; y++) {
+            day = snapshot.year(y).firstTradingDay();
+            if (day > 0) {
+                return LocalDate.ofYearDay(y, day);
+            }
+        }
+        throw new IllegalStateException("No trading day within " + MAX_YEARS_SEARCHED + " years after " + date);
+    }
+
+    /**
+     * Last trading day strictly before the date
+     */
+    public LocalDate previousTradingDay(LocalDate date) {
+        CalendarYear year = snapshot.year(date.getYear());
+        int day = year.previousTradingDay(date.getDayOfYear());
+        if (day > 0) {
+            return LocalDate.ofYearDay(year.year(), day);
+        }
+        for (int y = date.getYear() - 1; y >= date.getYear() - MAX_YEARS_SEARCHED; y--) {
+            day = snapshot.year(y).lastTradingDay();
+            if (day > 0) {
+                return LocalDate.ofYearDay(y, day);
+            }
+        }
+        throw new IllegalStateException("No trading day within " + MAX_YEARS_SEARCHED + " years before " + date);
+    }
+
+    /**
+     * Immutable calendar content with lazily precomputed years
+     */
+    private static final class Snapshot {
+        private final CalendarDefinition definition;
+        private final Map<String, LocalTime> productCutoffs;
+        private final Map<Integer, CalendarYear> years = new ConcurrentHashMap<>();
+
+        private Snapshot(CalendarDefinition definition, Map<String, LocalTime> productCutoffs) {
+            this.definition = definition;
+            this.productCutoffs = productCutoffs;
+        }
+
+        private CalendarYear year(int year) {
+            return years.computeIfAbsent(year, y -> CalendarYear.build(y, definition));
+        }
+    }
+}
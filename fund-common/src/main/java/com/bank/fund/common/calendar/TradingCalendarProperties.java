@@ -0,0 +1,47 @@
+package com.bank.fund.common.calendar;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the trading calendar
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.calendar")
+public class TradingCalendarProperties {
+    
+    /**
+     * Calendar file with holidays, half days and cut-off overrides; weekends only when absent
+     */
+    private String file = "/data/fund/calendar/trading-calendar.txt";
+    
+    /**
+     * Time zone of the exchange, defaults to the clock's zone when empty
+     */
+    private String zone;
+    
+    /**
+     * Regular session open time (HH:mm)
+     */
+    private String openTime = "09:00";
+    
+    /**
+     * Regular session close time (HH:mm)
+     */
+    private String closeTime = "15:00";
+    
+    /**
+     * Order cut-off times (HH:mm) by product code, overridden by CUTOFF lines in the calendar file
+     */
+    private Map<String, String> productCutoffs = new HashMap<>();
+    
+    /**
+     * Interval for checking the calendar file for changes, in milliseconds
+     */
+    private long reloadIntervalMillis = 60000;
+}
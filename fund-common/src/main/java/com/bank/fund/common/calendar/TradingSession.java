@@ -0,0 +1,23 @@
+package com.bank.fund.common.calendar;
+
+import lombok.Value;
+
+import java.time.LocalTime;
+
+/**
+ * Trading session of one day, open inclusive and close exclusive
+ */
+@Value
+public class TradingSession {
+    
+    LocalTime open;
+    
+    LocalTime close;
+    
+    /**
+     * Check if the time falls inside the session
+     */
+    public boolean contains(LocalTime time) {
+        return !time.isBefore(open) && time.isBefore(close);
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.fund.common.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which the caller of a request stops waiting for it
+ * The deadline of the request being processed is held per thread, so services and adapters can
+ * check what is left of the budget without it being passed through every signature. Work handed
+ * to another thread carries the deadline along when wrapped with {@link #propagate(Supplier)}.
+ */
+public final class Deadline {
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    
+    private final long budgetMillis;
+    private final long expiresAtNanos;
+    
+    private Deadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+    
+    /**
+     * Deadline the given number of milliseconds from now
+     */
+    public static Deadline after(long budgetMillis) {
+        return new Deadline(Math.max(0, budgetMillis));
+    }
+    
+    /**
+     * Deadline of the request on this thread, null when it has none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Run the call with the deadline set on this thread; a null deadline runs it without one
+     */
+    public static <T> T callWith(Deadline deadline, Supplier<T> call) {
+        Deadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Wrap a call so that it runs under the current thread's deadline wherever it is executed
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> call) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? call : () -> callWith(deadline, call);
+    }
+    
+    /**
+     * Timeout for a remote call: the configured timeout, shortened to what is left of the current deadline
+     */
+    public static long timeoutMillis(long configuredMillis) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? configuredMillis : Math.min(configuredMillis, deadline.remainingMillis());
+    }
+    
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+    
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+    
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.fund.common.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one
+ * The first caller for a key runs the call; callers arriving with the same key while it is
+ * in flight wait on the same future and get its result or exception. Nothing is cached:
+ * once the call completes the next caller runs it again.
+ * Only wrap calls without side effects.
+ */
+public final class SingleFlight<K, V> {
+    
+    private final String name;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Run the call, or join the identical call already in flight
+     */
+    public V execute(K key, Supplier<V> call) {
+        calls.increment();
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        try {
+            V value = call.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+    
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Calls made, including coalesced ones
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+    
+    /**
+     * Calls that joined an identical call in flight instead of running
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+    
+    /**
+     * Fraction of calls coalesced, between 0 and 1
+     */
+    public double getCoalescingRatio() {
+        long total = calls.sum();
+        return total == 0 ? 0.0 : (double) coalesced.sum() / total;
+    }
+}
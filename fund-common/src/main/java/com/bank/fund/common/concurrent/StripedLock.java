@@ -0,0 +1,102 @@
+package com.bank.fund.common.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by hashing keys onto them
+ * Nothing is allocated per key, so the memory used is bounded by the stripe count. Keys that
+ * hash onto the same stripe serialize with each other; size the stripe count well above the
+ * number of keys locked at once to keep such false sharing rare. An uncontended lock costs
+ * one CAS; waits are counted so contention can be watched.
+ */
+public final class StripedLock {
+    
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    
+    /**
+     * @param stripes number of locks, rounded up to a power of two
+     */
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * Stripe of a key made of two parts, without concatenating them
+     */
+    public int stripeFor(Object first, Object second) {
+        int hash = 31 * first.hashCode() + second.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash & mask;
+    }
+    
+    /**
+     * Lock the stripe, waiting at most the timeout when another thread holds it
+     *
+     * @return false when the timeout elapsed first
+     */
+    public boolean tryLock(int stripe, long timeout, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = stripes[stripe];
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return true;
+        }
+        contended.increment();
+        long startTime = System.nanoTime();
+        try {
+            boolean locked = lock.tryLock(timeout, unit);
+            if (!locked) {
+                timeouts.increment();
+            }
+            return locked;
+        } finally {
+            waitNanos.add(System.nanoTime() - startTime);
+        }
+    }
+    
+    /**
+     * Unlock the stripe; must be called by the thread that locked it
+     */
+    public void unlock(int stripe) {
+        stripes[stripe].unlock();
+    }
+    
+    public int getStripes() {
+        return stripes.length;
+    }
+    
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+    
+    /**
+     * Acquisitions that found the stripe held and had to wait
+     */
+    public long getContended() {
+        return contended.sum();
+    }
+    
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+    
+    /**
+     * Total time spent waiting by contended acquisitions
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+}
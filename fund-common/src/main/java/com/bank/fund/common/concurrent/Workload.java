@@ -0,0 +1,68 @@
+package com.bank.fund.common.concurrent;
+
+import java.util.function.Supplier;
+
+/**
+ * Class of work a thread is doing, used to keep workloads off each other's resources
+ * The workload is held per thread like {@link Deadline}. Threads that were not assigned one
+ * count as online, so customer-facing request threads need no marking; scheduler, batch and
+ * export threads are marked when they start, or around the work they run.
+ */
+public enum Workload {
+    
+    /**
+     * Customer-facing orders and queries, latency sensitive
+     */
+    ONLINE,
+    
+    /**
+     * Scheduled jobs, compensation scans, relays and batch loads
+     */
+    BACKGROUND,
+    
+    /**
+     * Bulk reads such as exports and operator queries
+     */
+    REPORTING;
+    
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+    
+    /**
+     * Workload of this thread, online when none was set
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : ONLINE;
+    }
+    
+    /**
+     * Run the call as this workload on the current thread
+     */
+    public <T> T call(Supplier<T> call) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+    
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Wrap a task so that it runs as this workload wherever it is executed, e.g. as a thread's body
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+}
@@ -0,0 +1,9 @@
+package com.bank.fund.common.domain;
+
+/**
+ * Marker interface for Domain Events
+ * Domain events record something that happened in the domain
+ * They should be immutable
+ */
+public interface DomainEvent {
+}
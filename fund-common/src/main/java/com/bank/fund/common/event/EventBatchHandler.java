@@ -0,0 +1,16 @@
+package com.bank.fund.common.event;
+
+import java.util.List;
+
+/**
+ * Consumer of events from a ring buffer event bus
+ */
+@FunctionalInterface
+public interface EventBatchHandler<E> {
+    
+    /**
+     * Handle the events published since the previous batch, in publication order
+     * The list is reused after the call returns and must not be kept.
+     */
+    void onBatch(List<E> events);
+}
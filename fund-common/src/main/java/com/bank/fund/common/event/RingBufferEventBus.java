@@ -0,0 +1,241 @@
+package com.bank.fund.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process event bus on a pre-allocated ring buffer
+ * Publishers claim a sequence with one atomic increment and own that slot until they mark it
+ * published, so no locks are taken on the publish path. Every consumer runs on its own thread,
+ * tracks its own sequence and receives all events published since its last batch in one call.
+ * A publisher that would overwrite an event the slowest consumer has not handled yet waits,
+ * which pushes back on producers instead of dropping events or growing a queue.
+ * Handlers must not publish to the bus they consume from.
+ */
+@Slf4j
+public final class RingBufferEventBus<E> {
+    
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PUBLISHER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    
+    private final String name;
+    private final int capacity;
+    private final int mask;
+    private final int maxBatchSize;
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder handlerFailures = new LongAdder();
+    
+    private volatile long cachedMinimumSequence = -1;
+    private volatile boolean running;
+    
+    /**
+     * @param capacity slots in the ring, rounded up to a power of two
+     */
+    public RingBufferEventBus(String name, int capacity, int maxBatchSize) {
+        this.name = name;
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.entries = new Object[this.capacity];
+        this.published = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+    
+    /**
+     * Register a consumer; all consumers must be registered before start
+     */
+    public void subscribe(String consumerName, EventBatchHandler<E> handler) {
+        if (running) {
+            throw new IllegalStateException("Cannot subscribe to running event bus " + name);
+        }
+        consumers.add(new Consumer(consumerName, handler));
+    }
+    
+    public void start() {
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.sequence.set(claimed.get());
+            consumer.thread = new Thread(consumer::run, name + "-" + consumer.name);
+            consumer.thread.setDaemon(true);
+            consumer.thread.start();
+        }
+    }
+    
+    /**
+     * Let consumers handle the events already published, then stop them
+     */
+    public void stop(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (getMaxLag() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(MAX_PARK_NANOS);
+        }
+        running = false;
+        for (Consumer consumer : consumers) {
+            if (consumer.thread != null) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+        long lag = getMaxLag();
+        if (lag > 0) {
+            log.warn("Event bus {} stopped with {} events not handled", name, lag);
+        }
+    }
+    
+    /**
+     * Publish an event to all consumers, waiting while the ring is full
+     */
+    public void publish(E event) {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - capacity;
+        if (wrapPoint > cachedMinimumSequence) {
+            long minimum = minimumConsumerSequence(sequence);
+            if (wrapPoint > minimum) {
+                backpressureWaits.increment();
+                int spins = 0;
+                while (wrapPoint > (minimum = minimumConsumerSequence(sequence))) {
+                    if (++spins > SPINS_BEFORE_PARK) {
+                        LockSupport.parkNanos(PUBLISHER_PARK_NANOS);
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            cachedMinimumSequence = minimum;
+        }
+        int index = (int) sequence & mask;
+        entries[index] = event;
+        published.set(index, sequence);
+        for (Consumer consumer : consumers) {
+            if (consumer.parked) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+    
+    private long minimumConsumerSequence(long fallback) {
+        long minimum = fallback;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Highest sequence claimed by a publisher
+     */
+    public long getCursor() {
+        return claimed.get();
+    }
+    
+    /**
+     * Events published but not yet handled by the named consumer
+     */
+    public long getLag(String consumerName) {
+        for (Consumer consumer : consumers) {
+            if (consumer.name.equals(consumerName)) {
+                return Math.max(0, claimed.get() - consumer.sequence.get());
+            }
+        }
+        throw new IllegalArgumentException("Unknown consumer " + consumerName + " of event bus " + name);
+    }
+    
+    /**
+     * Lag of the slowest consumer
+     */
+    public long getMaxLag() {
+        return Math.max(0, claimed.get() - minimumConsumerSequence(claimed.get()));
+    }
+    
+    /**
+     * Publishes that had to wait for a consumer to free a slot
+     */
+    public long getBackpressureWaits() {
+        return backpressureWaits.sum();
+    }
+    
+    /**
+     * Batches whose handler threw; those events are not redelivered
+     */
+    public long getHandlerFailures() {
+        return handlerFailures.sum();
+    }
+    
+    /**
+     * One consumer with its own thread and sequence
+     */
+    private final class Consumer {
+        private final String name;
+        private final EventBatchHandler<E> handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private volatile Thread thread;
+        private volatile boolean parked;
+        
+        private Consumer(String name, EventBatchHandler<E> handler) {
+            this.name = name;
+            this.handler = handler;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void run() {
+            List<E> batch = new ArrayList<>(maxBatchSize);
+            int idleSpins = 0;
+            while (running || sequence.get() < claimed.get()) {
+                long next = sequence.get() + 1;
+                long last = next - 1;
+                while (last - next + 1 < maxBatchSize && published.get((int) (last + 1) & mask) == last + 1) {
+                    last++;
+                    batch.add((E) entries[(int) last & mask]);
+                }
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        break;
+                    }
+                    if (++idleSpins > SPINS_BEFORE_PARK) {
+                        // Publishers unpark a parked consumer; the timeout covers a publish racing the flag
+                        parked = true;
+                        if (published.get((int) next & mask) != next) {
+                            LockSupport.parkNanos(MAX_PARK_NANOS);
+                        }
+                        parked = false;
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                    continue;
+                }
+                idleSpins = 0;
+                try {
+                    handler.onBatch(batch);
+                } catch (RuntimeException e) {
+                    handlerFailures.increment();
+                    log.error("Event bus {} consumer {} failed on {} events", RingBufferEventBus.this.name,
+                              name, batch.size(), e);
+                }
+                batch.clear();
+                sequence.set(last);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.fund.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception for requests abandoned because too little of their deadline is left for the next step
+ */
+@Getter
+public class DeadlineExceededException extends BusinessException {
+    
+    private final String step;
+    
+    public DeadlineExceededException(String step, long remainingMillis) {
+        super(ErrorCode.DEADLINE_EXCEEDED,
+            String.format("Request deadline exceeded before %s, %d ms left", step, remainingMillis));
+        this.step = step;
+    }
+}
@@ -9,9 +9,13 @@ public final class ErrorCode {
     public static final String SYSTEM_ERROR = "0001";
     public static final String EXTERNAL_SYSTEM_TIMEOUT = "0002";
     public static final String EXTERNAL_SYSTEM_ERROR = "0003";
+    public static final String ADMISSION_REJECTED = "0004";
+    public static final String DOWNSTREAM_UNAVAILABLE = "0005";
+    public static final String DEADLINE_EXCEEDED = "0006";
     
     // Validation errors (1xxx)
     public static final String INVALID_PARAMETER = "1001";
+    public static final String IDEMPOTENCY_KEY_MISMATCH = "1002";
     public static final String PRODUCT_NOT_FOUND = "1101";
     public static final String PRODUCT_STATUS_INVALID = "1102";
     public static final String CHANNEL_NOT_ALLOWED = "1103";
@@ -35,9 +39,15 @@ public final class ErrorCode {
     public static final String EXCHANGE_FAILED = "2103";
     public static final String REVERSAL_FAILED = "2104";
     public static final String UNFREEZE_FAILED = "2105";
+    public static final String FX_RATE_UNAVAILABLE = "2106";
     
     public static final String SERIAL_NUMBER_GENERATION_FAILED = "2201";
     public static final String TRANSACTION_SAVE_FAILED = "2202";
+    public static final String DUPLICATE_REQUEST_IN_PROGRESS = "2203";
+    public static final String CONCURRENT_ORDER_IN_PROGRESS = "2204";
+    
+    public static final String TA_FILE_FORMAT_INVALID = "2301";
+    public static final String TA_FILE_READ_FAILED = "2302";
     
     private ErrorCode() {
         // Utility class
@@ -0,0 +1,27 @@
+package com.bank.fund.common.integration;
+
+import com.bank.fund.common.concurrent.SingleFlight;
+import com.bank.fund.common.integration.dto.FxRateResponse;
+
+/**
+ * FX rate service decorator coalescing identical concurrent rate queries
+ */
+public class CoalescingFxRateService implements FxRateService {
+    
+    private final FxRateService delegate;
+    private final SingleFlight<String, FxRateResponse> rates = new SingleFlight<>("fx.getRate");
+    
+    public CoalescingFxRateService(FxRateService delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public FxRateResponse getRate(String baseCurrency, String quoteCurrency) {
+        return rates.execute(baseCurrency + "/" + quoteCurrency,
+            () -> delegate.getRate(baseCurrency, quoteCurrency));
+    }
+    
+    public SingleFlight<String, FxRateResponse> getFlight() {
+        return rates;
+    }
+}
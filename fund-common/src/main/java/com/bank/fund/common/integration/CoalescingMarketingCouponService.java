@@ -0,0 +1,61 @@
+package com.bank.fund.common.integration;
+
+import com.bank.fund.common.concurrent.SingleFlight;
+import com.bank.fund.common.integration.dto.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Marketing coupon service decorator coalescing identical concurrent queries
+ * Trials, template and eligibility queries are read-only and share one in-flight call.
+ * Coupon use and return change coupon state and always go straight to the delegate.
+ */
+public class CoalescingMarketingCouponService implements MarketingCouponService {
+    
+    private final MarketingCouponService delegate;
+    private final SingleFlight<List<Object>, CouponTrialResponse> trials =
+        new SingleFlight<>("marketing.trialCalculate");
+    private final SingleFlight<String, CouponTemplateResponse> templates =
+        new SingleFlight<>("marketing.getCouponTemplate");
+    private final SingleFlight<List<Object>, CouponEligibilityResponse> eligibility =
+        new SingleFlight<>("marketing.checkEligibility");
+    
+    public CoalescingMarketingCouponService(MarketingCouponService delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public CouponTrialResponse trialCalculate(CouponTrialRequest request) {
+        BigDecimal originalFee = request.getOriginalFee() != null ? request.getOriginalFee().stripTrailingZeros() : null;
+        List<Object> key = Arrays.asList(
+            request.getCustomerId(), request.getCouponId(), request.getProductCode(), originalFee);
+        return trials.execute(key, () -> delegate.trialCalculate(request));
+    }
+    
+    @Override
+    public CouponTemplateResponse getCouponTemplate(String couponId) {
+        return templates.execute(couponId, () -> delegate.getCouponTemplate(couponId));
+    }
+    
+    @Override
+    public CouponEligibilityResponse checkEligibility(String customerId, String couponId) {
+        return eligibility.execute(Arrays.asList(customerId, couponId),
+            () -> delegate.checkEligibility(customerId, couponId));
+    }
+    
+    @Override
+    public CouponUseResponse useCoupon(CouponUseRequest request) {
+        return delegate.useCoupon(request);
+    }
+    
+    @Override
+    public CouponReturnResponse returnCoupon(CouponReturnRequest request) {
+        return delegate.returnCoupon(request);
+    }
+    
+    public List<SingleFlight<?, ?>> getFlights() {
+        return Arrays.asList(trials, templates, eligibility);
+    }
+}
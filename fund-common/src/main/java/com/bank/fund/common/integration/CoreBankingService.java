@@ -2,9 +2,13 @@ package com.bank.fund.common.integration;
 
 import com.bank.fund.common.integration.dto.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Anti-corruption layer interface for Core Banking System
- * Implementations should handle circuit breaker, timeout, and error handling
+ * Implementations should handle circuit breaker, timeout, and error handling;
+ * call timeouts should be shortened to Deadline.timeoutMillis of the configured value
  */
 public interface CoreBankingService {
     
@@ -20,11 +24,43 @@ public interface CoreBankingService {
      */
     FreezeResponse freeze(FreezeRequest request);
     
+    /**
+     * Freeze funds for a batch of orders in one request
+     * Responses are returned in request order with per-item success or failure. The default
+     * freezes one by one; implementations backed by a bulk endpoint should override it.
+     */
+    default List<FreezeResponse> batchFreeze(List<FreezeRequest> requests) {
+        List<FreezeResponse> responses = new ArrayList<>(requests.size());
+        for (FreezeRequest request : requests) {
+            responses.add(freeze(request));
+        }
+        return responses;
+    }
+    
     /**
      * Unfreeze funds (compensation operation)
      */
     AccountingResponse unfreeze(String freezeId, String transactionSerialNumber);
     
+    /**
+     * Debit funds previously frozen outside trading hours
+     * Used by settlement at trading open; must be idempotent on the transaction serial number
+     */
+    AccountingResponse debitFrozen(FreezeDebitRequest request);
+    
+    /**
+     * Debit a batch of frozen funds
+     * Responses are returned in request order. The default settles one by one;
+     * implementations backed by a bulk endpoint should override it.
+     */
+    default List<AccountingResponse> batchDebitFrozen(List<FreezeDebitRequest> requests) {
+        List<AccountingResponse> responses = new ArrayList<>(requests.size());
+        for (FreezeDebitRequest request : requests) {
+            responses.add(debitFrozen(request));
+        }
+        return responses;
+    }
+    
     /**
      * Exchange currency and perform accounting in one operation
      * Used when customer's account currency differs from product currency
@@ -0,0 +1,17 @@
+package com.bank.fund.common.integration;
+
+import com.bank.fund.common.integration.dto.FxRateResponse;
+
+/**
+ * Anti-corruption layer interface for the FX rate source
+ * Implementations should handle circuit breaker, timeout, and error handling;
+ * call timeouts should be shortened to Deadline.timeoutMillis of the configured value
+ */
+public interface FxRateService {
+    
+    /**
+     * Get the indicative rate converting one unit of base currency into quote currency
+     * Used for pre-trade display and limit checks; the executed rate is set by core banking
+     */
+    FxRateResponse getRate(String baseCurrency, String quoteCurrency);
+}
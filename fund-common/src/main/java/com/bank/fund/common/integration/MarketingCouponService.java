@@ -4,7 +4,8 @@ import com.bank.fund.common.integration.dto.*;
 
 /**
  * Anti-corruption layer interface for Marketing System (Coupon Management)
- * Implementations should handle circuit breaker, timeout, and error handling
+ * Implementations should handle circuit breaker, timeout, and error handling;
+ * call timeouts should be shortened to Deadline.timeoutMillis of the configured value
  */
 public interface MarketingCouponService {
     
@@ -14,6 +15,17 @@ public interface MarketingCouponService {
      */
     CouponTrialResponse trialCalculate(CouponTrialRequest request);
     
+    /**
+     * Get the discount rule of a coupon
+     * Shared by all holders of the coupon, so it can be cached and the trial computed locally
+     */
+    CouponTemplateResponse getCouponTemplate(String couponId);
+    
+    /**
+     * Check that the customer holds the coupon and has not used it
+     */
+    CouponEligibilityResponse checkEligibility(String customerId, String couponId);
+    
     /**
      * Consume a coupon (mark as used)
      * Should be called after trial calculation succeeds
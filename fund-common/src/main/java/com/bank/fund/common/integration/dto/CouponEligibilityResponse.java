@@ -0,0 +1,35 @@
+package com.bank.fund.common.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for coupon ownership checks
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponEligibilityResponse {
+    /**
+     * Success flag
+     */
+    private boolean success;
+    
+    /**
+     * Whether the customer holds the coupon unused
+     */
+    private boolean eligible;
+    
+    /**
+     * Error code (if failed or not eligible)
+     */
+    private String errorCode;
+    
+    /**
+     * Error message (if failed or not eligible)
+     */
+    private String errorMessage;
+}
@@ -0,0 +1,69 @@
+package com.bank.fund.common.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for coupon template (discount rule) queries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponTemplateResponse {
+    /**
+     * Success flag
+     */
+    private boolean success;
+    
+    /**
+     * Coupon ID
+     */
+    private String couponId;
+    
+    /**
+     * Coupon type
+     */
+    private String couponType;
+    
+    /**
+     * Fee discount rate for percentage coupons
+     */
+    private BigDecimal discountRate;
+    
+    /**
+     * Fixed fee discount for amount coupons
+     */
+    private BigDecimal discountAmount;
+    
+    /**
+     * Products the coupon applies to, empty for all products
+     */
+    private List<String> productCodes;
+    
+    /**
+     * Start of validity period
+     */
+    private LocalDateTime validFrom;
+    
+    /**
+     * End of validity period
+     */
+    private LocalDateTime validUntil;
+    
+    /**
+     * Error code (if failed)
+     */
+    private String errorCode;
+    
+    /**
+     * Error message (if failed)
+     */
+    private String errorMessage;
+}
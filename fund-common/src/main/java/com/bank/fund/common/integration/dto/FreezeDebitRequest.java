@@ -0,0 +1,62 @@
+package com.bank.fund.common.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for debiting previously frozen funds
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreezeDebitRequest {
+    /**
+     * Customer ID
+     */
+    private String customerId;
+    
+    /**
+     * Account number
+     */
+    private String accountNumber;
+    
+    /**
+     * Transaction serial number
+     */
+    private String transactionSerialNumber;
+    
+    /**
+     * Freeze ID returned by the original freeze
+     */
+    private String freezeId;
+    
+    /**
+     * Amount to debit
+     */
+    private BigDecimal amount;
+    
+    /**
+     * Currency code
+     */
+    private String currencyCode;
+    
+    /**
+     * Fee amount to debit
+     */
+    private BigDecimal feeAmount;
+    
+    /**
+     * Transaction type
+     */
+    private String transactionType;
+    
+    /**
+     * Transaction description
+     */
+    private String description;
+}
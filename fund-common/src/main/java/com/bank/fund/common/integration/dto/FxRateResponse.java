@@ -0,0 +1,53 @@
+package com.bank.fund.common.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for FX rate queries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateResponse {
+    /**
+     * Success flag
+     */
+    private boolean success;
+    
+    /**
+     * Base currency code
+     */
+    private String baseCurrency;
+    
+    /**
+     * Quote currency code
+     */
+    private String quoteCurrency;
+    
+    /**
+     * Quote currency units per one base currency unit
+     */
+    private BigDecimal rate;
+    
+    /**
+     * Time the rate was published by the source
+     */
+    private LocalDateTime quoteTime;
+    
+    /**
+     * Error code (if failed)
+     */
+    private String errorCode;
+    
+    /**
+     * Error message (if failed)
+     */
+    private String errorMessage;
+}
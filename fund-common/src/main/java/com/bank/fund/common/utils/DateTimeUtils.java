@@ -21,7 +21,10 @@ public final class DateTimeUtils {
     /**
      * Check if current time is within trading hours
      * Trading hours: 09:00:00 - 15:00:00
+     *
+     * @deprecated ignores weekends, holidays and half days; use {@link com.bank.fund.common.calendar.TradingCalendar}
      */
+    @Deprecated
     public static boolean isTradingTime() {
         LocalTime now = LocalTime.now();
         LocalTime tradingStart = LocalTime.of(9, 0, 0);
@@ -31,7 +34,10 @@ public final class DateTimeUtils {
     
     /**
      * Check if current time is within trading hours (with custom hours)
+     *
+     * @deprecated ignores weekends, holidays and half days; use {@link com.bank.fund.common.calendar.TradingCalendar}
      */
+    @Deprecated
     public static boolean isTradingTime(LocalTime start, LocalTime end) {
         LocalTime now = LocalTime.now();
         return !now.isBefore(start) && !now.isAfter(end);
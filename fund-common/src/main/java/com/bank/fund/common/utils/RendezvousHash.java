@@ -0,0 +1,67 @@
+package com.bank.fund.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rendezvous (highest random weight) hashing of keys onto nodes
+ * Every key goes to the node with the highest hash of the key and node together, so all
+ * members with the same node list agree on the owner without coordination, and removing a
+ * node only moves the keys it owned.
+ */
+public final class RendezvousHash {
+    
+    private final List<String> nodes;
+    private final long[] nodeSeeds;
+    
+    public RendezvousHash(Collection<String> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        this.nodes = new ArrayList<>(nodes);
+        this.nodeSeeds = new long[this.nodes.size()];
+        for (int i = 0; i < nodeSeeds.length; i++) {
+            nodeSeeds[i] = hash(this.nodes.get(i));
+        }
+    }
+    
+    /**
+     * Node owning the key
+     */
+    public String nodeFor(String key) {
+        long keyHash = hash(key);
+        int owner = 0;
+        long best = Long.MIN_VALUE;
+        for (int i = 0; i < nodeSeeds.length; i++) {
+            long weight = mix(keyHash ^ nodeSeeds[i]);
+            if (weight > best) {
+                best = weight;
+                owner = i;
+            }
+        }
+        return nodes.get(owner);
+    }
+    
+    public List<String> getNodes() {
+        return nodes;
+    }
+    
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb53a87e34ec1L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
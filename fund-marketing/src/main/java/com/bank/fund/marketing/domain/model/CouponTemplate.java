@@ -0,0 +1,46 @@
+package com.bank.fund.marketing.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Coupon template value object - the discount rule shared by all holders of a coupon
+ */
+@Value
+public class CouponTemplate implements ValueObject {
+    String couponId;
+    String couponType;
+    BigDecimal discountRate;
+    BigDecimal discountAmount;
+    Set<String> productCodes;
+    LocalDateTime validFrom;
+    LocalDateTime validUntil;
+    
+    /**
+     * Check if the coupon can be applied to the product at the given time
+     */
+    public boolean isApplicable(String productCode, LocalDateTime time) {
+        if (validFrom != null && time.isBefore(validFrom)) {
+            return false;
+        }
+        if (validUntil != null && !time.isBefore(validUntil)) {
+            return false;
+        }
+        return productCodes == null || productCodes.isEmpty() || productCodes.contains(productCode);
+    }
+    
+    /**
+     * Evaluate the trial locally: the coupon info the remote trial would return for the fee
+     * The discount is derived from CouponInfo#calculateDiscountedFee, the rule the fee calculation
+     * applies to the returned coupon, so the reported discount and the charged fee cannot differ.
+     */
+    public CouponInfo trial(BigDecimal originalFee) {
+        CouponInfo rule = new CouponInfo(couponId, couponType, discountRate, discountRate != null ? null : discountAmount);
+        BigDecimal discount = originalFee.subtract(rule.calculateDiscountedFee(originalFee));
+        return new CouponInfo(couponId, couponType, discountRate, discount);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.fund.product.domain.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide registry assigning each channel code a small integer bit index
+ * Indexes are handed out when product rules are compiled and never change afterwards,
+ * so a channel check is one map lookup and one bit test.
+ */
+public final class ChannelRegistry {
+    
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+    
+    private ChannelRegistry() {
+        // Utility class
+    }
+    
+    /**
+     * Get the bit index of a channel, registering it if new
+     */
+    public static int register(String channel) {
+        return INDEXES.computeIfAbsent(channel, c -> NEXT_INDEX.getAndIncrement());
+    }
+    
+    /**
+     * Get the bit index of a channel, -1 when no product names it
+     */
+    public static int indexOf(String channel) {
+        Integer index = INDEXES.get(channel);
+        return index != null ? index : -1;
+    }
+}
@@ -2,10 +2,15 @@ package com.bank.fund.product.domain.model;
 
 import com.bank.fund.common.domain.AggregateRoot;
 import com.bank.fund.common.money.Money;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -95,6 +100,69 @@ public class FundProduct implements AggregateRoot<String> {
      */
     private LocalDateTime updatedAt;
     
+    /**
+     * Subscription rules compiled from the fields above; the rule setters drop it
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile ProductEligibility eligibility;
+    
+    /**
+     * Compile subscription rules from the current fields
+     */
+    public ProductEligibility compileEligibility() {
+        ProductEligibility compiled = ProductEligibility.compile(this);
+        this.eligibility = compiled;
+        return compiled;
+    }
+    
+    /**
+     * Reuse rules already compiled for this product version
+     */
+    public void useEligibility(ProductEligibility compiled) {
+        this.eligibility = compiled;
+    }
+    
+    /**
+     * Compiled subscription rules, compiling them on first use
+     */
+    public ProductEligibility eligibility() {
+        ProductEligibility compiled = eligibility;
+        return compiled != null ? compiled : compileEligibility();
+    }
+    
+    public void setMinInitialAmount(Money minInitialAmount) {
+        this.minInitialAmount = minInitialAmount;
+        this.eligibility = null;
+    }
+    
+    public void setMinAdditionalAmount(Money minAdditionalAmount) {
+        this.minAdditionalAmount = minAdditionalAmount;
+        this.eligibility = null;
+    }
+    
+    public void setMaxSubscriptionAmount(Money maxSubscriptionAmount) {
+        this.maxSubscriptionAmount = maxSubscriptionAmount;
+        this.eligibility = null;
+    }
+    
+    public void setAmountUnit(BigDecimal amountUnit) {
+        this.amountUnit = amountUnit;
+        this.eligibility = null;
+    }
+    
+    public void setAllowedChannels(String allowedChannels) {
+        this.allowedChannels = allowedChannels;
+        this.eligibility = null;
+    }
+    
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+        this.eligibility = null;
+    }
+    
     /**
      * Check if product allows subscription
      */
@@ -104,43 +172,24 @@ public class FundProduct implements AggregateRoot<String> {
     }
     
     /**
-     * Check if channel is allowed for this product
+     * Check if channel is allowed for this product (exact match against the channel list)
      */
     public boolean isChannelAllowed(String channel) {
-        if (allowedChannels == null || allowedChannels.isEmpty()) {
-            return true; // No restriction
-        }
-        return allowedChannels.contains(channel);
+        return eligibility().isChannelAllowed(channel);
     }
     
     /**
      * Validate subscription amount
      */
     public boolean isValidSubscriptionAmount(Money amount, boolean isInitial) {
-        if (!amount.getCurrencyCode().equals(currencyCode)) {
-            return false;
-        }
-        
-        // Check minimum amount
-        Money minAmount = isInitial ? minInitialAmount : minAdditionalAmount;
-        if (amount.isLessThan(minAmount)) {
-            return false;
-        }
-        
-        // Check maximum amount
-        if (maxSubscriptionAmount != null && amount.isGreaterThan(maxSubscriptionAmount)) {
-            return false;
-        }
-        
-        // Check amount unit
-        if (amountUnit != null) {
-            BigDecimal remainder = amount.getAmount().remainder(amountUnit);
-            if (remainder.compareTo(BigDecimal.ZERO) != 0) {
-                return false;
-            }
-        }
-        
-        return true;
+        return eligibility().checkAmount(amount, isInitial) == ProductEligibility.AmountCheck.VALID;
+    }
+    
+    /**
+     * Check amount against minimum and maximum subscription limits only
+     * Used for amounts converted from another currency, where the unit rule cannot apply
+     */
+    public boolean isWithinSubscriptionLimits(Money amount, boolean isInitial) {
+        return eligibility().checkLimits(amount, isInitial) == ProductEligibility.AmountCheck.VALID;
     }
 }
-
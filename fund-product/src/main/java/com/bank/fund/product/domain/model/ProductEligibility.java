@@ -0,0 +1,164 @@
+package com.bank.fund.product.domain.model;
+
+import com.bank.fund.common.money.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Subscription rules of a product compiled for fast evaluation
+ * Allowed channels become a bitset over ChannelRegistry indexes, and amount limits and unit
+ * become longs in minor currency units, so checking an order is a few integer comparisons.
+ * Immutable; compiled again when the product rules change.
+ */
+public final class ProductEligibility {
+    
+    /**
+     * Outcome of an amount check
+     */
+    public enum AmountCheck {
+        VALID,
+        CURRENCY_MISMATCH,
+        TOO_LOW,
+        TOO_HIGH,
+        INVALID_UNIT
+    }
+    
+    private final String currencyCode;
+    private final int fractionDigits;
+    private final long[] channelBits;
+    private final long minInitialMinor;
+    private final long minAdditionalMinor;
+    private final long maxMinor;
+    private final long unitMinor;
+    private final BigDecimal fractionalUnit;
+    
+    private ProductEligibility(String currencyCode, int fractionDigits, long[] channelBits,
+                               long minInitialMinor, long minAdditionalMinor, long maxMinor,
+                               long unitMinor, BigDecimal fractionalUnit) {
+        this.currencyCode = currencyCode;
+        this.fractionDigits = fractionDigits;
+        this.channelBits = channelBits;
+        this.minInitialMinor = minInitialMinor;
+        this.minAdditionalMinor = minAdditionalMinor;
+        this.maxMinor = maxMinor;
+        this.unitMinor = unitMinor;
+        this.fractionalUnit = fractionalUnit;
+    }
+    
+    /**
+     * Compile the rules of a product
+     * Allowed channels are separated by commas, semicolons, bars or whitespace and matched exactly.
+     */
+    public static ProductEligibility compile(FundProduct product) {
+        int fractionDigits = Currency.getInstance(product.getCurrencyCode()).getDefaultFractionDigits();
+        
+        long[] channelBits = null;
+        String allowedChannels = product.getAllowedChannels();
+        if (allowedChannels != null && !allowedChannels.trim().isEmpty()) {
+            channelBits = new long[1];
+            for (String channel : allowedChannels.trim().split("[,;|\\s]+")) {
+                int index = ChannelRegistry.register(channel);
+                if (index / 64 >= channelBits.length) {
+                    long[] grown = new long[index / 64 + 1];
+                    System.arraycopy(channelBits, 0, grown, 0, channelBits.length);
+                    channelBits = grown;
+                }
+                channelBits[index / 64] |= 1L << (index % 64);
+            }
+        }
+        
+        long unitMinor = 0;
+        BigDecimal fractionalUnit = null;
+        BigDecimal unit = product.getAmountUnit();
+        if (unit != null && unit.signum() > 0) {
+            BigDecimal scaled = unit.movePointRight(fractionDigits);
+            if (scaled.stripTrailingZeros().scale() <= 0) {
+                unitMinor = scaled.longValueExact();
+            } else {
+                // Unit finer than the currency's minor unit: keep decimal arithmetic for it
+                fractionalUnit = unit;
+            }
+        }
+        
+        return new ProductEligibility(
+            product.getCurrencyCode(),
+            fractionDigits,
+            channelBits,
+            toMinor(product.getMinInitialAmount(), fractionDigits, 0),
+            toMinor(product.getMinAdditionalAmount(), fractionDigits, 0),
+            toMinor(product.getMaxSubscriptionAmount(), fractionDigits, Long.MAX_VALUE),
+            unitMinor,
+            fractionalUnit
+        );
+    }
+    
+    /**
+     * Check if the channel is allowed; products without a channel list allow every channel
+     */
+    public boolean isChannelAllowed(String channel) {
+        if (channelBits == null) {
+            return true;
+        }
+        if (channel == null) {
+            return false;
+        }
+        int index = ChannelRegistry.indexOf(channel);
+        return index >= 0 && index / 64 < channelBits.length &&
+               (channelBits[index / 64] & 1L << (index % 64)) != 0;
+    }
+    
+    /**
+     * Check amount against currency, limits and unit
+     */
+    public AmountCheck checkAmount(Money amount, boolean isInitial) {
+        AmountCheck limits = checkLimits(amount, isInitial);
+        if (limits != AmountCheck.VALID) {
+            return limits;
+        }
+        if (unitMinor > 0) {
+            return minor(amount) % unitMinor == 0 ? AmountCheck.VALID : AmountCheck.INVALID_UNIT;
+        }
+        if (fractionalUnit != null && amount.getAmount().remainder(fractionalUnit).signum() != 0) {
+            return AmountCheck.INVALID_UNIT;
+        }
+        return AmountCheck.VALID;
+    }
+    
+    /**
+     * Check amount against currency and limits only
+     */
+    public AmountCheck checkLimits(Money amount, boolean isInitial) {
+        if (!currencyCode.equals(amount.getCurrencyCode())) {
+            return AmountCheck.CURRENCY_MISMATCH;
+        }
+        long value = minor(amount);
+        if (value < (isInitial ? minInitialMinor : minAdditionalMinor)) {
+            return AmountCheck.TOO_LOW;
+        }
+        if (value > maxMinor) {
+            return AmountCheck.TOO_HIGH;
+        }
+        return AmountCheck.VALID;
+    }
+    
+    /**
+     * Amount in minor units; Money is always at the currency scale, so this is its unscaled value
+     */
+    private long minor(Money amount) {
+        BigDecimal value = amount.getAmount();
+        if (value.scale() != fractionDigits) {
+            value = value.setScale(fractionDigits);
+        }
+        // Amounts beyond a long are far above any maximum
+        return value.unscaledValue().bitLength() < 64 ? value.unscaledValue().longValue() : Long.MAX_VALUE;
+    }
+    
+    private static long toMinor(Money money, int fractionDigits, long absent) {
+        if (money == null) {
+            return absent;
+        }
+        BigDecimal scaled = money.getAmount().movePointRight(fractionDigits);
+        return scaled.unscaledValue().bitLength() < 64 ? scaled.longValue() : Long.MAX_VALUE;
+    }
+}
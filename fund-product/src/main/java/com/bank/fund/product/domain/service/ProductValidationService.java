@@ -4,6 +4,7 @@ import com.bank.fund.common.exception.ErrorCode;
 import com.bank.fund.common.exception.ValidationException;
 import com.bank.fund.common.money.Money;
 import com.bank.fund.product.domain.model.FundProduct;
+import com.bank.fund.product.domain.model.ProductEligibility;
 import com.bank.fund.product.domain.repository.FundProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -46,30 +47,52 @@ public class ProductValidationService {
      * Validate subscription amount
      */
     public void validateSubscriptionAmount(FundProduct product, Money amount, boolean isInitial) {
-        if (!product.isValidSubscriptionAmount(amount, isInitial)) {
-            String minAmount = isInitial ? 
-                product.getMinInitialAmount().getAmount().toString() : 
-                product.getMinAdditionalAmount().getAmount().toString();
-            
-            if (amount.isLessThan(isInitial ? product.getMinInitialAmount() : product.getMinAdditionalAmount())) {
+        ProductEligibility.AmountCheck check = product.eligibility().checkAmount(amount, isInitial);
+        switch (check) {
+            case VALID:
+                return;
+            case TOO_LOW:
                 throw new ValidationException(
                     ErrorCode.AMOUNT_TOO_LOW,
                     String.format("Subscription amount %s is below minimum %s for product %s",
-                        amount.getAmount(), minAmount, product.getId()));
-            }
-            
-            if (product.getMaxSubscriptionAmount() != null && amount.isGreaterThan(product.getMaxSubscriptionAmount())) {
+                        amount.getAmount(), minimumAmount(product, isInitial).getAmount(), product.getId()));
+            case TOO_HIGH:
                 throw new ValidationException(
                     ErrorCode.AMOUNT_TOO_HIGH,
                     String.format("Subscription amount %s exceeds maximum %s for product %s",
                         amount.getAmount(), product.getMaxSubscriptionAmount().getAmount(), product.getId()));
-            }
-            
+            default:
+                throw new ValidationException(
+                    ErrorCode.AMOUNT_INVALID_UNIT,
+                    String.format("Subscription amount %s is not a valid unit for product %s",
+                        amount.getAmount(), product.getId()));
+        }
+    }
+    
+    /**
+     * Validate a subscription amount converted into the product currency at an indicative rate
+     * Only minimum and maximum limits are checked; the unit rule applies to the executed amount
+     */
+    public void validateConvertedSubscriptionAmount(FundProduct product, Money convertedAmount, boolean isInitial) {
+        ProductEligibility.AmountCheck check = product.eligibility().checkLimits(convertedAmount, isInitial);
+        if (check == ProductEligibility.AmountCheck.VALID) {
+            return;
+        }
+        if (check != ProductEligibility.AmountCheck.TOO_HIGH) {
             throw new ValidationException(
-                ErrorCode.AMOUNT_INVALID_UNIT,
-                String.format("Subscription amount %s is not a valid unit for product %s",
-                    amount.getAmount(), product.getId()));
+                ErrorCode.AMOUNT_TOO_LOW,
+                String.format("Subscription amount %s %s (converted) is below minimum %s for product %s",
+                    convertedAmount.getAmount(), convertedAmount.getCurrencyCode(),
+                    minimumAmount(product, isInitial).getAmount(), product.getId()));
         }
+        throw new ValidationException(
+            ErrorCode.AMOUNT_TOO_HIGH,
+            String.format("Subscription amount %s %s (converted) exceeds maximum %s for product %s",
+                convertedAmount.getAmount(), convertedAmount.getCurrencyCode(),
+                product.getMaxSubscriptionAmount().getAmount(), product.getId()));
+    }
+    
+    private Money minimumAmount(FundProduct product, boolean isInitial) {
+        return isInitial ? product.getMinInitialAmount() : product.getMinAdditionalAmount();
     }
 }
-
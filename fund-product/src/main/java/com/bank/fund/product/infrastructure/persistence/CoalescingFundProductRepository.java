@@ -0,0 +1,43 @@
+package com.bank.fund.product.infrastructure.persistence;
+
+import com.bank.fund.common.concurrent.SingleFlight;
+import com.bank.fund.product.domain.model.FundProduct;
+import com.bank.fund.product.domain.repository.FundProductRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Product repository decorator coalescing identical concurrent lookups
+ * Coalesced callers share the same FundProduct instance, which is only read by validation.
+ */
+public class CoalescingFundProductRepository implements FundProductRepository {
+    
+    private final FundProductRepository delegate;
+    private final SingleFlight<String, Optional<FundProduct>> lookups = new SingleFlight<>("product.findById");
+    private final SingleFlight<String, Boolean> existence = new SingleFlight<>("product.exists");
+    
+    public CoalescingFundProductRepository(FundProductRepository delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public Optional<FundProduct> findById(String productCode) {
+        return lookups.execute(productCode, () -> delegate.findById(productCode));
+    }
+    
+    @Override
+    public void save(FundProduct product) {
+        delegate.save(product);
+    }
+    
+    @Override
+    public boolean exists(String productCode) {
+        return existence.execute(productCode, () -> delegate.exists(productCode));
+    }
+    
+    public List<SingleFlight<?, ?>> getFlights() {
+        return Arrays.asList(lookups, existence);
+    }
+}
@@ -2,6 +2,7 @@ package com.bank.fund.product.infrastructure.persistence;
 
 import com.bank.fund.common.money.Money;
 import com.bank.fund.product.domain.model.FundProduct;
+import com.bank.fund.product.domain.model.ProductEligibility;
 import com.bank.fund.product.domain.model.ProductStatus;
 import com.bank.fund.product.domain.model.RiskLevel;
 import com.bank.fund.product.domain.model.TransactionStatus;
@@ -10,8 +11,12 @@ import com.bank.fund.product.infrastructure.persistence.po.FundProductPO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Currency;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of FundProductRepository using MyBatis
@@ -22,6 +27,11 @@ public class FundProductRepositoryImpl implements FundProductRepository {
     
     private final ProductMapper productMapper;
     
+    /**
+     * Compiled subscription rules per product, reused while the loaded row has the same UPDATED_AT
+     */
+    private final Map<String, CompiledEligibility> eligibilityCache = new ConcurrentHashMap<>();
+    
     @Override
     public Optional<FundProduct> findById(String productCode) {
         FundProductPO po = productMapper.findByProductCode(productCode);
@@ -31,6 +41,7 @@ public class FundProductRepositoryImpl implements FundProductRepository {
     @Override
     public void save(FundProduct product) {
         FundProductPO po = toPO(product);
+        eligibilityCache.remove(product.getId());
         if (productMapper.findByProductCode(product.getId()) == null) {
             productMapper.insert(po);
         } else {
@@ -46,7 +57,7 @@ public class FundProductRepositoryImpl implements FundProductRepository {
     private FundProduct toDomain(FundProductPO po) {
         Currency currency = Currency.getInstance(po.getCurrencyCode());
         
-        return FundProduct.builder()
+        FundProduct product = FundProduct.builder()
             .id(po.getProductCode())
             .productName(po.getProductName())
             .productStatus(ProductStatus.valueOf(po.getProductStatus()))
@@ -65,6 +76,14 @@ public class FundProductRepositoryImpl implements FundProductRepository {
             .createdAt(po.getCreatedAt())
             .updatedAt(po.getUpdatedAt())
             .build();
+        CompiledEligibility cached = eligibilityCache.get(po.getProductCode());
+        if (cached != null && Objects.equals(cached.updatedAt, po.getUpdatedAt())) {
+            product.useEligibility(cached.eligibility);
+        } else {
+            eligibilityCache.put(po.getProductCode(),
+                new CompiledEligibility(po.getUpdatedAt(), product.compileEligibility()));
+        }
+        return product;
     }
     
     private FundProductPO toPO(FundProduct product) {
@@ -88,5 +107,17 @@ public class FundProductRepositoryImpl implements FundProductRepository {
         po.setUpdatedAt(product.getUpdatedAt());
         return po;
     }
+    
+    /**
+     * Subscription rules compiled for one version of a product
+     */
+    private static final class CompiledEligibility {
+        private final LocalDateTime updatedAt;
+        private final ProductEligibility eligibility;
+        
+        private CompiledEligibility(LocalDateTime updatedAt, ProductEligibility eligibility) {
+            this.updatedAt = updatedAt;
+            this.eligibility = eligibility;
+        }
+    }
 }
-
@@ -1,5 +1,6 @@
 package com.bank.fund.trading.application;
 
+import com.bank.fund.trading.application.saga.SagaStateWriter;
 import com.bank.fund.trading.domain.model.SagaState;
 import com.bank.fund.trading.domain.model.SubscriptionTransaction;
 import com.bank.fund.trading.domain.model.TransactionStatus;
@@ -11,7 +12,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Scheduled task for compensating failed transactions
@@ -24,6 +27,7 @@ public class CompensationScheduler {
     
     private final SubscriptionTransactionRepository transactionRepository;
     private final TransactionRollbackService rollbackService;
+    private final SagaStateWriter sagaStateWriter;
     
     /**
      * Scan and compensate failed transactions
@@ -59,14 +63,12 @@ public class CompensationScheduler {
                     // Save original saga state for recovery if compensation fails
                     SagaState originalSagaState = transaction.getSagaState();
                     
-                    // Mark as compensating to avoid duplicate processing
+                    // Mark as compensating to avoid duplicate processing, compensate once that is committed
                     transaction.setSagaState(SagaState.COMPENSATING);
                     transaction.setStatus(TransactionStatus.COMPENSATING);
                     transaction.setUpdatedAt(LocalDateTime.now());
-                    transactionRepository.update(transaction);
-                    
-                    // Trigger async compensation
-                    rollbackService.compensate(transaction)
+                    sagaStateWriter.write(transaction)
+                        .thenCompose(marked -> rollbackService.compensate(transaction))
                         .thenAccept(result -> {
                             if (result.isSuccess()) {
                                 log.info("Scheduled compensation completed successfully for transaction: {}", 
@@ -74,7 +76,7 @@ public class CompensationScheduler {
                                 // Update saga state to COMPENSATION_COMPLETED
                                 transaction.setSagaState(SagaState.COMPENSATION_COMPLETED);
                                 transaction.setUpdatedAt(LocalDateTime.now());
-                                transactionRepository.update(transaction);
+                                writeQuietly(transaction);
                             } else {
                                 log.error("Scheduled compensation failed for transaction: {}, error: {}", 
                                          transaction.getId(), result.getErrorMessage());
@@ -82,7 +84,7 @@ public class CompensationScheduler {
                                 transaction.setSagaState(originalSagaState);
                                 transaction.setStatus(TransactionStatus.FAILED);
                                 transaction.setUpdatedAt(LocalDateTime.now());
-                                transactionRepository.update(transaction);
+                                writeQuietly(transaction);
                             }
                         })
                         .exceptionally(ex -> {
@@ -92,7 +94,7 @@ public class CompensationScheduler {
                             transaction.setSagaState(originalSagaState);
                             transaction.setStatus(TransactionStatus.FAILED);
                             transaction.setUpdatedAt(LocalDateTime.now());
-                            transactionRepository.update(transaction);
+                            writeQuietly(transaction);
                             return null;
                         });
                     
@@ -129,6 +131,7 @@ public class CompensationScheduler {
         log.warn("Found {} stuck transactions that may need manual review or recovery", 
                  stuckTransactions.size());
         
+        List<CompletableFuture<Void>> marks = new ArrayList<>();
         for (SubscriptionTransaction transaction : stuckTransactions) {
             log.warn("Stuck transaction detected - ID: {}, Status: {}, SagaState: {}, " +
                      "CoreBankingTxnId: {}, FreezeId: {}, UpdatedAt: {}. " +
@@ -137,18 +140,36 @@ public class CompensationScheduler {
                      transaction.getCoreBankingTxnId(), transaction.getFreezeId(), 
                      transaction.getUpdatedAt());
             
+            if (transaction.getSagaState() == SagaState.LEGS_IN_FLIGHT) {
+                log.error("Transaction {} interrupted while coupon use and accounting were in flight. " +
+                          "Either may have taken effect; reconcile with marketing and core banking " +
+                          "before compensating.", transaction.getId());
+            }
+            
             // Mark as failed to trigger compensation on next scan
             // This handles the case where accounting may have succeeded but wasn't recorded
-            try {
-                transaction.markFailed("STUCK_TRANSACTION", 
-                    "Transaction stuck in non-final state, marked for compensation");
-                transaction.setUpdatedAt(LocalDateTime.now());
-                transactionRepository.update(transaction);
-                log.info("Marked stuck transaction {} as FAILED for compensation", transaction.getId());
-            } catch (Exception e) {
-                log.error("Failed to mark stuck transaction {} as failed", transaction.getId(), e);
-            }
+            transaction.markFailed("STUCK_TRANSACTION", 
+                "Transaction stuck in non-final state, marked for compensation");
+            transaction.setUpdatedAt(LocalDateTime.now());
+            marks.add(sagaStateWriter.write(transaction).whenComplete((marked, ex) -> {
+                if (ex == null) {
+                    log.info("Marked stuck transaction {} as FAILED for compensation", transaction.getId());
+                } else {
+                    log.error("Failed to mark stuck transaction {} as failed", transaction.getId(), ex);
+                }
+            }));
         }
+        // Marks are written in shared commits; wait so the compensation scan that follows sees them
+        CompletableFuture.allOf(marks.toArray(new CompletableFuture[0]))
+            .exceptionally(ex -> null)
+            .join();
+    }
+    
+    private void writeQuietly(SubscriptionTransaction transaction) {
+        sagaStateWriter.write(transaction).exceptionally(ex -> {
+            log.error("Failed to persist saga state {} of transaction {}", 
+                      transaction.getSagaState(), transaction.getId(), ex);
+            return null;
+        });
     }
 }
-
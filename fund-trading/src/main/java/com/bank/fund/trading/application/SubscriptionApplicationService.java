@@ -14,6 +14,14 @@ import com.bank.fund.marketing.domain.repository.CouponUsageRepository;
 import com.bank.fund.marketing.domain.service.FeeCalculationService;
 import com.bank.fund.trading.application.dto.SubscriptionRequest;
 import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.application.deadline.DeadlineGuard;
+import com.bank.fund.trading.application.event.SubscriptionEventBus;
+import com.bank.fund.trading.application.lock.CustomerOrderLock;
+import com.bank.fund.trading.application.outbox.OutboxWriter;
+import com.bank.fund.trading.application.saga.SagaJournalService;
+import com.bank.fund.trading.application.saga.SagaLegExecutor;
+import com.bank.fund.trading.domain.event.SagaFailed;
+import com.bank.fund.trading.domain.event.SubscriptionCompleted;
 import com.bank.fund.trading.domain.model.ShareRecord;
 import com.bank.fund.trading.domain.model.SubscriptionTransaction;
 import com.bank.fund.trading.domain.repository.ShareRecordRepository;
@@ -21,6 +29,9 @@ import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository
 import com.bank.fund.trading.domain.service.AccountingService;
 import com.bank.fund.trading.domain.service.SubscriptionValidationService;
 import com.bank.fund.trading.domain.service.TransactionRollbackService;
+import com.bank.fund.trading.domain.service.coupon.CouponTrialService;
+import com.bank.fund.trading.domain.service.holding.CustomerHoldingCache;
+import com.bank.fund.trading.domain.service.holding.SubscriptionIndex;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +41,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Application service to orchestrate the complete subscription flow
@@ -43,11 +56,20 @@ public class SubscriptionApplicationService {
     private final SubscriptionValidationService validationService;
     private final FeeCalculationService feeCalculationService;
     private final MarketingCouponService marketingCouponService;
+    private final CouponTrialService couponTrialService;
     private final AccountingService accountingService;
     private final TransactionRollbackService rollbackService;
     private final SubscriptionTransactionRepository transactionRepository;
     private final ShareRecordRepository shareRecordRepository;
     private final CouponUsageRepository couponUsageRepository;
+    private final SagaLegExecutor sagaLegExecutor;
+    private final SagaJournalService sagaJournalService;
+    private final DeadlineGuard deadlineGuard;
+    private final SubscriptionEventBus eventBus;
+    private final OutboxWriter outboxWriter;
+    private final CustomerHoldingCache holdingCache;
+    private final SubscriptionIndex subscriptionIndex;
+    private final CustomerOrderLock orderLock;
     private final MeterRegistry meterRegistry;
     
     /**
@@ -56,6 +78,14 @@ public class SubscriptionApplicationService {
      */
     @Transactional(rollbackFor = Exception.class)
     public SubscriptionResponse processSubscription(SubscriptionRequest request) {
+        return processSubscription(request, SerialNumberGenerator.generate("SUB"));
+    }
+    
+    /**
+     * Process subscription request under a serial number assigned when it was accepted
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public SubscriptionResponse processSubscription(SubscriptionRequest request, String serialNumber) {
         String correlationId = UUID.randomUUID().toString();
         log.info("[{}] Starting subscription process for customer: {}, product: {}, amount: {}", 
                  correlationId, request.getCustomerId(), request.getProductCode(), request.getAmount());
@@ -64,14 +94,15 @@ public class SubscriptionApplicationService {
         SubscriptionTransaction transaction = null;
         
         try {
-            // 1. Generate unique transaction serial number
-            String serialNumber = SerialNumberGenerator.generate("SUB");
-            log.info("[{}] Generated transaction serial number: {}", correlationId, serialNumber);
+            // 1. Transaction serial number
+            log.info("[{}] Transaction serial number: {}", correlationId, serialNumber);
             
             // 2. Parse and create Money object
             Money subscriptionAmount = new Money(request.getAmount(), request.getCurrencyCode());
             
-            // 3. Validation (multi-layer)
+            // 3. Validation (multi-layer), one order of the customer and product at a time
+            orderLock.lockUntilCompletion(request.getCustomerId(), request.getProductCode());
+            deadlineGuard.check("validation");
             SubscriptionValidationService.ValidationResult validationResult = 
                 validationService.validate(
                     request.getCustomerId(),
@@ -87,6 +118,7 @@ public class SubscriptionApplicationService {
             
             if (request.getCouponId() != null && !request.getCouponId().isEmpty()) {
                 // Trial calculate coupon discount
+                deadlineGuard.check("coupon-trial");
                 couponInfo = trialCalculateCoupon(request, validationResult, correlationId);
                 feeCalculation = feeCalculationService.calculateFeeWithCoupon(
                     subscriptionAmount,
@@ -111,12 +143,19 @@ public class SubscriptionApplicationService {
             transaction.initialize();
             
             // 6. Save transaction (Saga: REQUEST_SAVED)
+            deadlineGuard.check("transaction-insert");
             transactionRepository.save(transaction);
             transaction.setSagaState(com.bank.fund.trading.domain.model.SagaState.REQUEST_SAVED);
+            if (sagaJournalService.isEnabled()) {
+                sagaJournalService.begin(transaction);
+            }
             log.info("[{}] Transaction saved to database", correlationId);
             
             // 7. Create share record if first time (with 0 shares)
-            if (validationResult.isFirstTimeSubscription()) {
+            // The first-time check may lag subscriptions made on other nodes, so the record is
+            // only created when it is really missing
+            if (validationResult.isFirstTimeSubscription() && !shareRecordRepository
+                    .findByCustomerAndProduct(request.getCustomerId(), request.getProductCode()).isPresent()) {
                 ShareRecord shareRecord = ShareRecord.createNew(
                     request.getCustomerId(),
                     request.getProductCode()
@@ -126,50 +165,79 @@ public class SubscriptionApplicationService {
                 log.info("[{}] Share record created for first time subscription", correlationId);
             }
             
-            // 8. Use coupon if applicable (Saga Step 1)
-            if (couponInfo != null) {
-                String marketingUsageId = useCoupon(request, transaction, feeCalculation, correlationId);
-                transaction.markCouponUsed(marketingUsageId);
-                transactionRepository.update(transaction);
+            SubscriptionTransaction savedTransaction = transaction;
+            AccountingService.AccountingResult accountingResult;
+            if (couponInfo != null && sagaLegExecutor.isEnabled()) {
+                // 8-9. Use coupon and execute accounting concurrently (Saga Steps 1 and 2)
+                deadlineGuard.check("coupon-use");
+                deadlineGuard.check("accounting");
+                accountingResult = executeLegsInParallel(
+                    request, transaction, feeCalculation,
+                    validationResult.getProduct().getCurrencyCode(), correlationId);
+            } else {
+                // 8. Use coupon if applicable (Saga Step 1)
+                // Once the coupon is used the order runs on to accounting, so both budgets are checked first
+                if (couponInfo != null) {
+                    deadlineGuard.check("coupon-use", "accounting");
+                    String marketingUsageId = sagaLegExecutor.time("coupon", "sequential",
+                        () -> useCoupon(request, savedTransaction, feeCalculation, correlationId));
+                    transaction.markCouponUsed(marketingUsageId);
+                    recordProgress(transaction);
+                    
+                    // Save coupon usage record locally
+                    saveCouponUsageRecord(transaction, feeCalculation, correlationId);
+                }
                 
-                // Save coupon usage record locally
-                saveCouponUsageRecord(transaction, feeCalculation, correlationId);
+                // 9. Execute accounting operation (Saga Step 2)
+                // CRITICAL: Must handle accounting result atomically to prevent data inconsistency
+                // If process crashes after accounting succeeds but before state is persisted,
+                // we need a way to detect and compensate
+                if (couponInfo == null) {
+                    deadlineGuard.check("accounting");
+                }
+                accountingResult = sagaLegExecutor.time("accounting", "sequential",
+                    () -> accountingService.executeAccounting(
+                        savedTransaction,
+                        validationResult.getProduct().getCurrencyCode(),
+                        request.getCurrencyCode()  // Assuming this is account currency
+                    ));
             }
             
-            // 9. Execute accounting operation (Saga Step 2)
-            // CRITICAL: Must handle accounting result atomically to prevent data inconsistency
-            // If process crashes after accounting succeeds but before state is persisted,
-            // we need a way to detect and compensate
-            AccountingService.AccountingResult accountingResult = accountingService.executeAccounting(
-                transaction,
-                validationResult.getProduct().getCurrencyCode(),
-                request.getCurrencyCode()  // Assuming this is account currency
-            );
-            
             if (accountingResult.isSuccess()) {
                 // Update state in memory AND persist immediately in same operation
-                if (accountingResult.getCoreBankingTxnId() != null) {
-                    transaction.markAccountingCompleted(accountingResult.getCoreBankingTxnId());
-                } else if (accountingResult.getFreezeId() != null) {
-                    transaction.markFreezeCompleted(accountingResult.getFreezeId());
-                }
+                markAccountingResult(transaction, accountingResult);
                 
-                // CRITICAL: Update database immediately after accounting succeeds
-                // This ensures txnId/freezeId is persisted even if process crashes later
-                transactionRepository.update(transaction);
+                // CRITICAL: Record progress immediately after accounting succeeds
+                // This ensures txnId/freezeId survives a crash later in the saga
+                recordProgress(transaction);
                 log.info("[{}] Accounting completed and state persisted: type={}, txnId={}, freezeId={}", 
                          correlationId, accountingResult.getType(), 
                          accountingResult.getCoreBankingTxnId(), accountingResult.getFreezeId());
             }
             
-            // 10. Mark transaction as completed
+            // 10. Mark transaction as completed, notifying downstream systems in the same commit
             transaction.markCompleted();
             transactionRepository.update(transaction);
+            SubscriptionCompleted completed = SubscriptionCompleted.builder()
+                .transactionSerialNumber(serialNumber)
+                .customerId(request.getCustomerId())
+                .productCode(request.getProductCode())
+                .channel(request.getChannel())
+                .subscriptionAmount(subscriptionAmount.getAmount())
+                .finalFee(feeCalculation.getFinalFee().getAmount())
+                .durationMillis(System.currentTimeMillis() - startTime)
+                .build();
+            outboxWriter.append(serialNumber, completed);
+            holdingCache.recordCompleted(transaction);
+            subscriptionIndex.recordSubscribed(request.getCustomerId(), request.getProductCode());
             log.info("[{}] Transaction completed successfully", correlationId);
             
             // 11. Record metrics
-            long duration = System.currentTimeMillis() - startTime;
-            recordMetrics("success", duration);
+            if (eventBus.isEnabled()) {
+                eventBus.publishAfterCommit(completed);
+            } else {
+                recordMetrics("success", completed.getDurationMillis());
+            }
             
             // 12. Return success response
             return SubscriptionResponse.builder()
@@ -196,6 +264,7 @@ public class SubscriptionApplicationService {
                     transaction.markFailed(errorCode, errorMessage);
                     transaction.setUpdatedAt(LocalDateTime.now());
                     transactionRepository.update(transaction);
+                    outboxWriter.append(transaction.getId(), sagaFailed(request, transaction, errorCode, startTime));
                     log.info("[{}] Transaction failure state saved, sagaState: {}", 
                              correlationId, transaction.getSagaState());
                     
@@ -210,7 +279,12 @@ public class SubscriptionApplicationService {
                 log.warn("[{}] Transaction was not created, no compensation needed", correlationId);
             }
             
-            recordMetrics("failed", System.currentTimeMillis() - startTime);
+            SagaFailed failed = sagaFailed(request, transaction, errorCode, startTime);
+            if (eventBus.isEnabled()) {
+                eventBus.publishAfterCommit(failed);
+            } else {
+                recordMetrics("failed", failed.getDurationMillis());
+            }
             
             return SubscriptionResponse.builder()
                 .success(false)
@@ -230,31 +304,16 @@ public class SubscriptionApplicationService {
         Money subscriptionAmount = new Money(request.getAmount(), request.getCurrencyCode());
         Money originalFee = subscriptionAmount.multiply(validationResult.getProduct().getSubscriptionFeeRate());
         
-        CouponTrialRequest trialRequest = CouponTrialRequest.builder()
-            .customerId(request.getCustomerId())
-            .couponId(request.getCouponId())
-            .productCode(request.getProductCode())
-            .originalFee(originalFee.getAmount())
-            .build();
-        
-        CouponTrialResponse trialResponse = marketingCouponService.trialCalculate(trialRequest);
-        
-        if (!trialResponse.isSuccess()) {
-            throw new BusinessException(
-                ErrorCode.COUPON_TRIAL_FAILED,
-                "Coupon trial calculation failed: " + trialResponse.getErrorMessage()
-            );
-        }
+        CouponInfo couponInfo = couponTrialService.trial(
+            request.getCustomerId(),
+            request.getCouponId(),
+            request.getProductCode(),
+            originalFee
+        );
         
         log.info("[{}] Coupon trial calculation succeeded: discountAmount={}", 
-                 correlationId, trialResponse.getDiscountAmount());
-        
-        return new CouponInfo(
-            trialResponse.getCouponId(),
-            trialResponse.getCouponType(),
-            trialResponse.getDiscountRate(),
-            trialResponse.getDiscountAmount()
-        );
+                 correlationId, couponInfo.getDiscountAmount());
+        return couponInfo;
     }
     
     /**
@@ -288,7 +347,93 @@ public class SubscriptionApplicationService {
     }
     
     /**
-     * Save coupon usage record locally
+     * Issue coupon use and accounting concurrently once the fee is known
+     * LEGS_IN_FLIGHT is journaled first, durably and outside the saga's database transaction,
+     * so legs interrupted by a crash are resolved from the journal on recovery.
+     * Both legs are awaited before any outcome is recorded; the legs that succeeded are
+     * then marked so the usual compensation undoes them if the other leg failed.
+     */
+    private AccountingService.AccountingResult executeLegsInParallel(SubscriptionRequest request,
+                                                                      SubscriptionTransaction transaction,
+                                                                      FeeCalculation feeCalculation,
+                                                                      String productCurrency,
+                                                                      String correlationId) {
+        transaction.markLegsInFlight();
+        recordProgress(transaction);
+        
+        CompletableFuture<String> couponLeg = sagaLegExecutor.submit("coupon",
+            () -> useCoupon(request, transaction, feeCalculation, correlationId));
+        
+        AccountingService.AccountingResult accountingResult = null;
+        RuntimeException accountingFailure = null;
+        try {
+            accountingResult = sagaLegExecutor.time("accounting", "parallel",
+                () -> accountingService.executeAccounting(transaction, productCurrency, request.getCurrencyCode()));
+        } catch (RuntimeException e) {
+            accountingFailure = e;
+        }
+        
+        String marketingUsageId = null;
+        RuntimeException couponFailure = null;
+        try {
+            marketingUsageId = couponLeg.join();
+        } catch (CompletionException e) {
+            couponFailure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        
+        transaction.markLegsReturned();
+        if (marketingUsageId != null) {
+            transaction.markCouponUsed(marketingUsageId);
+        }
+        if (accountingResult != null && accountingResult.isSuccess()) {
+            markAccountingResult(transaction, accountingResult);
+        }
+        recordProgress(transaction);
+        if (marketingUsageId != null) {
+            saveCouponUsageRecord(transaction, feeCalculation, correlationId);
+        }
+        log.info("[{}] Parallel legs returned: couponUsed={}, accountingSucceeded={}", correlationId,
+                 marketingUsageId != null, accountingResult != null && accountingResult.isSuccess());
+        
+        if (accountingFailure != null) {
+            if (couponFailure != null) {
+                accountingFailure.addSuppressed(couponFailure);
+            }
+            throw accountingFailure;
+        }
+        if (couponFailure != null) {
+            throw couponFailure;
+        }
+        return accountingResult;
+    }
+    
+    /**
+     * Record a saga step once its remote side effect happened
+     * With the saga journal enabled the step is journaled, which is durable on return, instead of
+     * updating the transaction row inside a database transaction that only commits at the end.
+     */
+    private void recordProgress(SubscriptionTransaction transaction) {
+        if (sagaJournalService.isEnabled()) {
+            sagaJournalService.record(transaction);
+        } else {
+            transactionRepository.update(transaction);
+        }
+    }
+    
+    /**
+     * Record the accounting reference returned by core banking
+     */
+    private void markAccountingResult(SubscriptionTransaction transaction,
+                                       AccountingService.AccountingResult accountingResult) {
+        if (accountingResult.getCoreBankingTxnId() != null) {
+            transaction.markAccountingCompleted(accountingResult.getCoreBankingTxnId());
+        } else if (accountingResult.getFreezeId() != null) {
+            transaction.markFreezeCompleted(accountingResult.getFreezeId());
+        }
+    }
+    
+    /**
+     * Save coupon usage record locally in the saga transaction
      */
     private void saveCouponUsageRecord(SubscriptionTransaction transaction,
                                         FeeCalculation feeCalculation,
@@ -382,6 +527,19 @@ public class SubscriptionApplicationService {
         }
     }
     
+    private SagaFailed sagaFailed(SubscriptionRequest request, SubscriptionTransaction transaction,
+                                  String errorCode, long startTime) {
+        return SagaFailed.builder()
+            .transactionSerialNumber(transaction != null ? transaction.getId() : null)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .channel(request.getChannel())
+            .sagaState(transaction != null ? transaction.getSagaState() : null)
+            .errorCode(errorCode)
+            .durationMillis(System.currentTimeMillis() - startTime)
+            .build();
+    }
+    
     /**
      * Record metrics
      */
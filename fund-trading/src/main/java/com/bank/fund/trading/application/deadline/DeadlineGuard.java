@@ -0,0 +1,71 @@
+package com.bank.fund.trading.application.deadline;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides request deadlines and checks them before each saga step
+ * A request abandoned before an irreversible call needs no compensation for it, which is
+ * cheaper than completing an order whose caller has already timed out and reversing it later.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineGuard {
+    
+    private final DeadlineProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Deadline of a new request from the caller's budget header or the channel default
+     *
+     * @param headerValue remaining budget in milliseconds sent by the caller, may be null
+     * @return null when deadlines are disabled or the request has no budget
+     */
+    public Deadline deadlineFor(String channel, String headerValue) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        long budget = properties.getChannelBudgetMillis().getOrDefault(channel, properties.getDefaultBudgetMillis());
+        if (headerValue != null && !headerValue.trim().isEmpty()) {
+            try {
+                long requested = Long.parseLong(headerValue.trim());
+                budget = budget > 0 ? Math.min(budget, requested) : requested;
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid {} header: {}", properties.getHeader(), headerValue);
+            }
+        }
+        return budget > 0 ? Deadline.after(budget) : null;
+    }
+    
+    public String getHeader() {
+        return properties.getHeader();
+    }
+    
+    /**
+     * Abandon the request when less than the reserves of the steps, run one after another, is left
+     * of its deadline
+     * Steps that cannot be abandoned once the first has started are checked together before it.
+     *
+     * @throws DeadlineExceededException when the steps should not be started
+     */
+    public void check(String... steps) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        long remaining = deadline.remainingMillis();
+        long reserve = 0;
+        for (String step : steps) {
+            reserve += properties.getStepReserveMillis().getOrDefault(step, 0L);
+        }
+        if (deadline.isExpired() || remaining < reserve) {
+            meterRegistry.counter("deadline.abandoned", "step", steps[0]).increment();
+            throw new DeadlineExceededException(String.join("+", steps), remaining);
+        }
+    }
+}
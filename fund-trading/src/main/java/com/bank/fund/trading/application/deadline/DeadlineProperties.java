@@ -0,0 +1,44 @@
+package com.bank.fund.trading.application.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for request deadlines carried through the subscription saga
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.deadline")
+public class DeadlineProperties {
+    
+    /**
+     * Give subscription requests a deadline and abandon them when it cannot be met
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Request header with the caller's remaining budget in milliseconds
+     */
+    private String header = "X-Request-Timeout-Millis";
+    
+    /**
+     * Budget of channels without their own, 0 for no deadline
+     */
+    private long defaultBudgetMillis = 0;
+    
+    /**
+     * Budget per channel, used when the request carries no header
+     */
+    private Map<String, Long> channelBudgetMillis = new LinkedHashMap<>();
+    
+    /**
+     * Milliseconds that must be left before starting a step; steps not listed need any time at all
+     * Set to about the step's usual latency, so an irreversible call is not started when its answer
+     * would arrive after the caller has gone.
+     */
+    private Map<String, Long> stepReserveMillis = new LinkedHashMap<>();
+}
@@ -42,5 +42,10 @@ public class SubscriptionRequest {
     
     @NotBlank(message = "Channel is required")
     private String channel;
+    
+    /**
+     * Optional channel order ID, used as idempotency key when no Idempotency-Key header is sent
+     */
+    private String channelOrderId;
 }
 
@@ -1,5 +1,7 @@
 package com.bank.fund.trading.application.dto;
 
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.model.TransactionStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -60,5 +62,24 @@ public class SubscriptionResponse {
      * Error message (if failed)
      */
     private String errorMessage;
+    
+    /**
+     * Response describing a saved transaction, for requests answered after the saga that ran it
+     */
+    public static SubscriptionResponse fromTransaction(SubscriptionTransaction transaction) {
+        boolean failed = transaction.getStatus() == TransactionStatus.FAILED ||
+            transaction.getStatus() == TransactionStatus.COMPENSATING;
+        return SubscriptionResponse.builder()
+            .success(!failed)
+            .transactionSerialNumber(transaction.getId())
+            .customerId(transaction.getCustomerId())
+            .productCode(transaction.getProductCode())
+            .subscriptionAmount(transaction.getSubscriptionAmount().getAmount())
+            .finalFee(transaction.getFinalFee() != null ? transaction.getFinalFee().getAmount() : null)
+            .status(transaction.getStatus().name())
+            .errorCode(transaction.getErrorCode())
+            .errorMessage(transaction.getErrorMessage())
+            .build();
+    }
 }
 
@@ -0,0 +1,85 @@
+package com.bank.fund.trading.application.event;
+
+import com.bank.fund.common.domain.DomainEvent;
+import com.bank.fund.common.event.RingBufferEventBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+
+/**
+ * Publishes subscription events to the consumers handling their side effects
+ * Events raised inside a transaction are published once it commits, so consumers never act on
+ * a subscription that was rolled back. Consumers run in batches on their own threads.
+ * Events held in memory are lost on a crash, so only side effects that may be lost, such as
+ * metrics, are handled here; records the saga relies on are written in its transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriptionEventBus {
+    
+    private final SubscriptionEventProperties properties;
+    private final List<SubscriptionEventConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+    
+    private RingBufferEventBus<DomainEvent> bus;
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RingBufferEventBus<DomainEvent> ringBuffer = 
+            new RingBufferEventBus<>("subscription-events", properties.getCapacity(), properties.getMaxBatchSize());
+        for (SubscriptionEventConsumer consumer : consumers) {
+            ringBuffer.subscribe(consumer.getName(), consumer);
+            meterRegistry.gauge("event.bus.lag", Tags.of("consumer", consumer.getName()), ringBuffer,
+                b -> b.getLag(consumer.getName()));
+        }
+        FunctionCounter.builder("event.bus.published", ringBuffer, b -> b.getCursor() + 1)
+            .register(meterRegistry);
+        FunctionCounter.builder("event.bus.backpressure.waits", ringBuffer, RingBufferEventBus::getBackpressureWaits)
+            .register(meterRegistry);
+        FunctionCounter.builder("event.bus.handler.failures", ringBuffer, RingBufferEventBus::getHandlerFailures)
+            .register(meterRegistry);
+        ringBuffer.start();
+        bus = ringBuffer;
+        log.info("Subscription event bus started: capacity={}, consumers={}", ringBuffer.getCapacity(), consumers.size());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (bus != null) {
+            bus.stop(properties.getShutdownTimeoutMillis());
+        }
+    }
+    
+    public boolean isEnabled() {
+        return bus != null;
+    }
+    
+    /**
+     * Publish the event once the current transaction commits, or now when there is none
+     */
+    public void publishAfterCommit(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bus.publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bus.publish(event);
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.fund.trading.application.event;
+
+import com.bank.fund.common.domain.DomainEvent;
+import com.bank.fund.common.event.EventBatchHandler;
+
+/**
+ * Consumer of subscription events, registered with the event bus on startup
+ */
+public interface SubscriptionEventConsumer extends EventBatchHandler<DomainEvent> {
+    
+    /**
+     * Consumer name, used for its thread and lag metric
+     */
+    String getName();
+}
@@ -0,0 +1,34 @@
+package com.bank.fund.trading.application.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for handling subscription side effects on the in-process event bus
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.events")
+public class SubscriptionEventProperties {
+    
+    /**
+     * Publish subscription events after commit and handle their side effects off the request thread
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Slots in the ring buffer; publishers wait when the slowest consumer is this far behind
+     */
+    private int capacity = 8192;
+    
+    /**
+     * Most events handed to a consumer in one batch
+     */
+    private int maxBatchSize = 256;
+    
+    /**
+     * Milliseconds to let consumers drain on shutdown
+     */
+    private long shutdownTimeoutMillis = 5000;
+}
@@ -0,0 +1,42 @@
+package com.bank.fund.trading.application.event;
+
+import com.bank.fund.common.domain.DomainEvent;
+import com.bank.fund.trading.domain.event.SagaFailed;
+import com.bank.fund.trading.domain.event.SubscriptionCompleted;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records subscription outcome metrics from completed and failed sagas
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriptionMetricsRecorder implements SubscriptionEventConsumer {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+    
+    @Override
+    public void onBatch(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof SubscriptionCompleted) {
+                record("success", ((SubscriptionCompleted) event).getDurationMillis());
+            } else if (event instanceof SagaFailed) {
+                record("failed", ((SagaFailed) event).getDurationMillis());
+            }
+        }
+    }
+    
+    private void record(String result, long durationMillis) {
+        meterRegistry.counter("subscription.request", "result", result).increment();
+        meterRegistry.timer("subscription.duration", "result", result).record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.fund.trading.application.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for deduplicating retried subscription submissions
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.idempotency")
+public class IdempotencyProperties {
+    
+    /**
+     * Seconds a key stays in the in-memory front before only the database answers for it
+     */
+    private long windowSeconds = 600;
+    
+    /**
+     * Maximum keys held in memory; the oldest are dropped first
+     */
+    private int maxEntries = 100000;
+    
+    /**
+     * Milliseconds a retry waits for the original request to finish before answering in progress
+     */
+    private long waitMillis = 10000;
+    
+    /**
+     * Milliseconds between database checks while waiting on a request running on another node
+     */
+    private long pollMillis = 50;
+    
+    /**
+     * Seconds a claim is held before a retry reconciles it against the subscription it started;
+     * must exceed the longest saga, since the transaction row is committed only when the saga ends
+     */
+    private long leaseSeconds = 300;
+}
@@ -0,0 +1,408 @@
+package com.bank.fund.trading.application.idempotency;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.utils.SerialNumberGenerator;
+import com.bank.fund.trading.application.dto.SubscriptionRequest;
+import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.application.inbox.SubscriptionInboxService;
+import com.bank.fund.trading.domain.model.IdempotencyRecord;
+import com.bank.fund.trading.domain.model.SagaState;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.model.TransactionStatus;
+import com.bank.fund.trading.domain.repository.IdempotencyRecordRepository;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Deduplicates subscription submissions carrying the same channel idempotency key
+ * Keys seen recently on this node are answered from memory: a retry of a running request
+ * waits on it, a retry of a finished one gets its response. Otherwise the key is claimed by
+ * inserting into SUBSCRIPTION_IDEMPOTENCY, whose primary key makes the first request win
+ * across nodes; later requests read the stored response instead of running the saga again.
+ * A claim records the serial number its subscription runs under and holds a lease. A claim
+ * left unfinished past its lease, e.g. by a crashed node, is reconciled against that serial
+ * number: a settled transaction answers the retry, and a subscription that never started is
+ * taken over and run again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    private final IdempotencyRecordRepository repository;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final SubscriptionInboxService inboxService;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RecentKeys recentKeys;
+    
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              SubscriptionTransactionRepository transactionRepository,
+                              SubscriptionInboxService inboxService,
+                              IdempotencyProperties properties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionRepository = transactionRepository;
+        this.inboxService = inboxService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.recentKeys = new RecentKeys(TimeUnit.SECONDS.toMillis(properties.getWindowSeconds()),
+                                         properties.getMaxEntries());
+        meterRegistry.gauge("idempotency.recent.keys", recentKeys, RecentKeys::size);
+    }
+    
+    /**
+     * Run the subscription once per channel and key
+     *
+     * @param subscription runs the subscription under the serial number recorded with the claim
+     */
+    public SubscriptionResponse execute(String key, SubscriptionRequest request,
+                                        Function<String, SubscriptionResponse> subscription) {
+        String idempotencyKey = request.getChannel() + ":" + key;
+        String fingerprint = fingerprint(request);
+        
+        InFlight created = new InFlight(fingerprint);
+        InFlight existing = recentKeys.putIfAbsent(idempotencyKey, created);
+        if (existing != null) {
+            return awaitLocal(idempotencyKey, existing, fingerprint, subscription);
+        }
+        
+        try {
+            SubscriptionResponse response = claimAndRun(idempotencyKey, fingerprint, subscription);
+            created.future.complete(response);
+            if (isRetryable(response)) {
+                recentKeys.remove(idempotencyKey, created);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            created.future.completeExceptionally(e);
+            recentKeys.remove(idempotencyKey, created);
+            throw e;
+        }
+    }
+    
+    private SubscriptionResponse claimAndRun(String idempotencyKey, String fingerprint,
+                                             Function<String, SubscriptionResponse> subscription) {
+        IdempotencyRecord record = IdempotencyRecord.start(
+            idempotencyKey, fingerprint, SerialNumberGenerator.generate("SUB"), leaseExpiry());
+        if (!repository.tryInsert(record)) {
+            return awaitStored(idempotencyKey, fingerprint, subscription);
+        }
+        count("new");
+        return run(record, subscription);
+    }
+    
+    private SubscriptionResponse run(IdempotencyRecord record, Function<String, SubscriptionResponse> subscription) {
+        SubscriptionResponse response;
+        try {
+            response = subscription.apply(record.getTransactionSerialNumber());
+        } catch (RuntimeException e) {
+            // A failure outside the saga is not the order's outcome, so no response is stored for it;
+            // the claim is otherwise left for a retry to reconcile once its lease expires
+            if (isReversible(record)) {
+                release(record);
+            }
+            throw e;
+        }
+        if (isRetryable(response) && isReversible(record)) {
+            release(record);
+            return response;
+        }
+        store(record, response);
+        return response;
+    }
+    
+    /**
+     * Requests rejected by admission control, abandoned at their deadline, or rejected while another
+     * order of the customer was in progress may be run again by a retry, provided they made no
+     * irreversible call
+     */
+    private boolean isRetryable(SubscriptionResponse response) {
+        return ErrorCode.ADMISSION_REJECTED.equals(response.getErrorCode())
+            || ErrorCode.DEADLINE_EXCEEDED.equals(response.getErrorCode())
+            || ErrorCode.CONCURRENT_ORDER_IN_PROGRESS.equals(response.getErrorCode());
+    }
+    
+    private void release(IdempotencyRecord record) {
+        try {
+            repository.release(record);
+            count("released");
+        } catch (RuntimeException e) {
+            // The key stays IN_PROGRESS until its lease expires and a retry reconciles it
+            log.error("Failed to release idempotency key {}", record.getId(), e);
+        }
+    }
+    
+    /**
+     * Check that the subscription under the claim's serial number made no remote call: it was not
+     * accepted into the inbox and its saga, if saved, got no further than REQUEST_SAVED
+     */
+    private boolean isReversible(IdempotencyRecord record) {
+        try {
+            String serialNumber = record.getTransactionSerialNumber();
+            if (inboxService.status(serialNumber).isPresent()) {
+                return false;
+            }
+            return transactionRepository.findById(serialNumber)
+                .map(transaction -> transaction.getSagaState() == null
+                    || transaction.getSagaState().compareTo(SagaState.REQUEST_SAVED) <= 0)
+                .orElse(true);
+        } catch (RuntimeException e) {
+            log.error("Failed to check the saga of idempotency key {}", record.getId(), e);
+            return false;
+        }
+    }
+    
+    private SubscriptionResponse awaitLocal(String idempotencyKey, InFlight existing, String fingerprint,
+                                            Function<String, SubscriptionResponse> subscription) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return mismatch(idempotencyKey);
+        }
+        try {
+            SubscriptionResponse response = existing.future.get(Deadline.timeoutMillis(properties.getWaitMillis()), TimeUnit.MILLISECONDS);
+            count("replayed_local");
+            return response;
+        } catch (TimeoutException e) {
+            return inProgress(idempotencyKey);
+        } catch (ExecutionException e) {
+            // The original request failed before storing a response; the database decides
+            return awaitStored(idempotencyKey, fingerprint, subscription);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return inProgress(idempotencyKey);
+        }
+    }
+    
+    /**
+     * Wait for the request that claimed the key, possibly on another node, to store its response
+     */
+    private SubscriptionResponse awaitStored(String idempotencyKey, String fingerprint,
+                                             Function<String, SubscriptionResponse> subscription) {
+        long deadline = System.currentTimeMillis() + Deadline.timeoutMillis(properties.getWaitMillis());
+        while (true) {
+            Optional<IdempotencyRecord> stored = repository.findByKey(idempotencyKey);
+            if (stored.isPresent()) {
+                IdempotencyRecord record = stored.get();
+                if (!record.getRequestFingerprint().equals(fingerprint)) {
+                    return mismatch(idempotencyKey);
+                }
+                if (record.isCompleted()) {
+                    count("replayed_stored");
+                    return fromJson(record.getResponseBody());
+                }
+                if (record.isLeaseExpired(LocalDateTime.now())) {
+                    return reconcile(record, subscription);
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return inProgress(idempotencyKey);
+            }
+            try {
+                Thread.sleep(properties.getPollMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return inProgress(idempotencyKey);
+            }
+        }
+    }
+    
+    /**
+     * Settle a claim whose lease expired without a stored response, from what was saved under its serial number
+     */
+    private SubscriptionResponse reconcile(IdempotencyRecord record, Function<String, SubscriptionResponse> subscription) {
+        String serialNumber = record.getTransactionSerialNumber();
+        Optional<SubscriptionResponse> accepted = inboxService.status(serialNumber);
+        if (accepted.isPresent()) {
+            count("reconciled");
+            store(record, accepted.get());
+            return accepted.get();
+        }
+        Optional<SubscriptionTransaction> transaction = transactionRepository.findById(serialNumber);
+        if (transaction.isPresent()) {
+            if (!isSettled(transaction.get())) {
+                // Saga recovery resumes the transaction; the claim is settled by a later retry
+                return inProgress(record.getId());
+            }
+            SubscriptionResponse response = SubscriptionResponse.fromTransaction(transaction.get());
+            count("reconciled");
+            store(record, response);
+            return response;
+        }
+        
+        // Nothing was saved under the serial number, so the claimant never got to run the subscription
+        record.reclaim(SerialNumberGenerator.generate("SUB"), leaseExpiry());
+        if (!repository.reclaim(record, serialNumber)) {
+            return inProgress(record.getId());
+        }
+        count("reclaimed");
+        log.warn("Idempotency key {} reclaimed after its lease expired: serialNumber {} was never saved",
+                 record.getId(), serialNumber);
+        return run(record, subscription);
+    }
+    
+    private boolean isSettled(SubscriptionTransaction transaction) {
+        TransactionStatus status = transaction.getStatus();
+        return status == TransactionStatus.SUCCESS || status == TransactionStatus.CONFIRMED
+            || status == TransactionStatus.FAILED || status == TransactionStatus.COMPENSATING;
+    }
+    
+    private LocalDateTime leaseExpiry() {
+        return LocalDateTime.now().plusSeconds(properties.getLeaseSeconds());
+    }
+    
+    private void store(IdempotencyRecord record, SubscriptionResponse response) {
+        try {
+            record.complete(objectMapper.writeValueAsString(response));
+            if (!repository.complete(record)) {
+                log.warn("Idempotency key {} was taken over before its response was stored", record.getId());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The key stays IN_PROGRESS until its lease expires and a retry reconciles it
+            log.error("Failed to store response for idempotency key {}", record.getId(), e);
+        }
+    }
+    
+    private SubscriptionResponse fromJson(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, SubscriptionResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored subscription response is not readable", e);
+        }
+    }
+    
+    private SubscriptionResponse mismatch(String idempotencyKey) {
+        count("mismatch");
+        log.warn("Idempotency key {} reused with a different request", idempotencyKey);
+        return failure(ErrorCode.IDEMPOTENCY_KEY_MISMATCH,
+            "Idempotency key was already used for a different request");
+    }
+    
+    private SubscriptionResponse inProgress(String idempotencyKey) {
+        count("in_progress");
+        log.info("Request with idempotency key {} is still being processed", idempotencyKey);
+        return failure(ErrorCode.DUPLICATE_REQUEST_IN_PROGRESS,
+            "A request with the same idempotency key is still being processed");
+    }
+    
+    private SubscriptionResponse failure(String errorCode, String errorMessage) {
+        return SubscriptionResponse.builder()
+            .success(false)
+            .errorCode(errorCode)
+            .errorMessage(errorMessage)
+            .build();
+    }
+    
+    private void count(String result) {
+        meterRegistry.counter("idempotency.requests", "result", result).increment();
+    }
+    
+    /**
+     * Digest of the fields that define the order
+     */
+    private static String fingerprint(SubscriptionRequest request) {
+        String canonical = String.join("|",
+            request.getCustomerId(),
+            request.getAccountNumber(),
+            request.getProductCode(),
+            request.getAmount().stripTrailingZeros().toPlainString(),
+            request.getCurrencyCode(),
+            request.getCouponId() != null ? request.getCouponId() : "",
+            request.getChannel());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Request seen on this node, completed with its response when the saga finishes
+     */
+    private static final class InFlight {
+        private final String fingerprint;
+        private final long createdAt = System.currentTimeMillis();
+        private final CompletableFuture<SubscriptionResponse> future = new CompletableFuture<>();
+        
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+    
+    /**
+     * Bounded, time-windowed map of recent keys
+     * Keys are queued in arrival order, so expiry and the size cap only ever drop from the head.
+     */
+    private static final class RecentKeys {
+        private final long windowMillis;
+        private final int maxEntries;
+        private final Map<String, InFlight> entries = new ConcurrentHashMap<>();
+        private final Queue<String> arrivalOrder = new ConcurrentLinkedQueue<>();
+        
+        private RecentKeys(long windowMillis, int maxEntries) {
+            this.windowMillis = windowMillis;
+            this.maxEntries = maxEntries;
+        }
+        
+        private InFlight putIfAbsent(String key, InFlight inFlight) {
+            evict(inFlight.createdAt);
+            InFlight existing = entries.putIfAbsent(key, inFlight);
+            if (existing == null) {
+                arrivalOrder.add(key);
+            }
+            return existing;
+        }
+        
+        private void remove(String key, InFlight inFlight) {
+            entries.remove(key, inFlight);
+        }
+        
+        private int size() {
+            return entries.size();
+        }
+        
+        private void evict(long now) {
+            String head;
+            while ((head = arrivalOrder.peek()) != null) {
+                InFlight oldest = entries.get(head);
+                boolean full = entries.size() >= maxEntries;
+                if (oldest != null && !full && now - oldest.createdAt < windowMillis) {
+                    break;
+                }
+                // Running requests outlive the window so their retries still wait on them
+                if (oldest != null && !full && !oldest.future.isDone()) {
+                    break;
+                }
+                if (arrivalOrder.remove(head) && oldest != null) {
+                    entries.remove(head, oldest);
+                }
+            }
+        }
+    }
+}
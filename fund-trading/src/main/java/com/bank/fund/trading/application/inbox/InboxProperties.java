@@ -0,0 +1,47 @@
+package com.bank.fund.trading.application.inbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for accepting subscriptions into the inbox and processing them asynchronously
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.inbox")
+public class InboxProperties {
+    
+    /**
+     * Accept subscriptions of the async channels into the inbox and run the saga workers
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Channels answered with 202 Accepted once their request is in the inbox
+     */
+    private List<String> channels = new ArrayList<>();
+    
+    /**
+     * Sagas run at once by the workers of this node
+     */
+    private int workers = 4;
+    
+    /**
+     * Milliseconds between inbox polls
+     */
+    private long pollMillis = 200;
+    
+    /**
+     * Minutes after which an entry still claimed by a stopped worker is claimed again
+     */
+    private int staleMinutes = 10;
+    
+    /**
+     * Claims after which an entry that keeps failing before its saga runs is recorded as failed
+     */
+    private int maxAttempts = 5;
+}
@@ -0,0 +1,132 @@
+package com.bank.fund.trading.application.inbox;
+
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ValidationException;
+import com.bank.fund.common.money.Money;
+import com.bank.fund.common.utils.SerialNumberGenerator;
+import com.bank.fund.product.domain.service.ProductValidationService;
+import com.bank.fund.trading.application.dto.SubscriptionRequest;
+import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.domain.model.InboxStatus;
+import com.bank.fund.trading.domain.model.SubscriptionInboxEntry;
+import com.bank.fund.trading.domain.repository.SubscriptionInboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Accepts subscriptions for asynchronous processing
+ * The request is checked against the product and its currency without remote calls, appended to the
+ * SUBSCRIPTION_INBOX table under a new serial number and answered at once; the saga runs later
+ * on a SubscriptionInboxWorker. Status queries read the inbox until the saga has finished.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriptionInboxService {
+    
+    /**
+     * Status reported for a subscription accepted but not yet processed
+     */
+    public static final String ACCEPTED = "ACCEPTED";
+    
+    private final InboxProperties properties;
+    private final SubscriptionInboxRepository inboxRepository;
+    private final ProductValidationService productValidationService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Check if subscriptions of the channel are accepted into the inbox
+     */
+    public boolean isAsyncChannel(String channel) {
+        return properties.isEnabled() && properties.getChannels().contains(channel);
+    }
+    
+    /**
+     * Durably accept a subscription and return its serial number
+     */
+    public SubscriptionResponse accept(SubscriptionRequest request) {
+        return accept(request, SerialNumberGenerator.generate("SUB"));
+    }
+    
+    /**
+     * Durably accept a subscription under a serial number chosen by the caller
+     */
+    public SubscriptionResponse accept(SubscriptionRequest request, String serialNumber) {
+        Money amount;
+        try {
+            productValidationService.validateForSubscription(request.getProductCode(), request.getChannel());
+            amount = new Money(request.getAmount(), request.getCurrencyCode());
+        } catch (ValidationException e) {
+            return rejected(request, e.getErrorCode(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return rejected(request, ErrorCode.INVALID_PARAMETER, "Invalid currency: " + request.getCurrencyCode());
+        }
+        
+        inboxRepository.save(SubscriptionInboxEntry.accept(
+            serialNumber, request.getChannel(), request.getCustomerId(), toJson(request)));
+        meterRegistry.counter("inbox.accepted", "channel", request.getChannel()).increment();
+        log.info("Subscription accepted into inbox: serialNumber={}, customerId={}, channel={}",
+                 serialNumber, request.getCustomerId(), request.getChannel());
+        
+        return SubscriptionResponse.builder()
+            .success(true)
+            .transactionSerialNumber(serialNumber)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .subscriptionAmount(amount.getAmount())
+            .status(ACCEPTED)
+            .build();
+    }
+    
+    /**
+     * Status of an accepted subscription, empty when the serial number never went through the inbox
+     */
+    public Optional<SubscriptionResponse> status(String serialNumber) {
+        return inboxRepository.findById(serialNumber).map(entry -> {
+            if (entry.isFinished() && entry.getResponseBody() != null) {
+                return fromJson(entry.getResponseBody());
+            }
+            return SubscriptionResponse.builder()
+                .success(true)
+                .transactionSerialNumber(entry.getId())
+                .customerId(entry.getCustomerId())
+                .status(entry.getStatus() == InboxStatus.PENDING ?
+                    ACCEPTED : entry.getStatus().name())
+                .build();
+        });
+    }
+    
+    private SubscriptionResponse rejected(SubscriptionRequest request, String errorCode, String errorMessage) {
+        meterRegistry.counter("inbox.rejected", "channel", request.getChannel()).increment();
+        return SubscriptionResponse.builder()
+            .success(false)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .errorCode(errorCode)
+            .errorMessage(errorMessage)
+            .build();
+    }
+    
+    String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+    
+    SubscriptionResponse fromJson(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, SubscriptionResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored subscription response is not readable", e);
+        }
+    }
+}
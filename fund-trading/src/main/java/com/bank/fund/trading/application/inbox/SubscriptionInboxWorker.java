@@ -0,0 +1,174 @@
+package com.bank.fund.trading.application.inbox;
+
+import com.bank.fund.common.concurrent.Workload;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.trading.application.SubscriptionApplicationService;
+import com.bank.fund.trading.application.dto.SubscriptionRequest;
+import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import com.bank.fund.trading.application.shedding.LoadSheddingGuard;
+import com.bank.fund.trading.domain.model.SubscriptionInboxEntry;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.repository.SubscriptionInboxRepository;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the subscription inbox with bounded concurrency
+ * Each poll claims at most as many entries as there are idle workers, so entries stay in the
+ * table rather than piling up in memory. Polling pauses while a required downstream breaker is
+ * open; accepted orders wait in the inbox and are processed once the breaker closes.
+ * An entry whose transaction already exists was processed by a worker that stopped before
+ * recording the outcome, and is finished from the transaction instead of running the saga again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubscriptionInboxWorker {
+    
+    private final InboxProperties properties;
+    private final SubscriptionInboxRepository inboxRepository;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final SubscriptionApplicationService subscriptionApplicationService;
+    private final SubscriptionInboxService inboxService;
+    private final LoadSheddingGuard loadSheddingGuard;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private ExecutorService executor;
+    private Semaphore idleWorkers;
+    
+    @PostConstruct
+    public void init() {
+        int workers = Math.max(1, properties.getWorkers());
+        idleWorkers = new Semaphore(workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "inbox-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("inbox.backlog", backlog);
+        meterRegistry.gauge("inbox.workers.busy", idleWorkers, semaphore -> workers - semaphore.availablePermits());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Claim pending entries for idle workers
+     */
+    @Scheduled(fixedDelayString = "${fund.inbox.poll-millis:200}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String openBreaker = loadSheddingGuard.openBreaker();
+        if (openBreaker != null) {
+            meterRegistry.counter("inbox.paused", "breaker", openBreaker).increment();
+            return;
+        }
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0) {
+            return;
+        }
+        
+        List<SubscriptionInboxEntry> claimed;
+        try {
+            claimed = Workload.ONLINE.call(() -> inboxRepository.claimPending(idle, properties.getStaleMinutes()));
+        } catch (RuntimeException e) {
+            log.error("Failed to claim subscription inbox entries", e);
+            return;
+        }
+        for (SubscriptionInboxEntry entry : claimed) {
+            idleWorkers.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(entry);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                idleWorkers.release();
+                inboxRepository.release(entry);
+            }
+        }
+    }
+    
+    /**
+     * Refresh the backlog gauge
+     */
+    @Scheduled(fixedDelayString = "${fund.inbox.backlog-refresh-millis:10000}")
+    public void refreshBacklog() {
+        if (properties.isEnabled()) {
+            backlog.set(inboxRepository.countPending());
+        }
+    }
+    
+    private void process(SubscriptionInboxEntry entry) {
+        try {
+            if (loadSheddingGuard.openBreaker() != null) {
+                inboxRepository.release(entry);
+                return;
+            }
+            meterRegistry.timer("inbox.wait").record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+            
+            Optional<SubscriptionTransaction> existing = transactionRepository.findById(entry.getId());
+            SubscriptionResponse response = existing.isPresent() ?
+                SubscriptionResponse.fromTransaction(existing.get()) :
+                subscriptionApplicationService.processSubscription(
+                    objectMapper.readValue(entry.getRequestBody(), SubscriptionRequest.class), entry.getId());
+            
+            entry.finish(response.isSuccess(), inboxService.toJson(response));
+            inboxRepository.finish(entry);
+            meterRegistry.counter("inbox.processed",
+                "result", existing.isPresent() ? "recovered" : response.isSuccess() ? "success" : "failed").increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Failed to process inbox entry {}, attempt {}", entry.getId(), entry.getAttempts(), e);
+            meterRegistry.counter("inbox.processed", "result", "error").increment();
+            if (entry.getAttempts() >= properties.getMaxAttempts()) {
+                giveUp(entry, e);
+            }
+            // Otherwise the entry stays PROCESSING and is claimed again once stale
+        }
+    }
+    
+    private void giveUp(SubscriptionInboxEntry entry, Exception cause) {
+        try {
+            entry.finish(false, inboxService.toJson(SubscriptionResponse.builder()
+                .success(false)
+                .transactionSerialNumber(entry.getId())
+                .customerId(entry.getCustomerId())
+                .errorCode(ErrorCode.SYSTEM_ERROR)
+                .errorMessage("Subscription could not be processed: " + cause.getMessage())
+                .build()));
+            inboxRepository.finish(entry);
+            log.error("Inbox entry {} failed after {} attempts", entry.getId(), entry.getAttempts());
+        } catch (RuntimeException e) {
+            log.error("Failed to record inbox entry {} as failed", entry.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.fund.trading.application.lock;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.concurrent.StripedLock;
+import com.bank.fund.common.exception.BusinessException;
+import com.bank.fund.common.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the sagas of one customer and product on this node
+ * Without it, two concurrent first orders both see no earlier subscription, both create a share
+ * record and both get the first-time minimum. The lock is taken before validation and released
+ * once the saga's transaction completes, so the next order sees the committed result.
+ * Locks are striped over a fixed array; nothing is allocated per customer.
+ */
+@Component
+@Slf4j
+public class CustomerOrderLock {
+    
+    private final OrderLockProperties properties;
+    private final StripedLock locks;
+    
+    public CustomerOrderLock(OrderLockProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.locks = new StripedLock(properties.getStripes());
+        if (properties.isEnabled()) {
+            FunctionCounter.builder("order.lock.acquisitions", locks, StripedLock::getAcquisitions)
+                .register(meterRegistry);
+            FunctionCounter.builder("order.lock.contended", locks, StripedLock::getContended)
+                .register(meterRegistry);
+            FunctionCounter.builder("order.lock.timeouts", locks, StripedLock::getTimeouts)
+                .register(meterRegistry);
+            FunctionCounter.builder("order.lock.wait", locks, lock -> lock.getWaitNanos() / 1e9)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            log.info("Customer order lock enabled with {} stripes", locks.getStripes());
+        }
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Lock the customer and product until the current transaction completes
+     *
+     * @throws BusinessException when the order ahead did not finish within the wait limit or deadline
+     */
+    public void lockUntilCompletion(String customerId, String productCode) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Customer order lock requires an active transaction");
+        }
+        int stripe = locks.stripeFor(customerId, productCode);
+        long waitMillis = properties.getMaxWaitMillis();
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            waitMillis = Math.min(waitMillis, Math.max(0, deadline.remainingMillis()));
+        }
+        
+        boolean locked;
+        try {
+            locked = locks.tryLock(stripe, waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            log.warn("Concurrent order still in progress: customer={}, product={}", customerId, productCode);
+            throw new BusinessException(ErrorCode.CONCURRENT_ORDER_IN_PROGRESS,
+                "Another order of the customer for this product is still in progress");
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.unlock(stripe);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.fund.trading.application.lock;
+
+import com.bank.fund.common.utils.RendezvousHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Picks the node owning a customer's orders when several nodes take subscriptions
+ * Every node hashes customers onto the same configured node list, so all orders of a customer
+ * meet on one node and its local order lock. Removing a node moves only that node's customers.
+ */
+@Component
+@Slf4j
+public class CustomerRouter {
+    
+    private final OrderLockProperties.Cluster cluster;
+    private final RendezvousHash ring;
+    
+    public CustomerRouter(OrderLockProperties properties) {
+        this.cluster = properties.getCluster();
+        this.ring = new RendezvousHash(cluster.getNodes().keySet());
+        if (isEnabled()) {
+            if (!cluster.getNodes().containsKey(cluster.getSelfNode())) {
+                throw new IllegalStateException("fund.order-lock.cluster.self-node " + cluster.getSelfNode()
+                    + " is not in the node list " + cluster.getNodes().keySet());
+            }
+            if (!StringUtils.hasText(cluster.getForwardSecret())) {
+                throw new IllegalStateException("fund.order-lock.cluster.forward-secret is required with customer routing");
+            }
+            log.info("Customer routing enabled on node {} of {}", cluster.getSelfNode(), ring.getNodes());
+        }
+    }
+    
+    public boolean isEnabled() {
+        return cluster.isEnabled() && !cluster.getNodes().isEmpty();
+    }
+    
+    /**
+     * Check if this node owns the customer's orders; always true when routing is disabled
+     */
+    public boolean isLocal(String customerId) {
+        return !isEnabled() || cluster.getSelfNode().equals(ring.nodeFor(customerId));
+    }
+    
+    /**
+     * Base URL of the node owning the customer's orders
+     */
+    public String ownerUrl(String customerId) {
+        return cluster.getNodes().get(ring.nodeFor(customerId));
+    }
+    
+    public long getForwardTimeoutMillis() {
+        return cluster.getForwardTimeoutMillis();
+    }
+    
+    public String getForwardSecret() {
+        return cluster.getForwardSecret();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.fund.trading.application.lock;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for serializing concurrent orders of one customer and product
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.order-lock")
+public class OrderLockProperties {
+    
+    /**
+     * Run the saga of one customer and product at a time on this node
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Number of lock stripes, rounded up to a power of two
+     * Keep it far above the subscriptions in flight at once, orders of unrelated customers
+     * sharing a stripe wait for each other.
+     */
+    private int stripes = 1024;
+    
+    /**
+     * Milliseconds an order waits for the order ahead of it before being rejected,
+     * further capped by the request deadline
+     */
+    private long maxWaitMillis = 3000;
+    
+    /**
+     * Route each customer to one node so the node-local lock covers all its orders
+     */
+    private Cluster cluster = new Cluster();
+    
+    @Data
+    public static class Cluster {
+        
+        private boolean enabled = false;
+        
+        /**
+         * ID of this node in the node list
+         */
+        private String selfNode;
+        
+        /**
+         * Base URLs of all nodes by node ID, including the context path, identical on every node
+         */
+        private Map<String, String> nodes = new LinkedHashMap<>();
+        
+        /**
+         * Milliseconds to wait for the owning node when forwarding, when the request has no deadline
+         */
+        private long forwardTimeoutMillis = 10000;
+        
+        /**
+         * Secret shared by all nodes, sent with forwarded requests so that only peers can mark a
+         * request as already routed
+         */
+        private String forwardSecret;
+    }
+}
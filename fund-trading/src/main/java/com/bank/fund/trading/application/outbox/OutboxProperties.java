@@ -0,0 +1,83 @@
+package com.bank.fund.trading.application.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the transactional outbox and its relay
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.outbox")
+public class OutboxProperties {
+    
+    /**
+     * Write subscription outcomes to the outbox and relay them to the sink
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Sink receiving relayed messages: file or http
+     */
+    private String sink = "file";
+    
+    /**
+     * Messages delivered to the sink per batch
+     */
+    private int batchSize = 500;
+    
+    /**
+     * Milliseconds the relay waits before polling again once the outbox is drained
+     */
+    private long pollMillis = 100;
+    
+    /**
+     * Seconds after which a claimed message whose relay never reported back is claimed again
+     * Keep this well above the sink timeout so a slow delivery is not sent twice.
+     */
+    private int claimTimeoutSeconds = 60;
+    
+    /**
+     * Hours delivered messages are kept before they are purged
+     */
+    private int retentionHours = 72;
+    
+    /**
+     * File sink settings
+     */
+    private File file = new File();
+    
+    /**
+     * HTTP sink settings
+     */
+    private Http http = new Http();
+    
+    @Data
+    public static class File {
+        
+        /**
+         * Directory receiving one JSON lines file per day
+         */
+        private String directory = "/data/fund/outbox";
+    }
+    
+    @Data
+    public static class Http {
+        
+        /**
+         * Endpoint receiving each batch as a JSON array
+         */
+        private String url = "http://localhost:8080/internal/outbox/loopback";
+        
+        /**
+         * Milliseconds to wait for the endpoint
+         */
+        private long timeoutMillis = 2000;
+        
+        /**
+         * Serve the default URL from this application as a stand-in downstream system
+         */
+        private boolean loopbackEnabled = false;
+    }
+}
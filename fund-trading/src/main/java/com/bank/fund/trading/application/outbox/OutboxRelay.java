@@ -0,0 +1,146 @@
+package com.bank.fund.trading.application.outbox;
+
+import com.bank.fund.common.concurrent.Workload;
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.bank.fund.trading.domain.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays outbox messages to the sink at least once
+ * Each batch is claimed in a short transaction that locks pending rows with SKIP LOCKED and marks
+ * them relaying, so relays on several nodes take disjoint batches and rows committed late are
+ * still picked up. Delivery runs after that transaction commits; delivered rows are then marked
+ * delivered and a failed batch is released for the next poll. Rows left relaying by a relay that
+ * died are claimed again once the claim timeout passes. Messages are delivered in ID order within
+ * a batch, but batches from different nodes may interleave.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    
+    private final OutboxProperties properties;
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    
+    private volatile boolean running;
+    private Thread relayThread;
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        meterRegistry.gauge("outbox.relay.backlog", backlog);
+        meterRegistry.gauge("outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0);
+        
+        running = true;
+        relayThread = new Thread(Workload.BACKGROUND.wrap(this::relayLoop), "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+        log.info("Outbox relay delivering to {} sink", sink.getName());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+        }
+    }
+    
+    /**
+     * Relay full batches back to back, and poll when the outbox is drained or delivery fails
+     */
+    private void relayLoop() {
+        while (running) {
+            Integer delivered;
+            try {
+                delivered = relayBatch();
+            } catch (RuntimeException e) {
+                log.error("Outbox relay batch failed", e);
+                delivered = 0;
+            }
+            if (delivered < properties.getBatchSize()) {
+                try {
+                    Thread.sleep(properties.getPollMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Purge delivered messages once they are past retention
+     */
+    @Scheduled(fixedDelayString = "${fund.outbox.purge-interval-millis:600000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int purged = outboxRepository.purgeDelivered(
+                LocalDateTime.now().minusHours(properties.getRetentionHours()));
+            if (purged > 0) {
+                log.info("Purged {} delivered outbox messages", purged);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to purge outbox", e);
+        }
+    }
+    
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxRepository.claimPending(properties.getBatchSize(),
+            now.minusSeconds(properties.getClaimTimeoutSeconds()));
+        if (batch.isEmpty()) {
+            backlog.set(outboxRepository.countPending());
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), now).toMillis());
+        List<Long> ids = batch.stream().map(OutboxMessage::getId).collect(Collectors.toList());
+        
+        // Deliver outside any transaction so a slow sink holds no locks or connection
+        long startTime = System.nanoTime();
+        try {
+            sink.deliver(batch);
+        } catch (RuntimeException e) {
+            outboxRepository.release(ids);
+            meterRegistry.counter("outbox.relay.redelivered").increment(batch.size());
+            log.warn("Outbox sink {} rejected {} messages from ID {}, will redeliver: {}",
+                     sink.getName(), batch.size(), batch.get(0).getId(), e.getMessage());
+            return 0;
+        } finally {
+            meterRegistry.timer("outbox.relay.delivery.duration", "sink", sink.getName())
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+        
+        outboxRepository.markDelivered(ids);
+        if (batch.size() < properties.getBatchSize()) {
+            backlog.set(outboxRepository.countPending());
+        }
+        meterRegistry.counter("outbox.relay.delivered", "sink", sink.getName()).increment(batch.size());
+        meterRegistry.summary("outbox.relay.batch").record(batch.size());
+        return batch.size();
+    }
+}
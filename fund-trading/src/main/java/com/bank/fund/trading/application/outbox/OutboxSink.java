@@ -0,0 +1,20 @@
+package com.bank.fund.trading.application.outbox;
+
+import com.bank.fund.trading.domain.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox messages
+ * Delivery is at least once: a batch that fails, or whose cursor update is lost, is delivered
+ * again, so receivers deduplicate by message ID.
+ */
+public interface OutboxSink {
+    
+    String getName();
+    
+    /**
+     * Deliver the messages in order; throw when any of them was not accepted
+     */
+    void deliver(List<OutboxMessage> messages);
+}
@@ -0,0 +1,44 @@
+package com.bank.fund.trading.application.outbox;
+
+import com.bank.fund.common.domain.DomainEvent;
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.bank.fund.trading.domain.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes domain events to the outbox in the caller's transaction
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    
+    private final OutboxProperties properties;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Append the event; does nothing when the outbox is disabled
+     */
+    public void append(String aggregateId, DomainEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
+        outboxRepository.append(OutboxMessage.builder()
+            .aggregateId(aggregateId)
+            .eventType(event.getClass().getSimpleName())
+            .payload(payload)
+            .createdAt(LocalDateTime.now())
+            .build());
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.fund.trading.application.saga;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for group-committing saga state updates made outside a request transaction
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.saga.group-commit")
+public class GroupCommitProperties {
+    
+    /**
+     * Collect concurrent saga state updates into shared commits instead of committing each one
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Microseconds the writer waits for more updates after the first one of a group arrives
+     */
+    private long maxWaitMicros = 300;
+    
+    /**
+     * Most updates written in one statement and commit
+     */
+    private int maxBatchSize = 200;
+}
@@ -0,0 +1,25 @@
+package com.bank.fund.trading.application.saga;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for issuing coupon use and accounting concurrently on couponed orders
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.saga.parallel-legs")
+public class ParallelLegsProperties {
+    
+    /**
+     * Issue the coupon use alongside accounting instead of before it
+     * Takes effect only with fund.saga.journal.enabled, which records the legs in flight durably
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Threads issuing coupon use calls; when all are busy the call runs on the request thread
+     */
+    private int threads = 32;
+}
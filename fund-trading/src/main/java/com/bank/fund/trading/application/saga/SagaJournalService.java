@@ -0,0 +1,183 @@
+package com.bank.fund.trading.application.saga;
+
+import com.bank.fund.trading.domain.model.SagaJournalEntry;
+import com.bank.fund.trading.domain.model.SagaState;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.repository.SagaJournal;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.bank.fund.trading.domain.service.TransactionRollbackService;
+import com.bank.fund.trading.infrastructure.journal.SagaJournalProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks subscription sagas in the saga journal and resolves the ones left open
+ * Each remote side effect is journaled as it happens, outside the database transaction the
+ * saga runs in. A saga is closed once that transaction commits, because from then on the
+ * transaction row carries its state. A saga still open after a rollback or a crash has no row,
+ * so its remote effects are compensated from the latest journal record; a saga whose legs were in
+ * flight has every effect either leg could have had compensated by serial number.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SagaJournalService {
+    
+    private final SagaJournal journal;
+    private final SagaJournalProperties properties;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final TransactionRollbackService rollbackService;
+    private final MeterRegistry meterRegistry;
+    
+    private final Set<String> resolving = ConcurrentHashMap.newKeySet();
+    
+    public boolean isEnabled() {
+        return journal.isEnabled();
+    }
+    
+    /**
+     * Start tracking a saga whose transaction row was just inserted
+     * The saga is closed when the surrounding database transaction commits and resolved
+     * from the journal when it rolls back.
+     */
+    public void begin(SubscriptionTransaction transaction) {
+        record(transaction);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String serialNumber = transaction.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    close(serialNumber);
+                } else {
+                    SagaJournalEntry entry = journal.openSagas().get(serialNumber);
+                    if (entry != null) {
+                        resolve(entry, false);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Journal the saga's current state and remote references
+     */
+    public void record(SubscriptionTransaction transaction) {
+        journal.append(SagaJournalEntry.step(transaction));
+    }
+    
+    /**
+     * Resolve sagas a previous run of this node left open
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (!journal.isEnabled() || journal.openSagas().isEmpty()) {
+            return;
+        }
+        log.warn("Saga journal holds {} open sagas from the previous run, resolving", journal.openSagas().size());
+        resolveOpenSagas(0);
+    }
+    
+    /**
+     * Resolve sagas whose compensation failed earlier or whose close was lost
+     */
+    @Scheduled(fixedDelayString = "${fund.saga.journal.recovery-interval-millis:60000}")
+    public void recoverStale() {
+        if (journal.isEnabled()) {
+            resolveOpenSagas(TimeUnit.MINUTES.toMillis(properties.getRecoveryStaleMinutes()));
+        }
+    }
+    
+    private void resolveOpenSagas(long minIdleMillis) {
+        long cutoff = System.currentTimeMillis() - minIdleMillis;
+        List<SagaJournalEntry> entries = new ArrayList<>(journal.openSagas().values());
+        for (SagaJournalEntry entry : entries) {
+            if (entry.getTimestampMillis() <= cutoff) {
+                resolve(entry, true);
+            }
+        }
+    }
+    
+    /**
+     * Close a saga the database knows about, otherwise compensate its journaled side effects
+     *
+     * @param checkDatabase false when the caller saw the saga's transaction roll back
+     */
+    private void resolve(SagaJournalEntry entry, boolean checkDatabase) {
+        String serialNumber = entry.getSerialNumber();
+        if (!resolving.add(serialNumber)) {
+            return;
+        }
+        boolean compensating = false;
+        try {
+            if (checkDatabase && transactionRepository.findById(serialNumber).isPresent()) {
+                close(serialNumber);
+                recordRecovery("committed");
+                return;
+            }
+            
+            SubscriptionTransaction transaction = entry.toTransaction();
+            boolean legsInFlight = entry.getSagaState() == SagaState.LEGS_IN_FLIGHT;
+            if (!legsInFlight && !transaction.needCouponCompensation() && !transaction.needAccountingCompensation()
+                && !transaction.needFreezeCompensation()) {
+                close(serialNumber);
+                recordRecovery("nothing");
+                return;
+            }
+            
+            // With legs in flight either may have taken effect, so both are compensated by serial number
+            log.warn("Compensating saga {} from journal, sagaState: {}", serialNumber, entry.getSagaState());
+            CompletableFuture<TransactionRollbackService.CompensationResult> compensation = legsInFlight ?
+                rollbackService.compensateInFlight(transaction) :
+                rollbackService.compensate(transaction);
+            compensation.whenComplete((result, ex) -> {
+                if (ex == null && result.isSuccess()) {
+                    close(serialNumber);
+                    recordRecovery(legsInFlight ? "compensated_in_flight" : "compensated");
+                } else {
+                    log.error("Compensation of journaled saga {} failed, will retry: {}", serialNumber,
+                              ex != null ? ex.getMessage() : result.getErrorMessage());
+                    recordRecovery("failed");
+                }
+                resolving.remove(serialNumber);
+            });
+            compensating = true;
+        } catch (RuntimeException e) {
+            log.error("Failed to resolve journaled saga {}", serialNumber, e);
+            recordRecovery("failed");
+        } finally {
+            if (!compensating) {
+                resolving.remove(serialNumber);
+            }
+        }
+    }
+    
+    private void close(String serialNumber) {
+        try {
+            journal.append(SagaJournalEntry.closed(serialNumber));
+        } catch (RuntimeException e) {
+            // The recovery sweep closes it later from the transaction row
+            log.warn("Failed to close saga {} in journal: {}", serialNumber, e.getMessage());
+        }
+    }
+    
+    private void recordRecovery(String result) {
+        meterRegistry.counter("saga.journal.recovered", "result", result).increment();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.fund.trading.application.saga;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.trading.infrastructure.journal.SagaJournalProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs saga legs off the request thread and times every leg
+ * The pool has no queue: when all threads are busy the leg runs on the caller,
+ * which degrades to the sequential saga instead of piling up waiting calls.
+ * Parallel legs require the saga journal: LEGS_IN_FLIGHT must be durable before the legs are
+ * issued, and the transaction row is not committed until the saga ends. Without the journal the
+ * executor stays off and legs run sequentially.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaLegExecutor {
+    
+    private final ParallelLegsProperties properties;
+    private final SagaJournalProperties journalProperties;
+    private final MeterRegistry meterRegistry;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!journalProperties.isEnabled()) {
+            log.warn("Parallel saga legs need fund.saga.journal.enabled to record legs in flight durably, "
+                     + "running legs sequentially");
+            return;
+        }
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "saga-leg-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        meterRegistry.gauge("subscription.leg.active", executor, ThreadPoolExecutor::getActiveCount);
+        log.info("Parallel saga legs enabled: threads={}", threads);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return executor != null;
+    }
+    
+    /**
+     * Start a leg concurrently with the caller, under the caller's request deadline and logging context
+     */
+    public <T> CompletableFuture<T> submit(String leg, Supplier<T> call) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        Supplier<T> timed = Deadline.propagate(() -> time(leg, "parallel", call));
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                return timed.get();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        }, executor);
+    }
+    
+    /**
+     * Run a leg on the caller thread
+     */
+    public <T> T time(String leg, String mode, Supplier<T> call) {
+        long startTime = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            meterRegistry.timer("subscription.leg.duration", "leg", leg, "mode", mode)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.bank.fund.trading.application.saga;
+
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes saga state updates of concurrent callers in shared commits
+ * The writer thread takes the first waiting update, collects more for up to max-wait-micros or
+ * max-batch-size, writes them with one MERGE and commits once. Each caller's future completes
+ * only after that commit, so a completed future means the transition is durable.
+ * Updates made inside an open transaction are written directly, since that transaction's
+ * commit is what makes them durable.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaStateWriter {
+    
+    private final GroupCommitProperties properties;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    private final BlockingQueue<PendingUpdate> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writer;
+    private DistributionSummary batchSize;
+    private Timer commitWait;
+    private Timer commitDuration;
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        batchSize = DistributionSummary.builder("saga.state.commit.batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        commitWait = Timer.builder("saga.state.commit.wait")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        commitDuration = meterRegistry.timer("saga.state.commit.duration");
+        meterRegistry.gauge("saga.state.commit.queue", queue, BlockingQueue::size);
+        
+        running = true;
+        writer = new Thread(this::writeLoop, "saga-state-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Saga state group commit enabled: maxWaitMicros={}, maxBatchSize={}",
+                 properties.getMaxWaitMicros(), properties.getMaxBatchSize());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingUpdate> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            commit(remaining);
+        }
+    }
+    
+    /**
+     * Persist the transaction's saga transition
+     *
+     * @return future completed once the transition is committed
+     */
+    public CompletableFuture<Void> write(SubscriptionTransaction transaction) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                transactionRepository.update(transaction);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+        PendingUpdate update = new PendingUpdate(transaction);
+        queue.add(update);
+        return update.future;
+    }
+    
+    private void writeLoop() {
+        long maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(properties.getMaxWaitMicros());
+        int maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        while (running) {
+            List<PendingUpdate> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingUpdate next = remaining > 0 ?
+                        queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.addAll(batch);
+                continue;
+            }
+            commit(batch);
+        }
+    }
+    
+    private void commit(List<PendingUpdate> batch) {
+        // MERGE rejects a source with the same row twice, so only the latest update of a serial is written
+        Map<String, SubscriptionTransaction> latest = new LinkedHashMap<>();
+        for (PendingUpdate update : batch) {
+            latest.put(update.transaction.getId(), update.transaction);
+        }
+        long startTime = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                transactionRepository.updateSagaStates(new ArrayList<>(latest.values())));
+        } catch (RuntimeException e) {
+            log.error("Group commit of {} saga state updates failed", batch.size(), e);
+            meterRegistry.counter("saga.state.commit.failures").increment();
+            batch.forEach(update -> update.future.completeExceptionally(e));
+            return;
+        }
+        long committedAt = System.nanoTime();
+        commitDuration.record(committedAt - startTime, TimeUnit.NANOSECONDS);
+        batchSize.record(latest.size());
+        for (PendingUpdate update : batch) {
+            commitWait.record(committedAt - update.enqueuedAt, TimeUnit.NANOSECONDS);
+            update.future.complete(null);
+        }
+    }
+    
+    /**
+     * Update waiting for the next group commit
+     */
+    private static final class PendingUpdate {
+        private final SubscriptionTransaction transaction;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        
+        private PendingUpdate(SubscriptionTransaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+}
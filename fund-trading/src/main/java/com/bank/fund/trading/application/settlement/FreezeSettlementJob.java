@@ -0,0 +1,227 @@
+package com.bank.fund.trading.application.settlement;
+
+import com.bank.fund.common.calendar.TradingCalendar;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.integration.CoreBankingService;
+import com.bank.fund.common.integration.dto.AccountingResponse;
+import com.bank.fund.common.integration.dto.FreezeDebitRequest;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Settles freezes placed outside trading hours
+ * At trading open, completed transactions holding a freeze but no debit are claimed page by page,
+ * split into batches and debited through core banking with bounded concurrency.
+ * Each saga is then advanced to SETTLED, or returned to the backlog when its debit fails.
+ * Failed debits are retried with exponential backoff; after max-attempts failures the saga is
+ * moved to SETTLEMENT_FAILED, counted in settlement.freeze.escalated and logged for manual handling.
+ * All time comparisons use the application clock, the same clock that stamps UPDATED_AT.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FreezeSettlementJob {
+
+    private final FreezeSettlementProperties properties;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final CoreBankingService coreBankingService;
+    private final TradingCalendar tradingCalendar;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Transactions still waiting for settlement, refreshed at run start and decreased as pages settle
+     */
+    private final AtomicLong backlog = new AtomicLong();
+
+    /**
+     * Settled transactions per second in the current or last run
+     */
+    private final AtomicLong drainRate = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gauge("settlement.freeze.backlog", backlog);
+        meterRegistry.gauge("settlement.freeze.drain.rate", drainRate);
+    }
+
+    /**
+     * Settle the backlog at trading open, then pick up stragglers during trading hours
+     */
+    @Scheduled(cron = "${fund.settlement.freeze.cron:0 0/5 9-14 * * MON-FRI}")
+    public void settleFrozenTransactions() {
+        if (!tradingCalendar.isTradingDay(tradingCalendar.today())) {
+            log.debug("Exchange closed today, freeze settlement skipped");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Freeze settlement already running, skipping this trigger");
+            return;
+        }
+        try {
+            settle();
+        } catch (Exception e) {
+            log.error("Freeze settlement run failed, remaining freezes will be retried on next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Drain the settlement backlog
+     */
+    private void settle() {
+        long pending = transactionRepository.countPendingFreezeSettlement();
+        backlog.set(pending);
+        if (pending == 0) {
+            log.debug("No frozen transactions waiting for settlement");
+            return;
+        }
+
+        log.info("Starting freeze settlement: {} transactions pending, page size {}, batch size {}, concurrency {}",
+                 pending, properties.getPageSize(), properties.getBatchSize(), properties.getConcurrency());
+
+        long startTime = System.currentTimeMillis();
+        LocalDateTime runStart = LocalDateTime.now();
+        AtomicLong settled = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, properties.getConcurrency()), namedThreadFactory());
+        try {
+            while (true) {
+                List<SubscriptionTransaction> page = transactionRepository.claimFrozenForSettlement(
+                    properties.getPageSize(), runStart, properties.getStaleMinutes(),
+                    properties.getRetryBackoffMinutes());
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (int from = 0; from < page.size(); from += properties.getBatchSize()) {
+                    List<SubscriptionTransaction> batch =
+                        page.subList(from, Math.min(from + properties.getBatchSize(), page.size()));
+                    futures.add(CompletableFuture.runAsync(() -> settleBatch(batch, settled, failed), executor));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+                long elapsed = Math.max(1L, System.currentTimeMillis() - startTime);
+                drainRate.set(settled.get() * 1000L / elapsed);
+                backlog.set(Math.max(0L, pending - settled.get()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duration = Math.max(1L, System.currentTimeMillis() - startTime);
+        drainRate.set(settled.get() * 1000L / duration);
+        backlog.set(transactionRepository.countPendingFreezeSettlement());
+        meterRegistry.timer("settlement.freeze.run.duration").record(duration, TimeUnit.MILLISECONDS);
+        log.info("Freeze settlement finished: settled={}, failed={}, remaining={}, {} ms, {} records/s",
+                 settled.get(), failed.get(), backlog.get(), duration, drainRate.get());
+    }
+
+    /**
+     * Debit one batch and advance each saga according to its response
+     */
+    private void settleBatch(List<SubscriptionTransaction> batch, AtomicLong settled, AtomicLong failed) {
+        List<FreezeDebitRequest> requests = batch.stream()
+            .map(this::toDebitRequest)
+            .collect(Collectors.toList());
+
+        List<AccountingResponse> responses;
+        try {
+            responses = coreBankingService.batchDebitFrozen(requests);
+        } catch (Exception e) {
+            log.error("Batch debit of {} frozen transactions failed", batch.size(), e);
+            batch.forEach(transaction -> release(transaction, ErrorCode.ACCOUNTING_FAILED, e.getMessage(), failed));
+            return;
+        }
+
+        List<SubscriptionTransaction> succeeded = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SubscriptionTransaction transaction = batch.get(i);
+            AccountingResponse response = i < responses.size() ? responses.get(i) : null;
+            if (response != null && response.isSuccess()) {
+                transaction.markSettled(response.getCoreBankingTxnId());
+                succeeded.add(transaction);
+            } else {
+                String errorMessage = response != null ? response.getErrorMessage() : "No response from core banking";
+                log.warn("Debit of frozen funds failed for transaction {}, freezeId {}: {}",
+                         transaction.getId(), transaction.getFreezeId(), errorMessage);
+                release(transaction, ErrorCode.ACCOUNTING_FAILED, errorMessage, failed);
+            }
+        }
+
+        try {
+            transactionRepository.markSettled(succeeded);
+            settled.addAndGet(succeeded.size());
+            meterRegistry.counter("settlement.freeze.records", "result", "settled").increment(succeeded.size());
+        } catch (Exception e) {
+            // Debits are idempotent on serial number, rows stay in SETTLING and are reclaimed once stale
+            log.error("Failed to record settlement of {} debited transactions", succeeded.size(), e);
+        }
+    }
+
+    private void release(SubscriptionTransaction transaction, String errorCode, String errorMessage,
+                         AtomicLong failed) {
+        failed.incrementAndGet();
+        meterRegistry.counter("settlement.freeze.records", "result", "failed").increment();
+        try {
+            boolean escalated = transaction.releaseSettlement(errorCode, errorMessage, properties.getMaxAttempts());
+            transactionRepository.releaseSettlement(transaction);
+            if (escalated) {
+                meterRegistry.counter("settlement.freeze.escalated").increment();
+                log.error("Debit of frozen funds failed {} times for transaction {}, freezeId {}: {}. "
+                          + "Left frozen as SETTLEMENT_FAILED, manual handling required.",
+                          transaction.getSettlementAttempts(), transaction.getId(), transaction.getFreezeId(),
+                          errorMessage);
+            }
+        } catch (Exception e) {
+            log.error("Failed to release settlement of transaction {}, it will be reclaimed once stale",
+                      transaction.getId(), e);
+        }
+    }
+
+    private FreezeDebitRequest toDebitRequest(SubscriptionTransaction transaction) {
+        return FreezeDebitRequest.builder()
+            .customerId(transaction.getCustomerId())
+            .accountNumber(transaction.getAccountNumber())
+            .transactionSerialNumber(transaction.getId())
+            .freezeId(transaction.getFreezeId())
+            .amount(transaction.getSubscriptionAmount().getAmount())
+            .currencyCode(transaction.getSubscriptionAmount().getCurrencyCode())
+            .feeAmount(transaction.getFinalFee().getAmount())
+            .transactionType("FUND_SUBSCRIPTION")
+            .description("Fund subscription freeze settlement - " + transaction.getProductCode())
+            .build();
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "freeze-settlement-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.fund.trading.application.settlement;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for settling overnight freezes at trading open
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.settlement.freeze")
+public class FreezeSettlementProperties {
+    
+    /**
+     * Transactions claimed from the database per page
+     */
+    private int pageSize = 2000;
+    
+    /**
+     * Transactions sent to core banking per batch debit call
+     */
+    private int batchSize = 100;
+    
+    /**
+     * Maximum concurrent batch debit calls to core banking
+     */
+    private int concurrency = 16;
+    
+    /**
+     * Minutes after which a transaction left in SETTLING by an interrupted run is claimed again
+     */
+    private int staleMinutes = 15;
+    
+    /**
+     * Failed debits after which a transaction is left frozen as SETTLEMENT_FAILED for manual handling
+     */
+    private int maxAttempts = 5;
+    
+    /**
+     * Minutes before a failed debit is retried, doubled for every further failure
+     */
+    private int retryBackoffMinutes = 5;
+}
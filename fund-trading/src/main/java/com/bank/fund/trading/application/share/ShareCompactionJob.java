@@ -0,0 +1,118 @@
+package com.bank.fund.trading.application.share;
+
+import com.bank.fund.trading.domain.repository.ShareMovementRepository;
+import com.bank.fund.trading.domain.service.share.ShareMovementProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Folds share movements into SHARE_RECORD
+ * Each pass runs in one transaction that locks the compaction cursor, takes the next pass number,
+ * stamps a batch of committed movements not yet compacted with it, merges their sums per customer
+ * and product into the share records together with the pass number, and moves the cursor.
+ * Movements are picked by their own stamp rather than an ID range, so one that commits late or
+ * took a lower sequence value is folded by a later pass instead of being skipped. Holding the
+ * cursor lock keeps one node compacting at a time, so passes commit in number order, and this
+ * job is the only in-place writer of the share record rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShareCompactionJob {
+    
+    private final ShareMovementProperties properties;
+    private final ShareMovementRepository shareMovementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        shareMovementRepository.initCursor(properties.getCursorName());
+        meterRegistry.gauge("share.compaction.backlog", backlog);
+    }
+    
+    /**
+     * Compact full batches back to back until the settled movements are folded
+     */
+    @Scheduled(fixedDelayString = "${fund.share-movements.compaction-interval-millis:10000}")
+    public void compact() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> compactBatch());
+            } while (Boolean.TRUE.equals(more));
+        } catch (RuntimeException e) {
+            log.error("Share movement compaction failed, will retry on next run", e);
+        }
+    }
+    
+    /**
+     * Purge folded movements once they are past retention
+     */
+    @Scheduled(fixedDelayString = "${fund.share-movements.purge-interval-millis:3600000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int purged = shareMovementRepository.purgeCompacted(
+                LocalDateTime.now().minusHours(properties.getRetentionHours()));
+            if (purged > 0) {
+                log.info("Purged {} compacted share movements", purged);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to purge share movements", e);
+        }
+    }
+    
+    /**
+     * Fold one batch of movements
+     *
+     * @return true when the batch was full and more movements may be waiting
+     */
+    private boolean compactBatch() {
+        OptionalLong cursor = shareMovementRepository.lockCursor(properties.getCursorName());
+        if (!cursor.isPresent()) {
+            // Another node is compacting
+            return false;
+        }
+        long compactionId = cursor.getAsLong() + 1;
+        long startTime = System.nanoTime();
+        int movements = shareMovementRepository.markCompacted(compactionId, properties.getCompactionBatchSize());
+        if (movements == 0) {
+            backlog.set(shareMovementRepository.countUncompacted());
+            return false;
+        }
+        
+        int records = shareMovementRepository.compact(compactionId);
+        shareMovementRepository.advanceCursor(properties.getCursorName(), compactionId);
+        meterRegistry.timer("share.compaction.duration").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("share.compaction.records").increment(records);
+        log.debug("Compaction pass {} folded {} share movements into {} share records",
+                  compactionId, movements, records);
+        
+        boolean full = movements >= properties.getCompactionBatchSize();
+        if (!full) {
+            backlog.set(shareMovementRepository.countUncompacted());
+        }
+        return full;
+    }
+}
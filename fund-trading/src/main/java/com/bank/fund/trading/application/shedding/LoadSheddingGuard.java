@@ -0,0 +1,126 @@
+package com.bank.fund.trading.application.shedding;
+
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.trading.application.dto.SubscriptionRequest;
+import com.bank.fund.trading.application.dto.SubscriptionResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects subscriptions before any side effect while a required downstream breaker is open
+ * Without it an order taken during a core banking outage is validated, inserted with its share
+ * record and coupon use, fails at accounting and then needs compensation. The guard follows
+ * breaker state transition events, so checking it is a volatile read per breaker.
+ * Half-open breakers let orders through so their probe calls can close the breaker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadSheddingGuard {
+    
+    private final LoadSheddingProperties properties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, BreakerView> breakers = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        for (String name : properties.getBreakers()) {
+            CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker(name);
+            BreakerView view = new BreakerView(breaker);
+            view.update(breaker.getState());
+            breakers.put(name, view);
+            breaker.getEventPublisher().onStateTransition(event -> {
+                CircuitBreaker.State state = event.getStateTransition().getToState();
+                view.update(state);
+                log.warn("Circuit breaker {} moved to {}, new subscriptions {}",
+                         name, state, view.open ? "are shed" : "are accepted");
+            });
+            meterRegistry.gauge("subscription.shedding.active", Tags.of("breaker", name), view, v -> v.open ? 1 : 0);
+        }
+    }
+    
+    /**
+     * Name of the first required breaker that is open, null when all downstreams are usable
+     */
+    public String openBreaker() {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (Map.Entry<String, BreakerView> entry : breakers.entrySet()) {
+            if (entry.getValue().open) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Seconds until an open breaker next lets probe calls through
+     */
+    public long retryAfterSeconds(String breaker) {
+        BreakerView view = breakers.get(breaker);
+        if (view == null) {
+            return 1;
+        }
+        long remainingMillis = view.openedAtMillis + view.waitMillis - System.currentTimeMillis();
+        return Math.max(1, (remainingMillis + 999) / 1000);
+    }
+    
+    /**
+     * Failure response for a request shed because the breaker is open, recording the work avoided
+     */
+    public SubscriptionResponse shed(SubscriptionRequest request, String breaker) {
+        boolean couponed = request.getCouponId() != null && !request.getCouponId().isEmpty();
+        meterRegistry.counter("subscription.shed", "breaker", breaker, "channel", request.getChannel()).increment();
+        avoided(breaker, "validation");
+        avoided(breaker, "transaction_insert");
+        avoided(breaker, "accounting_call");
+        avoided(breaker, "compensation");
+        if (couponed) {
+            avoided(breaker, "coupon_use");
+        }
+        return SubscriptionResponse.builder()
+            .success(false)
+            .customerId(request.getCustomerId())
+            .productCode(request.getProductCode())
+            .errorCode(ErrorCode.DOWNSTREAM_UNAVAILABLE)
+            .errorMessage("Service temporarily unavailable: " + breaker + " circuit breaker is open")
+            .build();
+    }
+    
+    private void avoided(String breaker, String step) {
+        meterRegistry.counter("subscription.shed.avoided", "breaker", breaker, "step", step).increment();
+    }
+    
+    /**
+     * Last known state of one breaker
+     */
+    private static final class BreakerView {
+        private final long waitMillis;
+        private volatile boolean open;
+        private volatile long openedAtMillis;
+        
+        private BreakerView(CircuitBreaker breaker) {
+            this.waitMillis = breaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+        }
+        
+        private void update(CircuitBreaker.State state) {
+            boolean nowOpen = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+            if (nowOpen && !open) {
+                openedAtMillis = System.currentTimeMillis();
+            }
+            open = nowOpen;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.fund.trading.application.shedding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration for rejecting subscriptions while a downstream circuit breaker is open
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.load-shedding")
+public class LoadSheddingProperties {
+    
+    /**
+     * Reject new subscriptions up front while a required breaker is open
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Circuit breakers every subscription depends on
+     */
+    private List<String> breakers = new ArrayList<>(Arrays.asList("coreBank"));
+}
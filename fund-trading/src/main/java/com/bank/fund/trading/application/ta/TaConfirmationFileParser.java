@@ -0,0 +1,233 @@
+package com.bank.fund.trading.application.ta;
+
+import com.bank.fund.common.exception.BusinessException;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.trading.domain.model.TaConfirmation;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser for TA confirmation files
+ * Reads the file through memory-mapped windows and decodes fields straight from the mapped bytes,
+ * so no line strings or intermediate buffers are built for the millions of records in a daily file.
+ *
+ * Record layout (one per line, '|' separated):
+ * serialNumber|customerId|productCode|confirmedAmount|confirmedShares|confirmDate(yyyyMMdd)|returnCode
+ * Blank lines and lines starting with '#' are ignored.
+ */
+public class TaConfirmationFileParser {
+
+    private static final byte FIELD_SEPARATOR = '|';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte COMMENT = '#';
+    private static final int FIELD_COUNT = 7;
+    private static final int MAX_FIELD_LENGTH = 256;
+
+    private final long windowSize;
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+    private final byte[] scratch = new byte[MAX_FIELD_LENGTH];
+
+    /**
+     * @param windowSize size of each memory-mapped window, must exceed the longest line
+     */
+    public TaConfirmationFileParser(long windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Parse file starting at the given byte offset
+     * The handler is called for every full batch and once for the final partial batch,
+     * together with the byte offset right after the last record of that batch.
+     *
+     * @return number of records parsed
+     */
+    public long parse(Path file, long startOffset, int batchSize, BatchHandler handler) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long windowStart = startOffset;
+            long parsedRecords = 0;
+            List<TaConfirmation> batch = new ArrayList<>(batchSize);
+
+            while (windowStart < fileSize) {
+                long windowLength = Math.min(windowSize, fileSize - windowStart);
+                boolean lastWindow = windowStart + windowLength == fileSize;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+                int limit = buffer.limit();
+                int lineStart = 0;
+
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) != LINE_FEED) {
+                        continue;
+                    }
+                    if (parseLine(buffer, lineStart, i, windowStart, batch)) {
+                        parsedRecords++;
+                    }
+                    lineStart = i + 1;
+                    if (batch.size() >= batchSize) {
+                        handler.onBatch(batch, windowStart + lineStart);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+
+                if (lastWindow && lineStart < limit) {
+                    // Last line without trailing line feed
+                    if (parseLine(buffer, lineStart, limit, windowStart, batch)) {
+                        parsedRecords++;
+                    }
+                    lineStart = limit;
+                }
+                if (lineStart == 0) {
+                    throw new BusinessException(
+                        ErrorCode.TA_FILE_FORMAT_INVALID,
+                        String.format("Line at offset %d of %s exceeds parser window size %d",
+                            windowStart, file, windowSize));
+                }
+                // Next window starts at the first incomplete line
+                windowStart += lineStart;
+            }
+
+            if (!batch.isEmpty()) {
+                handler.onBatch(batch, windowStart);
+            }
+            return parsedRecords;
+        } catch (IOException e) {
+            throw new BusinessException(
+                ErrorCode.TA_FILE_READ_FAILED,
+                "Failed to read TA confirmation file: " + file, e);
+        }
+    }
+
+    /**
+     * Parse one line [start, end) of the window into the batch
+     *
+     * @return true if a record was added
+     */
+    private boolean parseLine(MappedByteBuffer buffer, int start, int end, long windowStart,
+                              List<TaConfirmation> batch) {
+        if (end > start && buffer.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        if (end == start || buffer.get(start) == COMMENT) {
+            return false;
+        }
+
+        int field = 0;
+        fieldStarts[0] = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == FIELD_SEPARATOR) {
+                if (field == FIELD_COUNT - 1) {
+                    throw invalidLine(windowStart, start, "too many fields");
+                }
+                fieldEnds[field++] = i;
+                fieldStarts[field] = i + 1;
+            }
+        }
+        fieldEnds[field] = end;
+        if (field != FIELD_COUNT - 1) {
+            throw invalidLine(windowStart, start, "expected " + FIELD_COUNT + " fields");
+        }
+
+        batch.add(new TaConfirmation(
+            decodeString(buffer, 0),
+            decodeString(buffer, 1),
+            decodeString(buffer, 2),
+            decodeDecimal(buffer, 3, windowStart),
+            decodeDecimal(buffer, 4, windowStart),
+            decodeDate(buffer, 5, windowStart),
+            decodeString(buffer, 6)
+        ));
+        return true;
+    }
+
+    private String decodeString(MappedByteBuffer buffer, int field) {
+        int length = fieldEnds[field] - fieldStarts[field];
+        if (length > MAX_FIELD_LENGTH) {
+            length = MAX_FIELD_LENGTH;
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(fieldStarts[field] + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Decode a plain decimal (optional sign, digits, optional fraction) without creating a string
+     */
+    private BigDecimal decodeDecimal(MappedByteBuffer buffer, int field, long windowStart) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = false;
+        if (start < end && buffer.get(start) == '-') {
+            negative = true;
+            start++;
+        }
+        if (start == end) {
+            throw invalidLine(windowStart, fieldStarts[field], "empty decimal field " + field);
+        }
+
+        long unscaled = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9') {
+                unscaled = Math.addExact(Math.multiplyExact(unscaled, 10L), b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                throw invalidLine(windowStart, fieldStarts[field], "invalid decimal field " + field);
+            }
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private LocalDate decodeDate(MappedByteBuffer buffer, int field, long windowStart) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != 8) {
+            throw invalidLine(windowStart, start, "invalid date field " + field);
+        }
+        int value = 0;
+        for (int i = start; i < start + 8; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                throw invalidLine(windowStart, start, "invalid date field " + field);
+            }
+            value = value * 10 + (b - '0');
+        }
+        return LocalDate.of(value / 10000, value / 100 % 100, value % 100);
+    }
+
+    private BusinessException invalidLine(long windowStart, int position, String reason) {
+        return new BusinessException(
+            ErrorCode.TA_FILE_FORMAT_INVALID,
+            String.format("Invalid TA confirmation record at byte offset %d: %s", windowStart + position, reason));
+    }
+
+    /**
+     * Callback receiving parsed batches
+     */
+    @FunctionalInterface
+    public interface BatchHandler {
+
+        /**
+         * Handle a batch of parsed confirmations
+         *
+         * @param batch      parsed confirmations, owned by the handler
+         * @param nextOffset byte offset right after the last record of the batch
+         */
+        void onBatch(List<TaConfirmation> batch, long nextOffset);
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.fund.trading.application.ta;
+
+import com.bank.fund.trading.domain.model.ShareIncrement;
+import com.bank.fund.trading.domain.model.ShareMovement;
+import com.bank.fund.trading.domain.model.TaConfirmation;
+import com.bank.fund.trading.domain.model.TaFileCheckpoint;
+import com.bank.fund.trading.domain.repository.ShareRecordRepository;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.bank.fund.trading.domain.repository.TaFileCheckpointRepository;
+import com.bank.fund.trading.domain.service.holding.CustomerHoldingCache;
+import com.bank.fund.trading.domain.service.share.ShareBalanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads daily TA confirmation files
+ * Confirmed shares are grouped by customer and product and merged into SHARE_RECORD in bulk,
+ * or appended as share movements when the movement journal is enabled,
+ * and the confirmed subscriptions are moved to CONFIRMED and out of the pending holdings.
+ * Each batch is applied in one local transaction together with its checkpoint,
+ * so an interrupted load resumes exactly after the last applied batch.
+ * Shares are credited only for subscriptions this batch actually moved to CONFIRMED, so a
+ * re-delivered file or an overlapping load never credits a confirmation twice. Every batch
+ * locks the checkpoint row and checks it still points where this load left it; a loader that
+ * finds the checkpoint moved by another node stops and leaves the file to it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaConfirmationLoader {
+    
+    private final TaFileProperties properties;
+    private final ShareRecordRepository shareRecordRepository;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final TaFileCheckpointRepository checkpointRepository;
+    private final CustomerHoldingCache holdingCache;
+    private final ShareBalanceService shareBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Load all confirmation files in the inbound directory
+     * Runs daily after TA files are delivered
+     */
+    @Scheduled(cron = "${fund.ta.confirmation.cron:0 30 6 * * *}")
+    public void loadInboundFiles() {
+        Path inboundDir = Paths.get(properties.getConfirmation().getInboundDir());
+        if (!Files.isDirectory(inboundDir)) {
+            log.warn("TA confirmation inbound directory does not exist: {}", inboundDir);
+            return;
+        }
+        
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = 
+                 Files.newDirectoryStream(inboundDir, properties.getConfirmation().getFilePattern())) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.error("Failed to list TA confirmation files in {}", inboundDir, e);
+            return;
+        }
+        files.sort(null);
+        
+        for (Path file : files) {
+            try {
+                load(file);
+            } catch (Exception e) {
+                log.error("Failed to load TA confirmation file: {}, will resume from checkpoint on next run", 
+                         file, e);
+            }
+        }
+    }
+    
+    /**
+     * Load one confirmation file, resuming from its checkpoint if it was partially loaded
+     */
+    public void load(Path file) {
+        String fileName = file.getFileName().toString();
+        TaFileCheckpoint checkpoint = checkpointRepository.findByFileName(fileName)
+            .orElseGet(() -> {
+                TaFileCheckpoint created = TaFileCheckpoint.start(fileName);
+                checkpointRepository.save(created);
+                return created;
+            });
+        
+        if (checkpoint.isCompleted()) {
+            log.debug("TA confirmation file already loaded: {}", fileName);
+            return;
+        }
+        
+        log.info("Loading TA confirmation file: {}, resuming at byte offset {} after {} records", 
+                 fileName, checkpoint.getByteOffset(), checkpoint.getRecordCount());
+        long startTime = System.currentTimeMillis();
+        
+        TaConfirmationFileParser parser = 
+            new TaConfirmationFileParser(properties.getConfirmation().getMapWindowSize());
+        long parsed;
+        try {
+            parsed = parser.parse(file, checkpoint.getByteOffset(), properties.getConfirmation().getBatchSize(),
+                (batch, nextOffset) -> transactionTemplate.executeWithoutResult(
+                    status -> applyBatch(batch, checkpoint, nextOffset)));
+            transactionTemplate.executeWithoutResult(status -> {
+                lockCheckpoint(checkpoint);
+                checkpoint.markCompleted();
+                checkpointRepository.update(checkpoint);
+            });
+        } catch (CheckpointMovedException e) {
+            log.info("TA confirmation file {} is being loaded by another node, stopping: {}", fileName, e.getMessage());
+            meterRegistry.counter("ta.confirmation.load.yielded").increment();
+            return;
+        }
+        
+        long duration = System.currentTimeMillis() - startTime;
+        meterRegistry.timer("ta.confirmation.load.duration").record(duration, TimeUnit.MILLISECONDS);
+        log.info("TA confirmation file loaded: {}, {} records in this run, {} records total, {} ms", 
+                 fileName, parsed, checkpoint.getRecordCount(), duration);
+    }
+    
+    /**
+     * Apply one batch of confirmations and advance the checkpoint in the same transaction
+     */
+    private void applyBatch(List<TaConfirmation> batch, TaFileCheckpoint checkpoint, long nextOffset) {
+        lockCheckpoint(checkpoint);
+        
+        List<String> successSerialNumbers = new ArrayList<>(batch.size());
+        int rejected = 0;
+        for (TaConfirmation confirmation : batch) {
+            if (confirmation.isSuccess()) {
+                successSerialNumbers.add(confirmation.getTransactionSerialNumber());
+            } else {
+                rejected++;
+                log.warn("TA rejected transaction: {}, returnCode: {}. Manual handling required.", 
+                         confirmation.getTransactionSerialNumber(), confirmation.getReturnCode());
+            }
+        }
+        
+        // Only subscriptions moved to CONFIRMED here are credited, never a serial confirmed before
+        List<String> confirmedSerialNumbers = transactionRepository.markConfirmed(successSerialNumbers);
+        Set<String> confirmedSet = new HashSet<>(confirmedSerialNumbers);
+        Map<String, ShareIncrement> increments = new LinkedHashMap<>();
+        List<ShareMovement> movements = new ArrayList<>(shareBalanceService.isEnabled() ? confirmedSet.size() : 0);
+        for (TaConfirmation confirmation : batch) {
+            if (!confirmation.isSuccess() || !confirmedSet.remove(confirmation.getTransactionSerialNumber())) {
+                continue;
+            }
+            increments.merge(
+                confirmation.getCustomerId() + '|' + confirmation.getProductCode(),
+                new ShareIncrement(confirmation.getCustomerId(), confirmation.getProductCode(), 
+                                   confirmation.getConfirmedShares()),
+                (existing, added) -> existing.plus(added.getShareDelta()));
+            if (shareBalanceService.isEnabled()) {
+                movements.add(ShareMovement.confirmation(confirmation));
+            }
+        }
+        
+        List<ShareIncrement> shareIncrements = new ArrayList<>(increments.values());
+        if (shareBalanceService.isEnabled()) {
+            shareBalanceService.append(movements);
+        } else {
+            shareRecordRepository.applyShareIncrements(shareIncrements);
+        }
+        holdingCache.recordConfirmations(shareIncrements, confirmedSerialNumbers);
+        int confirmed = confirmedSerialNumbers.size();
+        if (confirmed < successSerialNumbers.size()) {
+            log.warn("{} confirmed records did not match a settled subscription transaction, no shares credited", 
+                     successSerialNumbers.size() - confirmed);
+        }
+        
+        checkpoint.advance(nextOffset, batch.size());
+        checkpointRepository.update(checkpoint);
+        
+        meterRegistry.counter("ta.confirmation.records", "result", "confirmed").increment(confirmed);
+        meterRegistry.counter("ta.confirmation.records", "result", "unmatched")
+            .increment(successSerialNumbers.size() - confirmed);
+        meterRegistry.counter("ta.confirmation.records", "result", "rejected").increment(rejected);
+        log.debug("Applied TA confirmation batch: records={}, shareRecords={}, confirmed={}, rejected={}", 
+                  batch.size(), increments.size(), confirmed, rejected);
+    }
+    
+    /**
+     * Lock the checkpoint row and make sure no other loader advanced it since this load read it
+     */
+    private void lockCheckpoint(TaFileCheckpoint checkpoint) {
+        TaFileCheckpoint current = checkpointRepository.lockByFileName(checkpoint.getId())
+            .orElseThrow(() -> new IllegalStateException("TA file checkpoint disappeared: " + checkpoint.getId()));
+        if (current.isCompleted() || current.getByteOffset() != checkpoint.getByteOffset()) {
+            throw new CheckpointMovedException(String.format("checkpoint at byte %d, this load at byte %d",
+                current.getByteOffset(), checkpoint.getByteOffset()));
+        }
+    }
+    
+    /**
+     * Another loader advanced the checkpoint of the file being loaded
+     */
+    private static final class CheckpointMovedException extends RuntimeException {
+        private CheckpointMovedException(String message) {
+            super(message);
+        }
+    }
+}
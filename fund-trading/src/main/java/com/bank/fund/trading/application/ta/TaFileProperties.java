@@ -0,0 +1,72 @@
+package com.bank.fund.trading.application.ta;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for TA file processing
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.ta")
+public class TaFileProperties {
+    
+    /**
+     * Confirmation file ingestion settings
+     */
+    private Confirmation confirmation = new Confirmation();
+    
+    /**
+     * Order file generation settings
+     */
+    private Order order = new Order();
+    
+    @Data
+    public static class Confirmation {
+        
+        /**
+         * Directory where TA confirmation files are delivered
+         */
+        private String inboundDir = "/data/fund/ta/inbound";
+        
+        /**
+         * Glob pattern of confirmation file names
+         */
+        private String filePattern = "*.cfm";
+        
+        /**
+         * Records applied per database transaction (one checkpoint per batch)
+         */
+        private int batchSize = 5000;
+        
+        /**
+         * Size of each memory-mapped window in bytes
+         */
+        private long mapWindowSize = 64L * 1024 * 1024;
+    }
+    
+    @Data
+    public static class Order {
+        
+        /**
+         * Directory where order files are written, one sub-directory per trade date
+         */
+        private String outboundDir = "/data/fund/ta/outbound";
+        
+        /**
+         * Maximum number of partitions written in parallel
+         */
+        private int parallelism = 8;
+        
+        /**
+         * Record layout of order files
+         */
+        private TaOrderFileWriter.RecordFormat format = TaOrderFileWriter.RecordFormat.DELIMITED;
+        
+        /**
+         * Write buffer size in bytes per partition
+         */
+        private int writeBufferSize = 1024 * 1024;
+    }
+}
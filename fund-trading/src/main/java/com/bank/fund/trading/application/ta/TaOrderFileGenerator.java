@@ -0,0 +1,173 @@
+package com.bank.fund.trading.application.ta;
+
+import com.bank.fund.common.calendar.TradingCalendar;
+import com.bank.fund.common.concurrent.Workload;
+import com.bank.fund.common.exception.BusinessException;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.utils.DateTimeUtils;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the end-of-day TA order files
+ * Settled subscriptions of the trade date are partitioned by product, and each partition is
+ * streamed from a database cursor into its own file by a parallel worker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaOrderFileGenerator {
+
+    private final TaFileProperties properties;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final TradingCalendar tradingCalendar;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records per second achieved by the last run
+     */
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gauge("ta.order.throughput", lastThroughput);
+    }
+
+    /**
+     * Generate order files for today after the daily cut-off, on trading days only
+     */
+    @Scheduled(cron = "${fund.ta.order.cron:0 10 15 * * MON-FRI}")
+    public void generateDailyOrderFiles() {
+        LocalDate today = tradingCalendar.today();
+        if (!tradingCalendar.isTradingDay(today)) {
+            log.info("Exchange closed on {}, no TA order files generated", today);
+            return;
+        }
+        try {
+            generate(today);
+        } catch (Exception e) {
+            log.error("TA order file generation failed", e);
+        }
+    }
+
+    /**
+     * Generate order files for a trade date
+     * Covers orders requested after the previous trading day's cut-off up to this day's cut-off,
+     * so orders placed over weekends and holidays go into the next trading day's files.
+     * Cut-offs come from the trading calendar per product, including half-day sessions.
+     */
+    public List<TaOrderFileSummary> generate(LocalDate tradeDate) {
+        TaFileProperties.Order config = properties.getOrder();
+        LocalDate previousTradeDate = tradingCalendar.previousTradingDay(tradeDate);
+        // Product cut-offs never pass the session close, so this window covers every product's window
+        LocalDateTime from = previousTradeDate.atStartOfDay();
+        LocalDateTime to = tradeDate.atTime(tradingCalendar.getCutoff(null, tradeDate));
+
+        List<String> productCodes = transactionRepository.findProductsWithSettledTransactions(from, to);
+        if (productCodes.isEmpty()) {
+            log.info("No settled subscriptions for trade date {}, no order files generated", tradeDate);
+            return new ArrayList<>();
+        }
+
+        String dateText = DateTimeUtils.formatDate(tradeDate);
+        Path outputDir = Paths.get(config.getOutboundDir(), dateText);
+        int workers = Math.max(1, Math.min(config.getParallelism(), productCodes.size()));
+        log.info("Generating TA order files for trade date {}: {} partitions, {} workers, after {} cut-off",
+                 tradeDate, productCodes.size(), workers, previousTradeDate);
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, namedThreadFactory());
+        try {
+            List<Future<TaOrderFileSummary>> futures = new ArrayList<>(productCodes.size());
+            for (String productCode : productCodes) {
+                Path file = outputDir.resolve("ORDER_" + productCode + "_" + dateText + ".txt");
+                LocalDateTime productFrom =
+                    previousTradeDate.atTime(tradingCalendar.getCutoff(productCode, previousTradeDate));
+                LocalDateTime productTo = tradeDate.atTime(tradingCalendar.getCutoff(productCode, tradeDate));
+                futures.add(executor.submit(() -> writePartition(productCode, file, productFrom, productTo)));
+            }
+
+            List<TaOrderFileSummary> summaries = new ArrayList<>(futures.size());
+            for (Future<TaOrderFileSummary> future : futures) {
+                summaries.add(future.get());
+            }
+
+            long duration = Math.max(1L, System.currentTimeMillis() - startTime);
+            long totalRecords = summaries.stream().mapToLong(TaOrderFileSummary::getRecordCount).sum();
+            lastThroughput.set(totalRecords * 1000L / duration);
+            meterRegistry.timer("ta.order.generation.duration").record(duration, TimeUnit.MILLISECONDS);
+            log.info("TA order files generated for trade date {}: {} files, {} records, {} ms, {} records/s",
+                     tradeDate, summaries.size(), totalRecords, duration, lastThroughput.get());
+            return summaries;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "TA order file generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR,
+                "TA order file generation failed for trade date " + tradeDate, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Stream one product's settled transactions into its order file
+     */
+    private TaOrderFileSummary writePartition(String productCode, Path file,
+                                              LocalDateTime from, LocalDateTime to) throws IOException {
+        long startTime = System.currentTimeMillis();
+        TaFileProperties.Order config = properties.getOrder();
+
+        try (TaOrderFileWriter writer =
+                 new TaOrderFileWriter(file, config.getFormat(), config.getWriteBufferSize())) {
+            transactionRepository.streamSettledTransactions(productCode, from, to, transaction -> {
+                try {
+                    writer.write(transaction);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            TaOrderFileSummary summary = writer.complete();
+
+            long duration = System.currentTimeMillis() - startTime;
+            meterRegistry.counter("ta.order.records").increment(summary.getRecordCount());
+            meterRegistry.timer("ta.order.partition.duration").record(duration, TimeUnit.MILLISECONDS);
+            log.info("TA order file written: {}, records={}, bytes={}, crc32={}, {} ms",
+                     file.getFileName(), summary.getRecordCount(), summary.getByteCount(),
+                     summary.getChecksum(), duration);
+            return summary;
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(Workload.REPORTING.wrap(runnable), "ta-order-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
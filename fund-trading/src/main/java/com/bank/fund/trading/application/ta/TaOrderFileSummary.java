@@ -0,0 +1,16 @@
+package com.bank.fund.trading.application.ta;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of a generated TA order file
+ */
+@Value
+public class TaOrderFileSummary {
+    Path file;
+    long recordCount;
+    long byteCount;
+    String checksum;
+}
@@ -0,0 +1,173 @@
+package com.bank.fund.trading.application.ta;
+
+import com.bank.fund.common.utils.DateTimeUtils;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writer for one TA order file
+ * Records are encoded into a direct buffer that is flushed through a FileChannel when full.
+ * The file is written under a temporary name and renamed on completion, then a check file
+ * with record count, byte count and CRC32 is written next to it.
+ */
+public class TaOrderFileWriter implements Closeable {
+
+    private static final byte FIELD_SEPARATOR = '|';
+    private static final byte LINE_FEED = '\n';
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHECK_SUFFIX = ".chk";
+
+    /**
+     * Field widths used by the fixed-width format, in record order
+     */
+    private static final int[] FIXED_WIDTHS = {32, 20, 32, 12, 18, 3, 18, 10, 14};
+
+    /**
+     * Fields right-justified and zero-padded in the fixed-width format, in record order
+     */
+    private static final boolean[] NUMERIC_FIELDS = {false, false, false, false, true, false, true, false, false};
+
+    private final Path target;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final RecordFormat format;
+    private final CRC32 checksum = new CRC32();
+    private long recordCount;
+    private long byteCount;
+    private boolean completed;
+
+    public TaOrderFileWriter(Path target, RecordFormat format, int bufferSize) throws IOException {
+        this.target = target;
+        this.tempFile = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        Files.createDirectories(target.getParent());
+        this.channel = FileChannel.open(tempFile,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Append one order record
+     *
+     * @throws IllegalArgumentException when a value does not fit its field; the file is then discarded
+     */
+    public void write(SubscriptionTransaction transaction) throws IOException {
+        writeField(0, transaction.getId());
+        writeField(1, transaction.getCustomerId());
+        writeField(2, transaction.getAccountNumber());
+        writeField(3, transaction.getProductCode());
+        writeField(4, transaction.getSubscriptionAmount().getAmount().toPlainString());
+        writeField(5, transaction.getSubscriptionAmount().getCurrencyCode());
+        writeField(6, transaction.getFinalFee().getAmount().toPlainString());
+        writeField(7, transaction.getChannel());
+        writeField(8, transaction.getRequestTime() != null ?
+            DateTimeUtils.formatDateTime(transaction.getRequestTime()) : "");
+        put(LINE_FEED);
+        recordCount++;
+    }
+
+    /**
+     * Flush remaining records, publish the file under its final name and write the check file
+     */
+    public TaOrderFileSummary complete() throws IOException {
+        flush();
+        channel.force(true);
+        channel.close();
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        String checksumHex = String.format("%08x", checksum.getValue());
+        String check = String.format("%s|%d|%d|%s%n", target.getFileName(), recordCount, byteCount, checksumHex);
+        Files.write(target.resolveSibling(target.getFileName() + CHECK_SUFFIX),
+            check.getBytes(StandardCharsets.US_ASCII));
+        completed = true;
+
+        return new TaOrderFileSummary(target, recordCount, byteCount, checksumHex);
+    }
+
+    /**
+     * Close the channel; an incomplete file is discarded
+     */
+    @Override
+    public void close() throws IOException {
+        if (completed) {
+            return;
+        }
+        channel.close();
+        Files.deleteIfExists(tempFile);
+    }
+
+    private void writeField(int index, String value) throws IOException {
+        String text = value != null ? value : "";
+        if (format == RecordFormat.FIXED_WIDTH) {
+            int width = FIXED_WIDTHS[index];
+            if (text.length() > width) {
+                throw new IllegalArgumentException(String.format(
+                    "Field %d value '%s' is %d characters, wider than %d, in record %d of %s",
+                    index, text, text.length(), width, recordCount + 1, target.getFileName()));
+            }
+            if (NUMERIC_FIELDS[index]) {
+                for (int i = text.length(); i < width; i++) {
+                    put((byte) '0');
+                }
+                putAscii(text, text.length());
+            } else {
+                putAscii(text, text.length());
+                for (int i = text.length(); i < width; i++) {
+                    put((byte) ' ');
+                }
+            }
+        } else {
+            if (text.indexOf(FIELD_SEPARATOR) >= 0 || text.indexOf(LINE_FEED) >= 0) {
+                throw new IllegalArgumentException(String.format(
+                    "Field %d value contains a separator or line feed, in record %d of %s",
+                    index, recordCount + 1, target.getFileName()));
+            }
+            if (index > 0) {
+                put(FIELD_SEPARATOR);
+            }
+            putAscii(text, text.length());
+        }
+    }
+
+    private void putAscii(String text, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            put(c < 0x80 ? (byte) c : (byte) '?');
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            byteCount += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Supported record layouts
+     */
+    public enum RecordFormat {
+        DELIMITED,
+        FIXED_WIDTH
+    }
+}
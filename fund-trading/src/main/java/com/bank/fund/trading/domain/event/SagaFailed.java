@@ -0,0 +1,22 @@
+package com.bank.fund.trading.domain.event;
+
+import com.bank.fund.common.domain.DomainEvent;
+import com.bank.fund.trading.domain.model.SagaState;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A subscription saga failed
+ * The serial number and saga state are null when it failed before the transaction was created.
+ */
+@Value
+@Builder
+public class SagaFailed implements DomainEvent {
+    String transactionSerialNumber;
+    String customerId;
+    String productCode;
+    String channel;
+    SagaState sagaState;
+    String errorCode;
+    long durationMillis;
+}
@@ -0,0 +1,22 @@
+package com.bank.fund.trading.domain.event;
+
+import com.bank.fund.common.domain.DomainEvent;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * A subscription saga completed and its transaction was committed
+ */
+@Value
+@Builder
+public class SubscriptionCompleted implements DomainEvent {
+    String transactionSerialNumber;
+    String customerId;
+    String productCode;
+    String channel;
+    BigDecimal subscriptionAmount;
+    BigDecimal finalFee;
+    long durationMillis;
+}
@@ -0,0 +1,71 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Customer holding read model
+ * What a customer holds in one product: TA-confirmed shares plus subscriptions completed
+ * but not yet confirmed. Maintained incrementally, never the source of truth for shares.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CustomerHolding implements ValueObject {
+    
+    String customerId;
+    
+    String productCode;
+    
+    /**
+     * Shares confirmed by TA
+     */
+    BigDecimal confirmedShares;
+    
+    /**
+     * Sum of order amounts of completed subscriptions awaiting TA confirmation
+     */
+    BigDecimal pendingAmount;
+    
+    /**
+     * Number of completed subscriptions awaiting TA confirmation
+     */
+    int pendingOrders;
+    
+    /**
+     * Whether the customer ever completed a subscription of the product
+     */
+    boolean subscribed;
+    
+    LocalDateTime updatedAt;
+    
+    /**
+     * Holding of a customer who never subscribed to the product
+     */
+    public static CustomerHolding empty(String customerId, String productCode) {
+        return CustomerHolding.builder()
+            .customerId(customerId)
+            .productCode(productCode)
+            .confirmedShares(BigDecimal.ZERO)
+            .pendingAmount(BigDecimal.ZERO)
+            .pendingOrders(0)
+            .subscribed(false)
+            .build();
+    }
+    
+    /**
+     * Holding after applying the delta
+     */
+    public CustomerHolding apply(HoldingDelta delta) {
+        return toBuilder()
+            .confirmedShares(confirmedShares.add(delta.getShareDelta()))
+            .pendingAmount(pendingAmount.add(delta.getPendingAmountDelta()))
+            .pendingOrders(pendingOrders + delta.getPendingOrderDelta())
+            .subscribed(subscribed || delta.isSubscribed())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Holding delta value object
+ * Change to one customer holding caused by a saga transition or TA confirmation
+ */
+@Value
+public class HoldingDelta implements ValueObject {
+    String customerId;
+    String productCode;
+    BigDecimal shareDelta;
+    BigDecimal pendingAmountDelta;
+    int pendingOrderDelta;
+    boolean subscribed;
+    
+    /**
+     * Delta of a subscription that completed and now waits for TA confirmation
+     */
+    public static HoldingDelta completed(SubscriptionTransaction transaction) {
+        return new HoldingDelta(
+            transaction.getCustomerId(),
+            transaction.getProductCode(),
+            BigDecimal.ZERO,
+            transaction.getSubscriptionAmount().getAmount(),
+            1,
+            true
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency record entity
+ * Claims a channel idempotency key for one subscription and keeps its response for retries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord implements Entity<String> {
+    
+    /**
+     * Channel and idempotency key (unique identifier)
+     */
+    private String id;
+    
+    /**
+     * Fingerprint of the request first submitted with the key
+     */
+    private String requestFingerprint;
+    
+    /**
+     * Processing status
+     */
+    private IdempotencyStatus status;
+    
+    /**
+     * Serial number the claimant runs the subscription under, recorded with the claim
+     */
+    private String transactionSerialNumber;
+    
+    /**
+     * Time after which an unfinished claim is reconciled against the subscription it started
+     */
+    private LocalDateTime leaseExpiresAt;
+    
+    /**
+     * Serialized response returned to the first request
+     */
+    private String responseBody;
+    
+    /**
+     * Creation time
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * Last update time
+     */
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Claim a key for a new request
+     */
+    public static IdempotencyRecord start(String idempotencyKey, String requestFingerprint,
+                                          String transactionSerialNumber, LocalDateTime leaseExpiresAt) {
+        return IdempotencyRecord.builder()
+            .id(idempotencyKey)
+            .requestFingerprint(requestFingerprint)
+            .status(IdempotencyStatus.IN_PROGRESS)
+            .transactionSerialNumber(transactionSerialNumber)
+            .leaseExpiresAt(leaseExpiresAt)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    /**
+     * Take over an expired claim whose subscription never started, under a new serial number
+     */
+    public void reclaim(String transactionSerialNumber, LocalDateTime leaseExpiresAt) {
+        this.transactionSerialNumber = transactionSerialNumber;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Store the response of the finished saga
+     */
+    public void complete(String responseBody) {
+        this.responseBody = responseBody;
+        this.status = IdempotencyStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isCompleted() {
+        return status == IdempotencyStatus.COMPLETED;
+    }
+    
+    public boolean isLeaseExpired(LocalDateTime now) {
+        return !isCompleted() && leaseExpiresAt != null && now.isAfter(leaseExpiresAt);
+    }
+}
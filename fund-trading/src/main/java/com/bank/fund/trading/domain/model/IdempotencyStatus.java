@@ -0,0 +1,16 @@
+package com.bank.fund.trading.domain.model;
+
+/**
+ * Processing status of an idempotency key
+ */
+public enum IdempotencyStatus {
+    /**
+     * First request accepted, saga running
+     */
+    IN_PROGRESS,
+    
+    /**
+     * Saga finished, response stored for replay
+     */
+    COMPLETED
+}
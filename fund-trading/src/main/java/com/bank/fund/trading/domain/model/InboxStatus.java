@@ -0,0 +1,26 @@
+package com.bank.fund.trading.domain.model;
+
+/**
+ * Processing status of an accepted subscription in the inbox
+ */
+public enum InboxStatus {
+    /**
+     * Accepted and waiting for a saga worker
+     */
+    PENDING,
+    
+    /**
+     * Claimed by a saga worker
+     */
+    PROCESSING,
+    
+    /**
+     * Saga finished successfully
+     */
+    COMPLETED,
+    
+    /**
+     * Saga finished with a failure
+     */
+    FAILED
+}
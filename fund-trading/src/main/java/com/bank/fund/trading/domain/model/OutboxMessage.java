@@ -0,0 +1,44 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event for downstream systems, written in the same transaction as the change it describes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage implements Entity<Long> {
+    
+    /**
+     * Message ID assigned on insert; downstream systems deduplicate on it
+     */
+    private Long id;
+    
+    /**
+     * Transaction serial number the event is about
+     */
+    private String aggregateId;
+    
+    /**
+     * Event type, the simple name of the domain event
+     */
+    private String eventType;
+    
+    /**
+     * Serialized event
+     */
+    private String payload;
+    
+    /**
+     * Creation time
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,69 @@
+package com.bank.fund.trading.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One record of the saga journal
+ * A STEP record carries everything compensation needs as of that step, so the latest record
+ * of a saga is enough to undo it. A CLOSED record marks a saga whose outcome the database owns.
+ */
+@Value
+@Builder
+public class SagaJournalEntry {
+    
+    public enum Type {
+        STEP,
+        CLOSED
+    }
+    
+    Type type;
+    String serialNumber;
+    SagaState sagaState;
+    String customerId;
+    String couponId;
+    String marketingUsageId;
+    String coreBankingTxnId;
+    String freezeId;
+    long timestampMillis;
+    
+    /**
+     * Step record of the transaction's current saga state and remote references
+     */
+    public static SagaJournalEntry step(SubscriptionTransaction transaction) {
+        return SagaJournalEntry.builder()
+            .type(Type.STEP)
+            .serialNumber(transaction.getId())
+            .sagaState(transaction.getSagaState())
+            .customerId(transaction.getCustomerId())
+            .couponId(transaction.getCouponId())
+            .marketingUsageId(transaction.getMarketingUsageId())
+            .coreBankingTxnId(transaction.getCoreBankingTxnId())
+            .freezeId(transaction.getFreezeId())
+            .timestampMillis(System.currentTimeMillis())
+            .build();
+    }
+    
+    public static SagaJournalEntry closed(String serialNumber) {
+        return SagaJournalEntry.builder()
+            .type(Type.CLOSED)
+            .serialNumber(serialNumber)
+            .timestampMillis(System.currentTimeMillis())
+            .build();
+    }
+    
+    /**
+     * Transaction holding what compensation needs for this step
+     */
+    public SubscriptionTransaction toTransaction() {
+        return SubscriptionTransaction.builder()
+            .id(serialNumber)
+            .sagaState(sagaState)
+            .customerId(customerId)
+            .couponId(couponId)
+            .marketingUsageId(marketingUsageId)
+            .coreBankingTxnId(coreBankingTxnId)
+            .freezeId(freezeId)
+            .build();
+    }
+}
@@ -14,6 +14,12 @@ public enum SagaState {
      */
     REQUEST_SAVED,
     
+    /**
+     * Coupon use and accounting issued concurrently, outcomes not yet recorded
+     * (either remote side effect may exist; if interrupted, recovery compensates both legs from the saga journal)
+     */
+    LEGS_IN_FLIGHT,
+    
     /**
      * Coupon has been used (needs compensation if failed)
      */
@@ -39,6 +45,21 @@ public enum SagaState {
      */
     COMPLETED,
     
+    /**
+     * Frozen funds being debited by settlement at trading open
+     */
+    SETTLING,
+    
+    /**
+     * Frozen funds debited, freeze fully settled
+     */
+    SETTLED,
+    
+    /**
+     * Debit of frozen funds failed too often, left frozen for manual handling
+     */
+    SETTLEMENT_FAILED,
+    
     /**
      * Compensation in progress
      */
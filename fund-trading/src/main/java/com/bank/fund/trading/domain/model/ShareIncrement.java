@@ -0,0 +1,24 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Share increment value object
+ * Aggregated share change for one customer and product
+ */
+@Value
+public class ShareIncrement implements ValueObject {
+    String customerId;
+    String productCode;
+    BigDecimal shareDelta;
+    
+    /**
+     * Add more shares to this increment
+     */
+    public ShareIncrement plus(BigDecimal shares) {
+        return new ShareIncrement(customerId, productCode, shareDelta.add(shares));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Share movement value object
+ * One append-only change to a customer's shares in a product. Balances are the
+ * SHARE_RECORD snapshot plus the movements after the snapshot's last movement ID.
+ */
+@Value
+@Builder
+public class ShareMovement implements ValueObject {
+    
+    String customerId;
+    
+    String productCode;
+    
+    ShareMovementType type;
+    
+    /**
+     * Change of total shares
+     */
+    BigDecimal shareDelta;
+    
+    /**
+     * Change of available shares
+     */
+    BigDecimal availableDelta;
+    
+    /**
+     * Change of frozen shares
+     */
+    BigDecimal frozenDelta;
+    
+    /**
+     * Transaction serial number causing the movement
+     */
+    String reference;
+    
+    LocalDateTime createdAt;
+    
+    /**
+     * Movement of shares confirmed by TA for a subscription
+     */
+    public static ShareMovement confirmation(TaConfirmation confirmation) {
+        return ShareMovement.builder()
+            .customerId(confirmation.getCustomerId())
+            .productCode(confirmation.getProductCode())
+            .type(ShareMovementType.TA_CONFIRMATION)
+            .shareDelta(confirmation.getConfirmedShares())
+            .availableDelta(confirmation.getConfirmedShares())
+            .frozenDelta(BigDecimal.ZERO)
+            .reference(confirmation.getTransactionSerialNumber())
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the movements of one customer and product not yet folded into its snapshot
+ */
+@Value
+public class ShareMovementTail implements ValueObject {
+    
+    public static final ShareMovementTail EMPTY =
+        new ShareMovementTail(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    
+    int movements;
+    BigDecimal shareDelta;
+    BigDecimal availableDelta;
+    BigDecimal frozenDelta;
+}
@@ -0,0 +1,26 @@
+package com.bank.fund.trading.domain.model;
+
+/**
+ * Share movement type enumeration
+ */
+public enum ShareMovementType {
+    /**
+     * Shares confirmed by TA, added to total and available shares
+     */
+    TA_CONFIRMATION,
+    
+    /**
+     * Available shares frozen
+     */
+    FREEZE,
+    
+    /**
+     * Frozen shares made available again
+     */
+    UNFREEZE,
+    
+    /**
+     * Frozen shares redeemed, removed from total and frozen shares
+     */
+    REDEMPTION
+}
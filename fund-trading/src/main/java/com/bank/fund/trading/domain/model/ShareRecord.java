@@ -54,6 +54,11 @@ public class ShareRecord implements Entity<String> {
      */
     private String status;
     
+    /**
+     * Last compaction pass that folded share movements into the amounts above, 0 when none
+     */
+    private Long lastCompactionId;
+    
     /**
      * Creation time
      */
@@ -75,9 +80,30 @@ public class ShareRecord implements Entity<String> {
             .availableAmount(BigDecimal.ZERO)
             .frozenAmount(BigDecimal.ZERO)
             .status("ACTIVE")
+            .lastCompactionId(0L)
             .createdAt(LocalDateTime.now())
             .updatedAt(LocalDateTime.now())
             .build();
     }
+    
+    /**
+     * Balance of this snapshot after the movements that followed it
+     */
+    public ShareRecord plus(ShareMovementTail tail) {
+        if (tail.getMovements() == 0) {
+            return this;
+        }
+        return ShareRecord.builder()
+            .id(id)
+            .customerId(customerId)
+            .productCode(productCode)
+            .shareAmount(shareAmount.add(tail.getShareDelta()))
+            .availableAmount(availableAmount.add(tail.getAvailableDelta()))
+            .frozenAmount(frozenAmount.add(tail.getFrozenDelta()))
+            .status(status)
+            .lastCompactionId(lastCompactionId)
+            .createdAt(createdAt)
+            .updatedAt(updatedAt)
+            .build();
+    }
 }
-
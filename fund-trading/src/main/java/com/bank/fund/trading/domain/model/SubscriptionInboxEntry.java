@@ -0,0 +1,95 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subscription accepted for asynchronous processing
+ * Holds the original request until a saga worker runs it under the serial number already
+ * returned to the channel, then keeps the saga's response for status queries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionInboxEntry implements Entity<String> {
+    
+    /**
+     * Transaction serial number assigned on acceptance (unique identifier)
+     */
+    private String id;
+    
+    /**
+     * Channel
+     */
+    private String channel;
+    
+    /**
+     * Customer ID
+     */
+    private String customerId;
+    
+    /**
+     * Serialized subscription request
+     */
+    private String requestBody;
+    
+    /**
+     * Processing status
+     */
+    private InboxStatus status;
+    
+    /**
+     * Times the entry was claimed by a worker
+     */
+    private int attempts;
+    
+    /**
+     * Serialized saga response once processed
+     */
+    private String responseBody;
+    
+    /**
+     * Acceptance time
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * Last update time
+     */
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Accept a request for processing
+     */
+    public static SubscriptionInboxEntry accept(String serialNumber, String channel, String customerId,
+                                                String requestBody) {
+        return SubscriptionInboxEntry.builder()
+            .id(serialNumber)
+            .channel(channel)
+            .customerId(customerId)
+            .requestBody(requestBody)
+            .status(InboxStatus.PENDING)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    /**
+     * Store the outcome of the saga
+     */
+    public void finish(boolean success, String responseBody) {
+        this.status = success ? InboxStatus.COMPLETED : InboxStatus.FAILED;
+        this.responseBody = responseBody;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isFinished() {
+        return status == InboxStatus.COMPLETED || status == InboxStatus.FAILED;
+    }
+}
@@ -99,6 +99,11 @@ public class SubscriptionTransaction implements AggregateRoot<String> {
      */
     private SagaState sagaState;
     
+    /**
+     * Failed debits of the frozen funds so far
+     */
+    private int settlementAttempts;
+    
     /**
      * Error code (if failed)
      */
@@ -150,6 +155,20 @@ public class SubscriptionTransaction implements AggregateRoot<String> {
         this.status = TransactionStatus.VALIDATED;
     }
     
+    /**
+     * Mark coupon use and accounting as issued concurrently
+     */
+    public void markLegsInFlight() {
+        this.sagaState = SagaState.LEGS_IN_FLIGHT;
+    }
+    
+    /**
+     * Record the outcome of concurrently issued legs, before marking the legs that succeeded
+     */
+    public void markLegsReturned() {
+        this.sagaState = SagaState.REQUEST_SAVED;
+    }
+    
     /**
      * Mark coupon as used
      */
@@ -185,6 +204,30 @@ public class SubscriptionTransaction implements AggregateRoot<String> {
         this.completionTime = LocalDateTime.now();
     }
     
+    /**
+     * Mark frozen funds debited at trading open
+     */
+    public void markSettled(String coreBankingTxnId) {
+        this.coreBankingTxnId = coreBankingTxnId;
+        this.sagaState = SagaState.SETTLED;
+        this.errorCode = null;
+        this.errorMessage = null;
+    }
+    
+    /**
+     * Return a transaction whose debit failed to the settlement backlog,
+     * or give up on it once the attempts are used up
+     *
+     * @return true when the transaction was given up and needs manual handling
+     */
+    public boolean releaseSettlement(String errorCode, String errorMessage, int maxAttempts) {
+        this.settlementAttempts++;
+        this.sagaState = settlementAttempts >= maxAttempts ? SagaState.SETTLEMENT_FAILED : SagaState.COMPLETED;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        return sagaState == SagaState.SETTLEMENT_FAILED;
+    }
+    
     /**
      * Mark transaction as failed
      */
@@ -206,7 +249,7 @@ public class SubscriptionTransaction implements AggregateRoot<String> {
      * Check if need to compensate coupon
      */
     public boolean needCouponCompensation() {
-        return hasCoupon() && 
+        return hasCoupon() && marketingUsageId != null &&
                (sagaState == SagaState.COUPON_USED || 
                 sagaState == SagaState.ACCOUNTING_COMPLETED ||
                 sagaState == SagaState.FREEZE_COMPLETED);
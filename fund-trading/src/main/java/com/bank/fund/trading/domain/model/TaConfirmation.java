@@ -0,0 +1,35 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * TA confirmation value object
+ * One confirmed subscription record from the daily TA confirmation file
+ */
+@Value
+public class TaConfirmation implements ValueObject {
+    
+    /**
+     * Return code used by TA for a confirmed (successful) record
+     */
+    public static final String SUCCESS_CODE = "0000";
+    
+    String transactionSerialNumber;
+    String customerId;
+    String productCode;
+    BigDecimal confirmedAmount;
+    BigDecimal confirmedShares;
+    LocalDate confirmDate;
+    String returnCode;
+    
+    /**
+     * Check if TA confirmed the subscription successfully
+     */
+    public boolean isSuccess() {
+        return SUCCESS_CODE.equals(returnCode);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.fund.trading.domain.model;
+
+import com.bank.fund.common.domain.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * TA file checkpoint entity
+ * Tracks how far a TA file has been loaded so that loading can resume after a restart
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaFileCheckpoint implements Entity<String> {
+    
+    /**
+     * File name (unique identifier)
+     */
+    private String id;
+    
+    /**
+     * Byte offset of the first record not yet applied
+     */
+    private long byteOffset;
+    
+    /**
+     * Number of records applied so far
+     */
+    private long recordCount;
+    
+    /**
+     * Processing status
+     */
+    private TaFileStatus status;
+    
+    /**
+     * Creation time
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * Last update time
+     */
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Start tracking a new file from the beginning
+     */
+    public static TaFileCheckpoint start(String fileName) {
+        return TaFileCheckpoint.builder()
+            .id(fileName)
+            .byteOffset(0L)
+            .recordCount(0L)
+            .status(TaFileStatus.IN_PROGRESS)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    /**
+     * Advance checkpoint past an applied batch
+     */
+    public void advance(long nextByteOffset, int appliedRecords) {
+        this.byteOffset = nextByteOffset;
+        this.recordCount += appliedRecords;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Mark file as completely loaded
+     */
+    public void markCompleted() {
+        this.status = TaFileStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Check if file has been loaded completely
+     */
+    public boolean isCompleted() {
+        return status == TaFileStatus.COMPLETED;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.fund.trading.domain.model;
+
+/**
+ * Processing status of a TA file
+ */
+public enum TaFileStatus {
+    /**
+     * File is being loaded, checkpoint marks the resume position
+     */
+    IN_PROGRESS,
+    
+    /**
+     * File has been loaded completely
+     */
+    COMPLETED
+}
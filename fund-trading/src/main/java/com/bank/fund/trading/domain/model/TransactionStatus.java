@@ -29,6 +29,11 @@ public enum TransactionStatus {
      */
     SUCCESS,
     
+    /**
+     * Shares confirmed by TA
+     */
+    CONFIRMED,
+    
     /**
      * Transaction failed
      */
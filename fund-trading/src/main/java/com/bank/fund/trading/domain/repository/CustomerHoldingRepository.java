@@ -0,0 +1,57 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.CustomerHolding;
+import com.bank.fund.trading.domain.model.HoldingDelta;
+import com.bank.fund.trading.domain.model.ShareIncrement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Repository interface for the customer holdings projection
+ */
+public interface CustomerHoldingRepository {
+    
+    /**
+     * Find the holding by customer and product
+     */
+    Optional<CustomerHolding> find(String customerId, String productCode);
+    
+    /**
+     * Find all holdings of a customer
+     */
+    List<CustomerHolding> findByCustomer(String customerId);
+    
+    /**
+     * Stream customer and product pairs of subscribed holdings
+     * Only holdings updated since the given time are read when it is not null.
+     */
+    void streamSubscribed(LocalDateTime updatedSince, BiConsumer<String, String> consumer);
+    
+    /**
+     * Apply a delta atomically in the caller's transaction, creating the holding if missing
+     */
+    void applyDelta(HoldingDelta delta);
+    
+    /**
+     * Add TA-confirmed shares in bulk, creating holdings if missing
+     */
+    void applyShareIncrements(List<ShareIncrement> increments);
+    
+    /**
+     * Release the pending amount of subscriptions just moved to CONFIRMED
+     * Matches on the serial numbers alone, so pass only those this confirmation moved,
+     * each of them exactly once.
+     */
+    void releasePending(List<String> transactionSerialNumbers);
+    
+    /**
+     * Recompute every holding from SHARE_RECORD, the share movements not yet folded into it
+     * and SUBSCRIPTION_TRANSACTION
+     *
+     * @return number of holdings written
+     */
+    int rebuild();
+}
@@ -0,0 +1,42 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.IdempotencyRecord;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for idempotency records
+ */
+public interface IdempotencyRecordRepository {
+    
+    /**
+     * Insert the record unless its key is already claimed
+     *
+     * @return false when the key already exists
+     */
+    boolean tryInsert(IdempotencyRecord record);
+    
+    /**
+     * Find record by idempotency key
+     */
+    Optional<IdempotencyRecord> findByKey(String idempotencyKey);
+    
+    /**
+     * Move an expired claim to the record's new serial number and lease
+     *
+     * @return false when the claim was completed, renewed or taken over by another request
+     */
+    boolean reclaim(IdempotencyRecord record, String previousSerialNumber);
+    
+    /**
+     * Store the completed response
+     *
+     * @return false when the claim no longer belongs to the record's serial number
+     */
+    boolean complete(IdempotencyRecord record);
+    
+    /**
+     * Free a key still claimed under the record's serial number, so the next request with it runs again
+     */
+    void release(IdempotencyRecord record);
+}
@@ -0,0 +1,43 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the outbox
+ */
+public interface OutboxRepository {
+    
+    /**
+     * Append a message in the caller's transaction
+     */
+    void append(OutboxMessage message);
+    
+    /**
+     * Claim pending messages, and relaying ones whose claim went stale, in ID order
+     * Rows locked by another relay are skipped, so relays on several nodes claim disjoint batches.
+     */
+    List<OutboxMessage> claimPending(int limit, LocalDateTime staleBefore);
+    
+    /**
+     * Mark claimed messages delivered
+     */
+    void markDelivered(List<Long> ids);
+    
+    /**
+     * Return claimed messages to pending after a failed delivery
+     */
+    void release(List<Long> ids);
+    
+    /**
+     * Count messages not yet delivered
+     */
+    long countPending();
+    
+    /**
+     * Delete messages delivered before the given time
+     */
+    int purgeDelivered(LocalDateTime deliveredBefore);
+}
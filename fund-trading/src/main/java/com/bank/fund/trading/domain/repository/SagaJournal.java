@@ -0,0 +1,25 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.SagaJournalEntry;
+
+import java.util.Map;
+
+/**
+ * Append-only journal of saga steps on this node
+ * Records the remote side effects of a saga durably as they happen, independent of the
+ * database transaction the saga runs in, so a saga interrupted by a crash can be undone.
+ */
+public interface SagaJournal {
+    
+    boolean isEnabled();
+    
+    /**
+     * Append a record; it is durable when this returns
+     */
+    void append(SagaJournalEntry entry);
+    
+    /**
+     * Latest step of every saga not yet closed, including those found in the journal on startup
+     */
+    Map<String, SagaJournalEntry> openSagas();
+}
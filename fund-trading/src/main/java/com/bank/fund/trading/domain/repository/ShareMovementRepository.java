@@ -0,0 +1,60 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.ShareMovement;
+import com.bank.fund.trading.domain.model.ShareMovementTail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Repository interface for the append-only share movement journal and its compaction cursor
+ */
+public interface ShareMovementRepository {
+    
+    /**
+     * Append movements in the caller's transaction, IDs are taken from SHARE_MOVEMENT_SEQ
+     */
+    void appendAll(List<ShareMovement> movements);
+    
+    /**
+     * Sum the movements of a customer and product not folded into a snapshot taken at the given compaction pass
+     */
+    ShareMovementTail sumAfter(String customerId, String productCode, long lastCompactionId);
+    
+    /**
+     * Create the compaction cursor at pass 0 if it does not exist
+     */
+    void initCursor(String name);
+    
+    /**
+     * Lock the compaction cursor for the current transaction and return the last compaction pass
+     * Empty when another node holds the cursor, so only one node compacts at a time and passes
+     * commit in number order.
+     */
+    OptionalLong lockCursor(String name);
+    
+    /**
+     * Stamp committed movements not yet compacted with the compaction pass, in any ID order
+     *
+     * @param limit maximum number of movements to fold in one pass
+     * @return number of movements stamped
+     */
+    int markCompacted(long compactionId, int limit);
+    
+    /**
+     * Fold the movements stamped with the compaction pass into SHARE_RECORD
+     *
+     * @return number of share records written
+     */
+    int compact(long compactionId);
+    
+    void advanceCursor(String name, long compactionId);
+    
+    long countUncompacted();
+    
+    /**
+     * Delete folded movements once they are past retention
+     */
+    int purgeCompacted(LocalDateTime createdBefore);
+}
@@ -1,7 +1,9 @@
 package com.bank.fund.trading.domain.repository;
 
+import com.bank.fund.trading.domain.model.ShareIncrement;
 import com.bank.fund.trading.domain.model.ShareRecord;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,5 +25,11 @@ public interface ShareRecordRepository {
      * Update share record
      */
     void update(ShareRecord shareRecord);
+    
+    /**
+     * Apply share increments in bulk
+     * Creates the share record if the customer does not hold the product yet
+     */
+    void applyShareIncrements(List<ShareIncrement> increments);
 }
 
@@ -0,0 +1,44 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.SubscriptionInboxEntry;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the subscription inbox
+ */
+public interface SubscriptionInboxRepository {
+    
+    /**
+     * Durably append an accepted subscription
+     */
+    void save(SubscriptionInboxEntry entry);
+    
+    /**
+     * Find entry by serial number
+     */
+    Optional<SubscriptionInboxEntry> findById(String serialNumber);
+    
+    /**
+     * Claim pending entries, skipping rows locked by other nodes
+     * Claimed entries are moved to PROCESSING; entries left in PROCESSING for more than
+     * staleMinutes by a stopped worker are claimed again.
+     */
+    List<SubscriptionInboxEntry> claimPending(int limit, int staleMinutes);
+    
+    /**
+     * Store the saga outcome
+     */
+    void finish(SubscriptionInboxEntry entry);
+    
+    /**
+     * Return a claimed entry to PENDING without counting it as processed
+     */
+    void release(SubscriptionInboxEntry entry);
+    
+    /**
+     * Count entries not yet processed
+     */
+    long countPending();
+}
@@ -2,8 +2,11 @@ package com.bank.fund.trading.domain.repository;
 
 import com.bank.fund.trading.domain.model.SubscriptionTransaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for SubscriptionTransaction aggregate
@@ -25,11 +28,24 @@ public interface SubscriptionTransactionRepository {
      */
     void update(SubscriptionTransaction transaction);
     
+    /**
+     * Write the saga transition of several transactions in one statement
+     * Only status, saga state, remote references, error and timestamps are written.
+     * Each serial number may appear at most once.
+     */
+    void updateSagaStates(List<SubscriptionTransaction> transactions);
+    
     /**
      * Check if customer has existing subscription for product
      */
     boolean hasExistingSubscription(String customerId, String productCode);
     
+    /**
+     * Stream distinct customer and product pairs with a successful subscription
+     * Only rows updated since the given time are read when it is not null.
+     */
+    void streamSubscribedPairs(LocalDateTime updatedSince, BiConsumer<String, String> consumer);
+    
     /**
      * Find failed transactions that need compensation
      * Returns transactions with status FAILED and saga state indicating compensation needed
@@ -42,5 +58,51 @@ public interface SubscriptionTransactionRepository {
      * Used to detect process crashes during accounting update
      */
     List<SubscriptionTransaction> findStuckTransactionsForRecovery(int minutesThreshold);
+    
+    /**
+     * Move settled transactions to CONFIRMED after TA confirmation
+     * The settled rows are locked before they are updated, so of two loaders confirming the same
+     * serial numbers only one gets them back. Already confirmed and unknown serials are skipped.
+     *
+     * @return serial numbers actually moved to CONFIRMED by this call
+     */
+    List<String> markConfirmed(List<String> transactionSerialNumbers);
+    
+    /**
+     * Find product codes having settled transactions (accounting, freeze or success) in the period
+     */
+    List<String> findProductsWithSettledTransactions(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Stream settled transactions of a product in the period, ordered by serial number
+     * Rows are fetched through a database cursor and handed to the consumer one by one
+     */
+    void streamSettledTransactions(String productCode, LocalDateTime from, LocalDateTime to,
+                                   Consumer<SubscriptionTransaction> consumer);
+    
+    /**
+     * Claim a page of completed transactions whose frozen funds are not yet debited
+     * Only rows last updated before the given time are claimed, so debits released during a run
+     * are not retried by the same run. Claimed rows are moved to SETTLING; rows left in SETTLING
+     * longer than the stale threshold by an interrupted run are claimed again.
+     * A row whose debit failed before waits the backoff, doubled per failed attempt, before it is
+     * claimed again. Rows locked by another node are skipped.
+     */
+    List<SubscriptionTransaction> claimFrozenForSettlement(int limit, LocalDateTime updatedBefore, int staleMinutes,
+                                                           int backoffMinutes);
+    
+    /**
+     * Record the debit of settled transactions (core banking txn ID and saga state only)
+     */
+    void markSettled(List<SubscriptionTransaction> transactions);
+    
+    /**
+     * Record a failed debit: saga state, attempt count and error only
+     */
+    void releaseSettlement(SubscriptionTransaction transaction);
+    
+    /**
+     * Count transactions whose frozen funds are still waiting to be debited
+     */
+    long countPendingFreezeSettlement();
 }
-
@@ -0,0 +1,31 @@
+package com.bank.fund.trading.domain.repository;
+
+import com.bank.fund.trading.domain.model.TaFileCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for TA file checkpoints
+ */
+public interface TaFileCheckpointRepository {
+    
+    /**
+     * Find checkpoint by file name
+     */
+    Optional<TaFileCheckpoint> findByFileName(String fileName);
+    
+    /**
+     * Find checkpoint by file name and lock it until the current transaction ends
+     */
+    Optional<TaFileCheckpoint> lockByFileName(String fileName);
+    
+    /**
+     * Save checkpoint
+     */
+    void save(TaFileCheckpoint checkpoint);
+    
+    /**
+     * Update checkpoint
+     */
+    void update(TaFileCheckpoint checkpoint);
+}
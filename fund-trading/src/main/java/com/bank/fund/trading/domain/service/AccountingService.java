@@ -1,13 +1,14 @@
 package com.bank.fund.trading.domain.service;
 
+import com.bank.fund.common.calendar.TradingCalendar;
 import com.bank.fund.common.exception.ErrorCode;
 import com.bank.fund.common.exception.ExternalSystemException;
 import com.bank.fund.common.integration.CoreBankingService;
 import com.bank.fund.common.integration.dto.*;
 import com.bank.fund.common.money.Money;
-import com.bank.fund.common.utils.DateTimeUtils;
 import com.bank.fund.trading.domain.model.SubscriptionTransaction;
 import com.bank.fund.trading.domain.service.accounting.AccountingStrategy;
+import com.bank.fund.trading.domain.service.accounting.CoreBankHealthTracker;
 import com.bank.fund.trading.domain.service.accounting.DirectAccountingStrategy;
 import com.bank.fund.trading.domain.service.accounting.ExchangeAndAccountingStrategy;
 import com.bank.fund.trading.domain.service.accounting.FreezeStrategy;
@@ -29,6 +30,8 @@ public class AccountingService {
     private final DirectAccountingStrategy directAccountingStrategy;
     private final FreezeStrategy freezeStrategy;
     private final ExchangeAndAccountingStrategy exchangeAndAccountingStrategy;
+    private final TradingCalendar tradingCalendar;
+    private final CoreBankHealthTracker healthTracker;
     
     /**
      * Execute accounting operation based on conditions
@@ -39,30 +42,57 @@ public class AccountingService {
                                                String accountCurrency) {
         log.info("Executing accounting for transaction: {}", transaction.getId());
         
-        AccountingStrategy strategy = selectStrategy(productCurrency, accountCurrency);
+        AccountingStrategy strategy = selectStrategy(transaction.getProductCode(), productCurrency, accountCurrency);
         log.info("Selected strategy: {}", strategy.getClass().getSimpleName());
         
-        return strategy.execute(transaction, coreBankingService);
+        long startTime = System.nanoTime();
+        try {
+            AccountingResult result = strategy.execute(transaction, coreBankingService);
+            healthTracker.record(strategy.getType(), System.nanoTime() - startTime, true);
+            return result;
+        } catch (RuntimeException e) {
+            healthTracker.record(strategy.getType(), System.nanoTime() - startTime, isCoreRejection(e));
+            throw e;
+        }
     }
     
     /**
      * Select appropriate accounting strategy
      */
-    private AccountingStrategy selectStrategy(String productCurrency, String accountCurrency) {
+    private AccountingStrategy selectStrategy(String productCode, String productCurrency, String accountCurrency) {
         // Strategy 1: Currency exchange required
         if (!productCurrency.equals(accountCurrency)) {
             return exchangeAndAccountingStrategy;
         }
         
-        // Strategy 2: Direct accounting during trading hours
-        if (DateTimeUtils.isTradingTime()) {
+        // Strategy 2: Direct accounting during the product's trading session,
+        // unless direct accounting is degraded and the order is diverted to freeze-then-debit
+        if (tradingCalendar.isTradingTime(productCode)) {
+            if (healthTracker.shouldDivertDirectToFreeze()) {
+                log.warn("Direct accounting degraded, diverting product {} order to freeze", productCode);
+                return freezeStrategy;
+            }
             return directAccountingStrategy;
         }
         
-        // Strategy 3: Freeze outside trading hours
+        // Strategy 3: Freeze outside trading hours, on weekends and holidays
         return freezeStrategy;
     }
     
+    /**
+     * Check if the failure is a business rejection answered by core banking
+     * Rejections such as insufficient balance say nothing about core banking health
+     */
+    private boolean isCoreRejection(RuntimeException e) {
+        if (!(e instanceof ExternalSystemException)) {
+            return false;
+        }
+        String errorCode = ((ExternalSystemException) e).getErrorCode();
+        return ErrorCode.ACCOUNTING_FAILED.equals(errorCode) ||
+               ErrorCode.FREEZE_FAILED.equals(errorCode) ||
+               ErrorCode.EXCHANGE_FAILED.equals(errorCode);
+    }
+    
     /**
      * Fallback method for circuit breaker
      */
@@ -6,8 +6,10 @@ import com.bank.fund.common.money.Money;
 import com.bank.fund.customer.domain.model.CustomerAccount;
 import com.bank.fund.customer.domain.service.CustomerValidationService;
 import com.bank.fund.product.domain.model.FundProduct;
+import com.bank.fund.product.domain.model.ProductEligibility;
 import com.bank.fund.product.domain.service.ProductValidationService;
-import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.bank.fund.trading.domain.service.fx.FxRateCache;
+import com.bank.fund.trading.domain.service.holding.SubscriptionIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,7 +29,8 @@ public class SubscriptionValidationService {
     
     private final ProductValidationService productValidationService;
     private final CustomerValidationService customerValidationService;
-    private final SubscriptionTransactionRepository transactionRepository;
+    private final FxRateCache fxRateCache;
+    private final SubscriptionIndex subscriptionIndex;
     
     // Daily quota tracking (in-memory, in production should use Redis or database)
     private final ConcurrentHashMap<String, BigDecimal> dailyQuotaUsage = new ConcurrentHashMap<>();
@@ -55,12 +58,26 @@ public class SubscriptionValidationService {
                  product.getRiskLevel().getLevel());
         
         // 2.3 Amount validation
-        boolean isFirstTime = !transactionRepository.hasExistingSubscription(customerId, productCode);
-        productValidationService.validateSubscriptionAmount(product, amount, isFirstTime);
-        log.info("Amount validation passed: amount={}, firstTime={}", amount, isFirstTime);
+        // Cross-currency orders are checked in product currency at the cached indicative rate,
+        // so orders outside the limits are rejected before any remote call
+        boolean isFirstTime = !subscriptionIndex.hasSubscribed(customerId, productCode);
+        boolean converted = !amount.getCurrencyCode().equals(product.getCurrencyCode());
+        Money productAmount = converted ? fxRateCache.convert(amount, product.getCurrencyCode()) : amount;
+        if (isFirstTime && failsOnlyInitialMinimum(product, productAmount)) {
+            // The index and holdings cache can lag subscriptions made on other nodes
+            isFirstTime = !subscriptionIndex.confirmSubscribed(customerId, productCode);
+        }
+        if (converted) {
+            productValidationService.validateConvertedSubscriptionAmount(product, productAmount, isFirstTime);
+            log.info("Converted amount validation passed: amount={}, converted={}, firstTime={}", 
+                     amount, productAmount, isFirstTime);
+        } else {
+            productValidationService.validateSubscriptionAmount(product, amount, isFirstTime);
+            log.info("Amount validation passed: amount={}, firstTime={}", amount, isFirstTime);
+        }
         
         // Daily TA quota validation
-        validateDailyQuota(product, amount);
+        validateDailyQuota(product, productAmount);
         log.info("Daily quota validation passed for product: {}", productCode);
         
         return ValidationResult.builder()
@@ -70,6 +87,15 @@ public class SubscriptionValidationService {
             .build();
     }
     
+    /**
+     * Check if the amount is below the initial minimum but would pass as an additional subscription
+     */
+    private boolean failsOnlyInitialMinimum(FundProduct product, Money productAmount) {
+        ProductEligibility eligibility = product.eligibility();
+        return eligibility.checkLimits(productAmount, true) == ProductEligibility.AmountCheck.TOO_LOW
+            && eligibility.checkLimits(productAmount, false) != ProductEligibility.AmountCheck.TOO_LOW;
+    }
+    
     /**
      * Validate daily TA quota
      */
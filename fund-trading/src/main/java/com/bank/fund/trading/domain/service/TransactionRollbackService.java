@@ -81,6 +81,32 @@ public class TransactionRollbackService {
         return CompletableFuture.completedFuture(result);
     }
     
+    /**
+     * Compensate a saga that ended while coupon use and accounting were in flight
+     * Neither leg's outcome is known, so every effect either could have had is undone by transaction
+     * serial number: the debit is reversed, the freeze released and the coupon returned. The remote
+     * systems treat a serial number they never applied as already compensated.
+     */
+    @Async
+    public CompletableFuture<CompensationResult> compensateInFlight(SubscriptionTransaction transaction) {
+        log.warn("Compensating in-flight legs for transaction: {}", transaction.getId());
+        
+        CompensationResult result = new CompensationResult();
+        try {
+            result.setAccountingCompensated(compensateAccounting(transaction));
+            result.setFreezeCompensated(compensateFreeze(transaction));
+            result.setCouponCompensated(!transaction.hasCoupon() || compensateCoupon(transaction));
+            result.setSuccess(result.isAccountingCompensated() && result.isFreezeCompensated()
+                && result.isCouponCompensated());
+            log.info("In-flight compensation completed for transaction: {}, result: {}", transaction.getId(), result);
+        } catch (Exception e) {
+            log.error("Unexpected error during in-flight compensation for transaction: {}", transaction.getId(), e);
+            result.setSuccess(false);
+            result.setErrorMessage(e.getMessage());
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+    
     /**
      * Compensate accounting operation (reversal/冲正)
      */
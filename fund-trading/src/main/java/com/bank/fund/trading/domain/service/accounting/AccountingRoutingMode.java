@@ -0,0 +1,21 @@
+package com.bank.fund.trading.domain.service.accounting;
+
+/**
+ * How same-currency orders are routed during trading hours
+ */
+public enum AccountingRoutingMode {
+    /**
+     * Always direct accounting during trading hours
+     */
+    STATIC,
+    
+    /**
+     * Divert to freeze while direct accounting is degraded and freezes are healthy
+     */
+    ADAPTIVE,
+    
+    /**
+     * Always freeze, settled later by the freeze settlement job (manual override)
+     */
+    FORCE_FREEZE
+}
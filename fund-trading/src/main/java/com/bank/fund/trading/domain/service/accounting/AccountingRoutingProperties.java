@@ -0,0 +1,69 @@
+package com.bank.fund.trading.domain.service.accounting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for health-based accounting strategy routing
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.accounting.routing")
+public class AccountingRoutingProperties {
+    
+    /**
+     * Routing mode at startup, can be overridden at runtime
+     */
+    private AccountingRoutingMode mode = AccountingRoutingMode.STATIC;
+    
+    /**
+     * Length of the rolling health window per accounting type, in seconds
+     */
+    private int windowSeconds = 30;
+    
+    /**
+     * Calls required in the window before a type can be judged degraded
+     */
+    private int minCalls = 20;
+    
+    /**
+     * Calls slower than this count as slow, in milliseconds
+     */
+    private long slowCallMillis = 2000;
+    
+    /**
+     * Error rate at or above which direct accounting becomes degraded
+     */
+    private double degradeErrorRate = 0.2;
+    
+    /**
+     * Slow call rate at or above which direct accounting becomes degraded
+     */
+    private double degradeSlowRate = 0.5;
+    
+    /**
+     * Error rate below which degraded direct accounting may recover
+     */
+    private double recoverErrorRate = 0.05;
+    
+    /**
+     * Slow call rate below which degraded direct accounting may recover
+     */
+    private double recoverSlowRate = 0.1;
+    
+    /**
+     * Probe calls required in the window before degraded direct accounting may recover
+     */
+    private int minRecoveryCalls = 5;
+    
+    /**
+     * Fraction of eligible orders still sent direct while degraded, to observe recovery
+     */
+    private double probeRatio = 0.05;
+    
+    /**
+     * Minimum time between routing state changes, in seconds
+     */
+    private int minStateSeconds = 60;
+}
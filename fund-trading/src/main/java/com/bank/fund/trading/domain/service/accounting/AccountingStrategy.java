@@ -14,5 +14,10 @@ public interface AccountingStrategy {
      */
     AccountingService.AccountingResult execute(SubscriptionTransaction transaction, 
                                                 CoreBankingService coreBankingService);
+    
+    /**
+     * Type of accounting operation performed by this strategy
+     */
+    AccountingService.AccountingType getType();
 }
 
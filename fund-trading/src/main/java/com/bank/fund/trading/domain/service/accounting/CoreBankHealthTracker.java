@@ -0,0 +1,224 @@
+package com.bank.fund.trading.domain.service.accounting;
+
+import com.bank.fund.trading.domain.service.AccountingService.AccountingType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks live core banking health per accounting type and decides adaptive routing
+ * Each type keeps a rolling window of one-second buckets with call, error and slow-call counts.
+ * Direct accounting is marked degraded when its error or slow rate crosses the degrade
+ * thresholds while freezes stay healthy, and recovers only when probe calls fall below the
+ * lower recover thresholds. State changes are at least min-state-seconds apart to avoid flapping.
+ */
+@Component
+@Slf4j
+public class CoreBankHealthTracker {
+
+    private final AccountingRoutingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<AccountingType, RollingWindow> windows = new EnumMap<>(AccountingType.class);
+
+    private volatile AccountingRoutingMode mode;
+    private volatile boolean directDegraded;
+    private volatile long lastTransitionMillis;
+
+    public CoreBankHealthTracker(AccountingRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mode = properties.getMode();
+        for (AccountingType type : AccountingType.values()) {
+            RollingWindow window = new RollingWindow(properties.getWindowSeconds());
+            windows.put(type, window);
+            meterRegistry.gauge("accounting.health.error.rate",
+                Tags.of("type", type.name()), window,
+                w -> w.snapshot(System.currentTimeMillis()).getErrorRate());
+            meterRegistry.gauge("accounting.health.slow.rate",
+                Tags.of("type", type.name()), window,
+                w -> w.snapshot(System.currentTimeMillis()).getSlowRate());
+        }
+        meterRegistry.gauge("accounting.routing.degraded", this, tracker -> tracker.directDegraded ? 1 : 0);
+    }
+
+    /**
+     * Record the outcome of one core banking call
+     *
+     * @param success false for timeouts and system errors, true when core banking answered
+     */
+    public void record(AccountingType type, long latencyNanos, boolean success) {
+        boolean slow = latencyNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallMillis());
+        windows.get(type).record(System.currentTimeMillis(), success, slow);
+    }
+
+    /**
+     * Decide whether an order eligible for direct accounting should be frozen instead
+     */
+    public boolean shouldDivertDirectToFreeze() {
+        AccountingRoutingMode current = mode;
+        if (current == AccountingRoutingMode.STATIC) {
+            return false;
+        }
+        boolean divert = current == AccountingRoutingMode.FORCE_FREEZE || evaluate() && !isProbe();
+        if (divert) {
+            meterRegistry.counter("accounting.routing.diverted", "mode", current.name()).increment();
+        }
+        return divert;
+    }
+
+    public AccountingRoutingMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Override the routing mode at runtime
+     */
+    public void setMode(AccountingRoutingMode mode) {
+        log.warn("Accounting routing mode changed from {} to {}", this.mode, mode);
+        this.mode = mode;
+    }
+
+    /**
+     * Current routing state and per-type health, for monitoring
+     */
+    public RoutingStatus status() {
+        long now = System.currentTimeMillis();
+        Map<AccountingType, HealthSnapshot> health = new EnumMap<>(AccountingType.class);
+        windows.forEach((type, window) -> health.put(type, window.snapshot(now)));
+        return RoutingStatus.builder()
+            .mode(mode)
+            .directDegraded(directDegraded)
+            .since(lastTransitionMillis > 0 ? Instant.ofEpochMilli(lastTransitionMillis) : null)
+            .health(health)
+            .build();
+    }
+
+    /**
+     * Apply the hysteresis rules and return whether direct accounting is degraded
+     */
+    private synchronized boolean evaluate() {
+        long now = System.currentTimeMillis();
+        if (now - lastTransitionMillis < TimeUnit.SECONDS.toMillis(properties.getMinStateSeconds())) {
+            return directDegraded;
+        }
+
+        HealthSnapshot direct = windows.get(AccountingType.DIRECT_ACCOUNTING).snapshot(now);
+        HealthSnapshot freeze = windows.get(AccountingType.FREEZE).snapshot(now);
+        boolean freezeHealthy = freeze.getCalls() < properties.getMinCalls() ||
+            freeze.getErrorRate() < properties.getDegradeErrorRate() &&
+            freeze.getSlowRate() < properties.getDegradeSlowRate();
+
+        if (!directDegraded) {
+            boolean degraded = direct.getCalls() >= properties.getMinCalls() &&
+                (direct.getErrorRate() >= properties.getDegradeErrorRate() ||
+                 direct.getSlowRate() >= properties.getDegradeSlowRate());
+            if (degraded && freezeHealthy) {
+                transition(true, now, direct, freeze);
+            }
+        } else {
+            boolean recovered = direct.getCalls() >= properties.getMinRecoveryCalls() &&
+                direct.getErrorRate() < properties.getRecoverErrorRate() &&
+                direct.getSlowRate() < properties.getRecoverSlowRate();
+            if (recovered || !freezeHealthy) {
+                transition(false, now, direct, freeze);
+            }
+        }
+        return directDegraded;
+    }
+
+    private void transition(boolean degraded, long now, HealthSnapshot direct, HealthSnapshot freeze) {
+        directDegraded = degraded;
+        lastTransitionMillis = now;
+        meterRegistry.counter("accounting.routing.transitions", "to", degraded ? "degraded" : "healthy").increment();
+        log.warn("Direct accounting marked {}: direct={}, freeze={}",
+                 degraded ? "DEGRADED, diverting to freeze" : "HEALTHY", direct, freeze);
+    }
+
+    private boolean isProbe() {
+        return ThreadLocalRandom.current().nextDouble() < properties.getProbeRatio();
+    }
+
+    /**
+     * Rolling window of per-second buckets
+     */
+    private static final class RollingWindow {
+        private final long[] bucketSeconds;
+        private final int[] calls;
+        private final int[] errors;
+        private final int[] slowCalls;
+
+        private RollingWindow(int seconds) {
+            int size = Math.max(1, seconds);
+            this.bucketSeconds = new long[size];
+            this.calls = new int[size];
+            this.errors = new int[size];
+            this.slowCalls = new int[size];
+        }
+
+        private synchronized void record(long nowMillis, boolean success, boolean slow) {
+            long second = nowMillis / 1000;
+            int index = (int) (second % bucketSeconds.length);
+            if (bucketSeconds[index] != second) {
+                bucketSeconds[index] = second;
+                calls[index] = 0;
+                errors[index] = 0;
+                slowCalls[index] = 0;
+            }
+            calls[index]++;
+            if (!success) {
+                errors[index]++;
+            }
+            if (slow) {
+                slowCalls[index]++;
+            }
+        }
+
+        private synchronized HealthSnapshot snapshot(long nowMillis) {
+            long oldest = nowMillis / 1000 - bucketSeconds.length + 1;
+            int totalCalls = 0;
+            int totalErrors = 0;
+            int totalSlow = 0;
+            for (int i = 0; i < bucketSeconds.length; i++) {
+                if (bucketSeconds[i] >= oldest) {
+                    totalCalls += calls[i];
+                    totalErrors += errors[i];
+                    totalSlow += slowCalls[i];
+                }
+            }
+            return new HealthSnapshot(totalCalls,
+                totalCalls == 0 ? 0.0 : (double) totalErrors / totalCalls,
+                totalCalls == 0 ? 0.0 : (double) totalSlow / totalCalls);
+        }
+    }
+
+    /**
+     * Health of one accounting type over the rolling window
+     */
+    @Value
+    public static class HealthSnapshot {
+        int calls;
+        double errorRate;
+        double slowRate;
+    }
+
+    /**
+     * Routing state exposed for monitoring
+     */
+    @Value
+    @Builder
+    public static class RoutingStatus {
+        AccountingRoutingMode mode;
+        boolean directDegraded;
+        Instant since;
+        Map<AccountingType, HealthSnapshot> health;
+    }
+}
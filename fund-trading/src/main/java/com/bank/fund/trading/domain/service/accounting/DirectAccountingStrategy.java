@@ -52,5 +52,9 @@ public class DirectAccountingStrategy implements AccountingStrategy {
             .type(AccountingService.AccountingType.DIRECT_ACCOUNTING)
             .build();
     }
+    
+    @Override
+    public AccountingService.AccountingType getType() {
+        return AccountingService.AccountingType.DIRECT_ACCOUNTING;
+    }
 }
-
@@ -60,5 +60,9 @@ public class ExchangeAndAccountingStrategy implements AccountingStrategy {
             .type(AccountingService.AccountingType.EXCHANGE_AND_ACCOUNTING)
             .build();
     }
+    
+    @Override
+    public AccountingService.AccountingType getType() {
+        return AccountingService.AccountingType.EXCHANGE_AND_ACCOUNTING;
+    }
 }
-
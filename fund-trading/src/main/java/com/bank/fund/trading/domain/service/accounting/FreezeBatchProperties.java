@@ -0,0 +1,39 @@
+package com.bank.fund.trading.domain.service.accounting;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for micro-batched freeze submission outside trading hours
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.accounting.freeze-batch")
+public class FreezeBatchProperties {
+    
+    /**
+     * Coalesce concurrent freezes into batch requests instead of one call per order
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Maximum orders per batch freeze request
+     */
+    private int maxBatchSize = 50;
+    
+    /**
+     * Time the first order of a batch waits for more orders to join, in milliseconds
+     */
+    private long lingerMillis = 5;
+    
+    /**
+     * Maximum batch freeze requests in flight at the same time
+     */
+    private int maxInFlightBatches = 4;
+    
+    /**
+     * Time an order waits for its batch result before failing, in milliseconds
+     */
+    private long timeoutMillis = 5000;
+}
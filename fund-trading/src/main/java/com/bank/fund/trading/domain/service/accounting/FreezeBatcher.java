@@ -0,0 +1,274 @@
+package com.bank.fund.trading.domain.service.accounting;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ExternalSystemException;
+import com.bank.fund.common.integration.CoreBankingService;
+import com.bank.fund.common.integration.dto.AccountingResponse;
+import com.bank.fund.common.integration.dto.FreezeRequest;
+import com.bank.fund.common.integration.dto.FreezeResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces freezes arriving within a short linger window into batch freeze requests
+ * A dispatcher thread collects queued orders until the batch is full or the linger time of
+ * its first order has passed, then sends the batch on a bounded pool. Each waiting saga
+ * receives its own item of the batch response.
+ * A saga that gave up waiting never learns the freeze ID of its order, so nothing would
+ * compensate a freeze placed for it; such freezes are released here right away.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FreezeBatcher {
+
+    /**
+     * Unfreeze calls tried for a freeze whose saga stopped waiting before it is left to operators
+     */
+    private static final int ABANDONED_UNFREEZE_ATTEMPTS = 3;
+
+    private final CoreBankingService coreBankingService;
+    private final FreezeBatchProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingFreeze> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread dispatcher;
+    private ExecutorService batchExecutor;
+    private Semaphore inFlightBatches;
+    private DistributionSummary batchSize;
+    private Timer batchLatency;
+    private Timer lingerTime;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        batchSize = meterRegistry.summary("freeze.batch.size");
+        batchLatency = meterRegistry.timer("freeze.batch.latency");
+        lingerTime = meterRegistry.timer("freeze.batch.linger");
+        meterRegistry.gauge("freeze.batch.queue.size", queue, BlockingQueue::size);
+        meterRegistry.gauge("freeze.batch.max.size", properties, FreezeBatchProperties::getMaxBatchSize);
+        meterRegistry.gauge("freeze.batch.linger.millis", properties, FreezeBatchProperties::getLingerMillis);
+
+        int maxInFlight = Math.max(1, properties.getMaxInFlightBatches());
+        inFlightBatches = new Semaphore(maxInFlight);
+        AtomicInteger counter = new AtomicInteger();
+        batchExecutor = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "freeze-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "freeze-batch-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Freeze batching enabled: maxBatchSize={}, lingerMillis={}, maxInFlightBatches={}",
+                 properties.getMaxBatchSize(), properties.getLingerMillis(), maxInFlight);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+        PendingFreeze pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new ExternalSystemException(
+                ErrorCode.FREEZE_FAILED, "Freeze batching stopped before order was submitted"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Freeze funds through the next batch and wait for this order's result
+     * An order that times out while still queued is dropped from its batch, so no freeze is placed for it;
+     * one already sent is unfrozen when its freeze succeeds. The wait is cut short to what is left of
+     * the request deadline.
+     */
+    public FreezeResponse freeze(FreezeRequest request) {
+        PendingFreeze pending = new PendingFreeze(request, System.nanoTime());
+        queue.add(pending);
+        try {
+            return pending.future.get(Deadline.timeoutMillis(properties.getTimeoutMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            pending.future.cancel(false);
+            throw new ExternalSystemException(
+                ErrorCode.EXTERNAL_SYSTEM_TIMEOUT,
+                "Batch freeze timed out for transaction " + request.getTransactionSerialNumber(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.cancel(false);
+            throw new ExternalSystemException(
+                ErrorCode.FREEZE_FAILED,
+                "Interrupted waiting for batch freeze of transaction " + request.getTransactionSerialNumber(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExternalSystemException(ErrorCode.FREEZE_FAILED, "Batch freeze failed", e.getCause());
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingFreeze first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingFreeze> batch = collectBatch(first);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                inFlightBatches.acquire();
+                try {
+                    batchExecutor.execute(() -> {
+                        try {
+                            submitBatch(batch);
+                        } finally {
+                            inFlightBatches.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlightBatches.release();
+                    failAll(batch, e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Collect orders until the batch is full or the first order's linger time has passed
+     */
+    private List<PendingFreeze> collectBatch(PendingFreeze first) throws InterruptedException {
+        List<PendingFreeze> batch = new ArrayList<>(properties.getMaxBatchSize());
+        batch.add(first);
+        long deadline = first.enqueuedAt + TimeUnit.MILLISECONDS.toNanos(properties.getLingerMillis());
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            PendingFreeze next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        lingerTime.record(System.nanoTime() - first.enqueuedAt, TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void submitBatch(List<PendingFreeze> batch) {
+        // Orders whose caller gave up while queued or waiting for a batch slot are not frozen
+        batch.removeIf(pending -> pending.future.isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<FreezeRequest> requests = batch.stream()
+            .map(pending -> pending.request)
+            .collect(Collectors.toList());
+        batchSize.record(requests.size());
+
+        long startTime = System.nanoTime();
+        List<FreezeResponse> responses;
+        try {
+            responses = coreBankingService.batchFreeze(requests);
+        } catch (RuntimeException e) {
+            log.error("Batch freeze of {} orders failed", requests.size(), e);
+            failAll(batch, e);
+            return;
+        } finally {
+            batchLatency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            FreezeResponse response = responses != null && i < responses.size() ? responses.get(i) : null;
+            if (response == null) {
+                response = FreezeResponse.builder()
+                    .success(false)
+                    .errorCode(ErrorCode.EXTERNAL_SYSTEM_ERROR)
+                    .errorMessage("No item for this order in batch freeze response")
+                    .build();
+            }
+            PendingFreeze pending = batch.get(i);
+            if (!pending.future.complete(response) && response.isSuccess()) {
+                releaseAbandoned(pending.request, response.getFreezeId());
+            }
+        }
+    }
+
+    /**
+     * Unfreeze funds frozen for an order whose caller stopped waiting before the batch answered
+     */
+    private void releaseAbandoned(FreezeRequest request, String freezeId) {
+        meterRegistry.counter("freeze.batch.abandoned").increment();
+        for (int attempt = 1; attempt <= ABANDONED_UNFREEZE_ATTEMPTS; attempt++) {
+            try {
+                AccountingResponse response = coreBankingService.unfreeze(freezeId, request.getTransactionSerialNumber());
+                if (response != null && response.isSuccess()) {
+                    log.warn("Released freeze {} of transaction {}, its saga had stopped waiting",
+                             freezeId, request.getTransactionSerialNumber());
+                    return;
+                }
+                log.warn("Unfreeze of abandoned freeze {} failed (attempt {}): {}", freezeId, attempt,
+                         response != null ? response.getErrorMessage() : "empty response");
+            } catch (RuntimeException e) {
+                log.warn("Unfreeze of abandoned freeze {} failed (attempt {}): {}", freezeId, attempt, e.getMessage());
+            }
+        }
+        meterRegistry.counter("freeze.batch.abandoned.unreleased").increment();
+        log.error("Freeze {} of transaction {}, account {}, amount {} {} could not be released. "
+                  + "Manual unfreeze required.", freezeId, request.getTransactionSerialNumber(),
+                  request.getAccountNumber(), request.getAmount(), request.getCurrencyCode());
+    }
+
+    private void failAll(List<PendingFreeze> batch, Exception e) {
+        batch.forEach(pending -> pending.future.completeExceptionally(e));
+    }
+
+    /**
+     * Order waiting for its batch
+     */
+    private static final class PendingFreeze {
+        private final FreezeRequest request;
+        private final long enqueuedAt;
+        private final CompletableFuture<FreezeResponse> future = new CompletableFuture<>();
+
+        private PendingFreeze(FreezeRequest request, long enqueuedAt) {
+            this.request = request;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
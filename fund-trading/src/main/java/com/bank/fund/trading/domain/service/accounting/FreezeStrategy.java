@@ -7,16 +7,21 @@ import com.bank.fund.common.integration.dto.FreezeRequest;
 import com.bank.fund.common.integration.dto.FreezeResponse;
 import com.bank.fund.trading.domain.model.SubscriptionTransaction;
 import com.bank.fund.trading.domain.service.AccountingService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /**
  * Freeze strategy - used outside trading hours
+ * With freeze batching enabled, concurrent orders share batch freeze requests
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class FreezeStrategy implements AccountingStrategy {
     
+    private final FreezeBatcher freezeBatcher;
+    
     @Override
     public AccountingService.AccountingResult execute(SubscriptionTransaction transaction,
                                                        CoreBankingService coreBankingService) {
@@ -33,7 +38,8 @@ public class FreezeStrategy implements AccountingStrategy {
             .description("Fund subscription freeze - " + transaction.getProductCode())
             .build();
         
-        FreezeResponse response = coreBankingService.freeze(request);
+        FreezeResponse response = freezeBatcher.isEnabled() ?
+            freezeBatcher.freeze(request) : coreBankingService.freeze(request);
         
         if (!response.isSuccess()) {
             log.error("Freeze operation failed for transaction {}: {}", 
@@ -52,5 +58,9 @@ public class FreezeStrategy implements AccountingStrategy {
             .type(AccountingService.AccountingType.FREEZE)
             .build();
     }
+    
+    @Override
+    public AccountingService.AccountingType getType() {
+        return AccountingService.AccountingType.FREEZE;
+    }
 }
-
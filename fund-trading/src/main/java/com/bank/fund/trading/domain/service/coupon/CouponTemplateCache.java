@@ -0,0 +1,137 @@
+package com.bank.fund.trading.domain.service.coupon;
+
+import com.bank.fund.common.integration.MarketingCouponService;
+import com.bank.fund.common.integration.dto.CouponTemplateResponse;
+import com.bank.fund.marketing.domain.model.CouponTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local cache of coupon templates keyed by coupon ID
+ * A template is loaded from the marketing system on first use. Once older than the TTL it is
+ * no longer served; callers fall back to the remote trial while a background refresh runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponTemplateCache {
+    
+    private final MarketingCouponService marketingCouponService;
+    private final CouponTrialProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private ExecutorService refreshExecutor;
+    
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coupon-template-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("coupon.template.cache.size", templates, Map::size);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    /**
+     * Get a template fresh enough to trial locally
+     *
+     * @return the template, or null when it cannot be loaded or is stale
+     */
+    public CouponTemplate getFresh(String couponId) {
+        CachedTemplate cached = templates.get(couponId);
+        if (cached == null) {
+            meterRegistry.counter("coupon.template.cache.requests", "result", "miss").increment();
+            return load(couponId);
+        }
+        long age = System.currentTimeMillis() - cached.fetchedAt;
+        if (age < TimeUnit.SECONDS.toMillis(properties.getTemplateTtlSeconds())) {
+            meterRegistry.counter("coupon.template.cache.requests", "result", "hit").increment();
+            return cached.template;
+        }
+        meterRegistry.counter("coupon.template.cache.requests", "result", "stale").increment();
+        refreshAsync(couponId);
+        return null;
+    }
+    
+    /**
+     * Drop a template, e.g. after the local trial diverged from the remote one
+     */
+    public void invalidate(String couponId) {
+        templates.remove(couponId);
+    }
+    
+    private void refreshAsync(String couponId) {
+        if (!refreshing.add(couponId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(couponId);
+                } finally {
+                    refreshing.remove(couponId);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(couponId);
+        }
+    }
+    
+    private CouponTemplate load(String couponId) {
+        CouponTemplateResponse response;
+        try {
+            response = marketingCouponService.getCouponTemplate(couponId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load coupon template {}: {}", couponId, e.getMessage());
+            return null;
+        }
+        if (response == null || !response.isSuccess()) {
+            log.warn("Coupon template {} unavailable: {}", couponId,
+                     response != null ? response.getErrorMessage() : "empty response");
+            return null;
+        }
+        CouponTemplate template = new CouponTemplate(
+            response.getCouponId() != null ? response.getCouponId() : couponId,
+            response.getCouponType(),
+            response.getDiscountRate(),
+            response.getDiscountAmount(),
+            response.getProductCodes() != null ? new HashSet<>(response.getProductCodes()) : Set.of(),
+            response.getValidFrom(),
+            response.getValidUntil()
+        );
+        templates.put(couponId, new CachedTemplate(template, System.currentTimeMillis()));
+        return template;
+    }
+    
+    /**
+     * Template with the time it was fetched from the marketing system
+     */
+    private static final class CachedTemplate {
+        private final CouponTemplate template;
+        private final long fetchedAt;
+        
+        private CachedTemplate(CouponTemplate template, long fetchedAt) {
+            this.template = template;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.fund.trading.domain.service.coupon;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration for local coupon trial calculation
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.coupon.trial")
+public class CouponTrialProperties {
+    
+    /**
+     * Compute trials from cached coupon templates instead of calling the marketing trial
+     */
+    private boolean localEnabled = false;
+    
+    /**
+     * Seconds a cached template is used; older templates fall back to the remote trial while refreshing
+     */
+    private long templateTtlSeconds = 300;
+    
+    /**
+     * Fraction of local trials re-checked against the remote trial, between 0 and 1
+     */
+    private double consistencySampleRate = 0.01;
+    
+    /**
+     * Largest discount difference between local and remote trial treated as a match
+     */
+    private BigDecimal divergenceTolerance = new BigDecimal("0.01");
+}
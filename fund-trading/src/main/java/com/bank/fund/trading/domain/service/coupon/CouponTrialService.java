@@ -0,0 +1,157 @@
+package com.bank.fund.trading.domain.service.coupon;
+
+import com.bank.fund.common.exception.BusinessException;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.integration.MarketingCouponService;
+import com.bank.fund.common.integration.dto.CouponEligibilityResponse;
+import com.bank.fund.common.integration.dto.CouponTrialRequest;
+import com.bank.fund.common.integration.dto.CouponTrialResponse;
+import com.bank.fund.common.money.Money;
+import com.bank.fund.marketing.domain.model.CouponInfo;
+import com.bank.fund.marketing.domain.model.CouponTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain service for coupon trial calculation
+ * With local trials enabled, the discount is computed from the cached coupon template and
+ * only the customer's ownership of the coupon is checked remotely. A sample of local trials
+ * is compared with the remote trial in the background; a divergence evicts the template.
+ * Missing or stale templates fall back to the remote trial.
+ * The eligibility check is still one remote call per couponed order; local trials remove only
+ * the trial round trip.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponTrialService {
+    
+    private final MarketingCouponService marketingCouponService;
+    private final CouponTemplateCache templateCache;
+    private final CouponTrialProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private ThreadPoolExecutor checkExecutor;
+    
+    @PostConstruct
+    public void init() {
+        // Checks beyond the queue are dropped rather than slowing down orders
+        checkExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+            runnable -> {
+                Thread thread = new Thread(runnable, "coupon-trial-check");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        checkExecutor.shutdownNow();
+    }
+    
+    /**
+     * Trial calculate the coupon discount on the original fee
+     *
+     * @throws BusinessException when the coupon cannot be applied
+     */
+    public CouponInfo trial(String customerId, String couponId, String productCode, Money originalFee) {
+        CouponTrialRequest request = CouponTrialRequest.builder()
+            .customerId(customerId)
+            .couponId(couponId)
+            .productCode(productCode)
+            .originalFee(originalFee.getAmount())
+            .build();
+        
+        if (properties.isLocalEnabled()) {
+            CouponTemplate template = templateCache.getFresh(couponId);
+            if (template != null) {
+                return localTrial(request, template);
+            }
+        }
+        meterRegistry.counter("coupon.trial", "mode", "remote").increment();
+        return toCouponInfo(remoteTrial(request));
+    }
+    
+    private CouponInfo localTrial(CouponTrialRequest request, CouponTemplate template) {
+        if (!template.isApplicable(request.getProductCode(), LocalDateTime.now())) {
+            throw new BusinessException(
+                ErrorCode.COUPON_TRIAL_FAILED,
+                "Coupon trial calculation failed: coupon " + request.getCouponId() +
+                " is not applicable to product " + request.getProductCode()
+            );
+        }
+        
+        CouponEligibilityResponse eligibility =
+            marketingCouponService.checkEligibility(request.getCustomerId(), request.getCouponId());
+        if (!eligibility.isSuccess() || !eligibility.isEligible()) {
+            throw new BusinessException(
+                ErrorCode.COUPON_TRIAL_FAILED,
+                "Coupon trial calculation failed: " + eligibility.getErrorMessage()
+            );
+        }
+        
+        CouponInfo couponInfo = template.trial(request.getOriginalFee());
+        meterRegistry.counter("coupon.trial", "mode", "local").increment();
+        
+        if (ThreadLocalRandom.current().nextDouble() < properties.getConsistencySampleRate()) {
+            checkExecutor.execute(() -> checkConsistency(request, couponInfo));
+        }
+        return couponInfo;
+    }
+    
+    private CouponTrialResponse remoteTrial(CouponTrialRequest request) {
+        CouponTrialResponse response = marketingCouponService.trialCalculate(request);
+        if (!response.isSuccess()) {
+            throw new BusinessException(
+                ErrorCode.COUPON_TRIAL_FAILED,
+                "Coupon trial calculation failed: " + response.getErrorMessage()
+            );
+        }
+        return response;
+    }
+    
+    /**
+     * Compare a local trial with the remote trial of the same request
+     */
+    private void checkConsistency(CouponTrialRequest request, CouponInfo local) {
+        try {
+            CouponTrialResponse remote = remoteTrial(request);
+            BigDecimal remoteDiscount = remote.getDiscountAmount() != null ? remote.getDiscountAmount() : BigDecimal.ZERO;
+            BigDecimal difference = remoteDiscount.subtract(local.getDiscountAmount()).abs();
+            meterRegistry.summary("coupon.trial.divergence").record(difference.doubleValue());
+            
+            if (difference.compareTo(properties.getDivergenceTolerance()) > 0) {
+                meterRegistry.counter("coupon.trial.consistency", "result", "diverged").increment();
+                log.warn("Local coupon trial diverged for coupon {}: local discount {}, remote discount {}. " +
+                         "Evicting template", request.getCouponId(), local.getDiscountAmount(), remoteDiscount);
+                templateCache.invalidate(request.getCouponId());
+            } else {
+                meterRegistry.counter("coupon.trial.consistency", "result", "match").increment();
+            }
+        } catch (RuntimeException e) {
+            meterRegistry.counter("coupon.trial.consistency", "result", "error").increment();
+            log.warn("Coupon trial consistency check failed for coupon {}: {}", request.getCouponId(), e.getMessage());
+        }
+    }
+    
+    private CouponInfo toCouponInfo(CouponTrialResponse response) {
+        return new CouponInfo(
+            response.getCouponId(),
+            response.getCouponType(),
+            response.getDiscountRate(),
+            response.getDiscountAmount()
+        );
+    }
+}
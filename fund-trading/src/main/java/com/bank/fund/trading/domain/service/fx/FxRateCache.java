@@ -0,0 +1,217 @@
+package com.bank.fund.trading.domain.service.fx;
+
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ExternalSystemException;
+import com.bank.fund.common.integration.FxRateService;
+import com.bank.fund.common.integration.dto.FxRateResponse;
+import com.bank.fund.common.money.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local cache of indicative FX rates per currency pair
+ * Rates are served from memory for the TTL and refreshed in the background shortly before they
+ * expire, so pre-trade conversions rarely wait for the rate source. When the source is down,
+ * an expired rate is still served up to the max stale age.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FxRateCache {
+
+    private final FxRateService fxRateService;
+    private final FxRateProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CachedRate> rates = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-rate-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("fx.rate.staleness.max", rates, this::maxAgeSeconds);
+        meterRegistry.gauge("fx.rate.cache.size", rates, Map::size);
+        meterRegistry.gauge("fx.rate.cache.hit.ratio", this, cache -> cache.lookups.get() == 0 ? 0.0 :
+            (double) cache.hits.get() / cache.lookups.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Convert money into the target currency at the cached indicative rate
+     */
+    public Money convert(Money money, String targetCurrency) {
+        if (money.getCurrencyCode().equals(targetCurrency)) {
+            return money;
+        }
+        BigDecimal rate = getRate(money.getCurrencyCode(), targetCurrency);
+        return new Money(money.getAmount().multiply(rate), targetCurrency);
+    }
+
+    /**
+     * Get the rate converting one unit of base currency into quote currency
+     */
+    public BigDecimal getRate(String baseCurrency, String quoteCurrency) {
+        if (baseCurrency.equals(quoteCurrency)) {
+            return BigDecimal.ONE;
+        }
+        String pair = pairKey(baseCurrency, quoteCurrency);
+        CachedRate cached = rates.get(pair);
+        long now = System.currentTimeMillis();
+
+        if (cached == null) {
+            record("miss");
+            return load(baseCurrency, quoteCurrency).rate;
+        }
+
+        long age = now - cached.fetchedAt;
+        long ttl = TimeUnit.SECONDS.toMillis(properties.getTtlSeconds());
+        if (age < ttl) {
+            record("hit");
+            if (age >= ttl - TimeUnit.SECONDS.toMillis(properties.getRefreshAheadSeconds())) {
+                refreshAsync(baseCurrency, quoteCurrency);
+            }
+            return cached.rate;
+        }
+
+        record("expired");
+        try {
+            return load(baseCurrency, quoteCurrency).rate;
+        } catch (ExternalSystemException e) {
+            if (age < TimeUnit.SECONDS.toMillis(properties.getMaxStaleSeconds())) {
+                log.warn("FX rate source unavailable, serving {} rate aged {} ms", pair, age);
+                record("stale");
+                return cached.rate;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Keep configured pairs warm ahead of cross-currency orders
+     */
+    @Scheduled(fixedDelayString = "${fund.fx.prefetch-interval-millis:30000}", initialDelay = 0)
+    public void prefetch() {
+        for (String pair : properties.getPrefetchPairs()) {
+            String[] currencies = pair.split("/");
+            if (currencies.length != 2) {
+                log.warn("Ignoring invalid FX prefetch pair: {}", pair);
+                continue;
+            }
+            CachedRate cached = rates.get(pairKey(currencies[0], currencies[1]));
+            long refreshAt = TimeUnit.SECONDS.toMillis(properties.getTtlSeconds() - properties.getRefreshAheadSeconds());
+            if (cached == null || System.currentTimeMillis() - cached.fetchedAt >= refreshAt) {
+                try {
+                    load(currencies[0], currencies[1]);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to prefetch FX rate {}: {}", pair, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void refreshAsync(String baseCurrency, String quoteCurrency) {
+        String pair = pairKey(baseCurrency, quoteCurrency);
+        if (!refreshing.add(pair)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(baseCurrency, quoteCurrency);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of FX rate {} failed: {}", pair, e.getMessage());
+                } finally {
+                    refreshing.remove(pair);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(pair);
+        }
+    }
+
+    private CachedRate load(String baseCurrency, String quoteCurrency) {
+        long startTime = System.nanoTime();
+        FxRateResponse response;
+        try {
+            response = fxRateService.getRate(baseCurrency, quoteCurrency);
+        } catch (RuntimeException e) {
+            throw new ExternalSystemException(
+                ErrorCode.FX_RATE_UNAVAILABLE,
+                String.format("FX rate %s/%s unavailable: %s", baseCurrency, quoteCurrency, e.getMessage()), e);
+        } finally {
+            meterRegistry.timer("fx.rate.fetch.duration").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        if (response == null || !response.isSuccess() || response.getRate() == null
+            || response.getRate().signum() <= 0) {
+            throw new ExternalSystemException(
+                ErrorCode.FX_RATE_UNAVAILABLE,
+                String.format("FX rate %s/%s unavailable: %s", baseCurrency, quoteCurrency,
+                    response != null ? response.getErrorMessage() : "empty response"));
+        }
+
+        CachedRate cached = new CachedRate(response.getRate(), System.currentTimeMillis());
+        rates.put(pairKey(baseCurrency, quoteCurrency), cached);
+        return cached;
+    }
+
+    private void record(String result) {
+        if (!"stale".equals(result)) {
+            lookups.incrementAndGet();
+        }
+        if ("hit".equals(result)) {
+            hits.incrementAndGet();
+        }
+        meterRegistry.counter("fx.rate.cache.requests", "result", result).increment();
+    }
+
+    private double maxAgeSeconds(Map<String, CachedRate> cachedRates) {
+        long now = System.currentTimeMillis();
+        return cachedRates.values().stream()
+            .mapToLong(cached -> now - cached.fetchedAt)
+            .max()
+            .orElse(0L) / 1000.0;
+    }
+
+    private static String pairKey(String baseCurrency, String quoteCurrency) {
+        return baseCurrency + "/" + quoteCurrency;
+    }
+
+    /**
+     * Rate with the time it was fetched from the source
+     */
+    private static final class CachedRate {
+        private final BigDecimal rate;
+        private final long fetchedAt;
+
+        private CachedRate(BigDecimal rate, long fetchedAt) {
+            this.rate = rate;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
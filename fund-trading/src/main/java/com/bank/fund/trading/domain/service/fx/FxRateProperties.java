@@ -0,0 +1,37 @@
+package com.bank.fund.trading.domain.service.fx;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the FX rate cache
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.fx")
+public class FxRateProperties {
+    
+    /**
+     * Seconds a cached rate is served without going back to the rate source
+     */
+    private long ttlSeconds = 60;
+    
+    /**
+     * Seconds before expiry at which a background refresh of the rate is started
+     */
+    private long refreshAheadSeconds = 15;
+    
+    /**
+     * Seconds an expired rate may still be served while the rate source is unavailable
+     */
+    private long maxStaleSeconds = 300;
+    
+    /**
+     * Currency pairs kept warm, as BASE/QUOTE (e.g. USD/CNY)
+     */
+    private List<String> prefetchPairs = new ArrayList<>();
+}
@@ -0,0 +1,242 @@
+package com.bank.fund.trading.domain.service.holding;
+
+import com.bank.fund.trading.domain.model.CustomerHolding;
+import com.bank.fund.trading.domain.model.HoldingDelta;
+import com.bank.fund.trading.domain.model.ShareIncrement;
+import com.bank.fund.trading.domain.model.SubscriptionTransaction;
+import com.bank.fund.trading.domain.repository.CustomerHoldingRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customer holdings projection served from memory
+ * CUSTOMER_HOLDING is updated incrementally in the same transaction as the saga completion and
+ * the TA confirmation batch. Reads go to a sharded LRU map keyed by customer and product and fall
+ * back to a primary key lookup on a miss; absent holdings are cached too, so first-time checks
+ * need no query once warm. Local writes are applied to the map after commit, writes from other
+ * nodes become visible when the entry expires.
+ */
+@Service
+@Slf4j
+public class CustomerHoldingCache {
+    
+    private final CustomerHoldingRepository holdingRepository;
+    private final HoldingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Shard[] shards;
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public CustomerHoldingCache(CustomerHoldingRepository holdingRepository, HoldingProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.holdingRepository = holdingRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.shards = new Shard[Math.max(1, properties.getShards())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(Math.max(1, properties.getMaxEntriesPerShard()));
+        }
+        meterRegistry.gauge("holdings.cache.size", this, CustomerHoldingCache::size);
+        FunctionCounter.builder("holdings.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Holding of the customer in the product, empty when the customer never held it
+     */
+    public Optional<CustomerHolding> get(String customerId, String productCode) {
+        String key = key(customerId, productCode);
+        Shard shard = shardFor(key);
+        long now = System.currentTimeMillis();
+        long version;
+        String result;
+        synchronized (shard) {
+            CachedHolding cached = shard.entries.get(key);
+            if (cached != null && now - cached.loadedAt < TimeUnit.SECONDS.toMillis(properties.getTtlSeconds())) {
+                record("hit");
+                return Optional.ofNullable(cached.holding);
+            }
+            version = shard.version;
+            result = cached == null ? "miss" : "expired";
+        }
+        
+        record(result);
+        Optional<CustomerHolding> loaded = holdingRepository.find(customerId, productCode);
+        synchronized (shard) {
+            // A write in the shard since the read started may not be in the loaded row
+            if (shard.version == version) {
+                shard.entries.put(key, new CachedHolding(loaded.orElse(null), now));
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Check if the customer already completed a subscription of the product
+     */
+    public boolean hasSubscribed(String customerId, String productCode) {
+        return get(customerId, productCode).map(CustomerHolding::isSubscribed).orElse(false);
+    }
+    
+    /**
+     * All holdings of a customer, read from the table
+     */
+    public List<CustomerHolding> getByCustomer(String customerId) {
+        return holdingRepository.findByCustomer(customerId);
+    }
+    
+    /**
+     * Add a completed subscription to the pending columns in the caller's transaction
+     */
+    public void recordCompleted(SubscriptionTransaction transaction) {
+        if (!isEnabled()) {
+            return;
+        }
+        HoldingDelta delta = HoldingDelta.completed(transaction);
+        holdingRepository.applyDelta(delta);
+        afterCommit(() -> applyCommitted(delta));
+    }
+    
+    /**
+     * Move confirmed subscriptions from pending to confirmed shares in the caller's transaction
+     * Pass only the serial numbers the caller's transaction moved to CONFIRMED.
+     */
+    public void recordConfirmations(List<ShareIncrement> increments, List<String> confirmedSerialNumbers) {
+        if (!isEnabled() || confirmedSerialNumbers.isEmpty()) {
+            return;
+        }
+        holdingRepository.releasePending(confirmedSerialNumbers);
+        holdingRepository.applyShareIncrements(increments);
+        Set<String> keys = new LinkedHashSet<>();
+        increments.forEach(increment -> keys.add(key(increment.getCustomerId(), increment.getProductCode())));
+        afterCommit(() -> keys.forEach(this::invalidate));
+    }
+    
+    /**
+     * Recompute the table from shares and transactions and drop everything cached
+     * Meant for enabling the projection and for repairs, run it outside trading hours.
+     */
+    public int rebuild() {
+        long startTime = System.currentTimeMillis();
+        int rows = holdingRepository.rebuild();
+        invalidateAll();
+        log.info("Customer holdings rebuilt: {} rows in {} ms", rows, System.currentTimeMillis() - startTime);
+        return rows;
+    }
+    
+    public void invalidateAll() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.version++;
+                shard.entries.clear();
+            }
+        }
+    }
+    
+    private void applyCommitted(HoldingDelta delta) {
+        String key = key(delta.getCustomerId(), delta.getProductCode());
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            shard.version++;
+            CachedHolding cached = shard.entries.get(key);
+            if (cached != null) {
+                CustomerHolding base = cached.holding != null ? cached.holding :
+                    CustomerHolding.empty(delta.getCustomerId(), delta.getProductCode());
+                shard.entries.put(key, new CachedHolding(base.apply(delta), cached.loadedAt));
+            }
+        }
+    }
+    
+    private void invalidate(String key) {
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            shard.version++;
+            shard.entries.remove(key);
+        }
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private Shard shardFor(String key) {
+        int hash = key.hashCode();
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    private double size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.entries.size();
+            }
+        }
+        return size;
+    }
+    
+    private void record(String result) {
+        meterRegistry.counter("holdings.cache.requests", "result", result).increment();
+    }
+    
+    private static String key(String customerId, String productCode) {
+        return customerId + '|' + productCode;
+    }
+    
+    /**
+     * One lock stripe of the cache, an access-ordered map bounded to the shard size
+     */
+    private final class Shard {
+        private final Map<String, CachedHolding> entries;
+        private long version;
+        
+        private Shard(int maxEntries) {
+            this.entries = new LinkedHashMap<String, CachedHolding>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedHolding> eldest) {
+                    if (size() > maxEntries) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+    
+    /**
+     * Holding with the time it was read from the table, null holding when there is none
+     */
+    private static final class CachedHolding {
+        private final CustomerHolding holding;
+        private final long loadedAt;
+        
+        private CachedHolding(CustomerHolding holding, long loadedAt) {
+            this.holding = holding;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.fund.trading.domain.service.holding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the customer holdings projection
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.holdings")
+public class HoldingProperties {
+    
+    /**
+     * Maintain CUSTOMER_HOLDING and serve first-time checks from it
+     * Run the rebuild once before enabling so existing customers are not seen as first-time.
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Number of independently locked cache shards
+     */
+    private int shards = 64;
+    
+    /**
+     * Holdings kept per shard, least recently read evicted first
+     */
+    private int maxEntriesPerShard = 4096;
+    
+    /**
+     * Seconds a cached holding is served before it is read again,
+     * bounds staleness from writes made on other nodes
+     */
+    private long ttlSeconds = 30;
+}
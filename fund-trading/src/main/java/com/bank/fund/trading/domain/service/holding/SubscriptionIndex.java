@@ -0,0 +1,189 @@
+package com.bank.fund.trading.domain.service.holding;
+
+import com.bank.fund.common.concurrent.BloomFilter;
+import com.bank.fund.common.concurrent.Workload;
+import com.bank.fund.trading.domain.model.CustomerHolding;
+import com.bank.fund.trading.domain.repository.CustomerHoldingRepository;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Answers whether a customer already subscribed to a product
+ * With the index enabled, a Bloom filter of subscribed customer and product pairs sits in front
+ * of the database: a negative answer needs no query, a positive one is confirmed by a single-row
+ * probe of CUSTOMER_HOLDING (through the holdings cache) or of SUBSCRIPTION_TRANSACTION.
+ * The filter is warmed at startup by streaming the subscribed pairs, then kept current by the
+ * saga on success and by a periodic catch-up of pairs subscribed on other nodes. Until warm-up
+ * completes every check is probed. A negative can therefore lag other nodes by one catch-up, so
+ * a rejection that depends on it is confirmed against the table first.
+ */
+@Service
+@Slf4j
+public class SubscriptionIndex {
+    
+    private final SubscriptionIndexProperties properties;
+    private final SubscriptionTransactionRepository transactionRepository;
+    private final CustomerHoldingRepository holdingRepository;
+    private final CustomerHoldingCache holdingCache;
+    private final MeterRegistry meterRegistry;
+    private final BloomFilter filter;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime loadedUntil;
+    
+    public SubscriptionIndex(SubscriptionIndexProperties properties,
+                             SubscriptionTransactionRepository transactionRepository,
+                             CustomerHoldingRepository holdingRepository,
+                             CustomerHoldingCache holdingCache,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.holdingRepository = holdingRepository;
+        this.holdingCache = holdingCache;
+        this.meterRegistry = meterRegistry;
+        this.filter = properties.isEnabled() ?
+            BloomFilter.create(properties.getExpectedInsertions(), properties.getFalsePositiveRate()) : null;
+        if (filter != null) {
+            meterRegistry.gauge("subscription.index.insertions", filter, BloomFilter::getInsertions);
+            meterRegistry.gauge("subscription.index.false.positive.rate", filter,
+                BloomFilter::getExpectedFalsePositiveRate);
+            meterRegistry.gauge("subscription.index.ready", this, index -> index.ready ? 1 : 0);
+            log.info("Subscription index sized for {} pairs: {} bits, {} hash functions",
+                     properties.getExpectedInsertions(), filter.getBitCount(), filter.getHashFunctions());
+        }
+    }
+    
+    /**
+     * Check if the customer already completed a subscription of the product
+     */
+    public boolean hasSubscribed(String customerId, String productCode) {
+        if (filter == null) {
+            return probe(customerId, productCode);
+        }
+        String key = key(customerId, productCode);
+        if (ready && !filter.mightContain(key)) {
+            record("negative");
+            return false;
+        }
+        boolean subscribed = probe(customerId, productCode);
+        if (subscribed) {
+            filter.put(key);
+        }
+        record(!ready ? "not_ready" : subscribed ? "positive" : "false_positive");
+        return subscribed;
+    }
+    
+    /**
+     * Check the table directly, bypassing both the filter and the holdings cache
+     * A negative from hasSubscribed can miss a pair subscribed on another node since the last
+     * catch-up, or one the holdings cache has not reloaded yet; callers confirm with this before
+     * rejecting an order that only fails the first-time minimum.
+     */
+    public boolean confirmSubscribed(String customerId, String productCode) {
+        boolean subscribed = holdingCache.isEnabled() ?
+            holdingRepository.find(customerId, productCode).map(CustomerHolding::isSubscribed).orElse(false) :
+            transactionRepository.hasExistingSubscription(customerId, productCode);
+        if (subscribed) {
+            recordSubscribed(customerId, productCode);
+        }
+        record(subscribed ? "confirmed_positive" : "confirmed_negative");
+        return subscribed;
+    }
+    
+    /**
+     * Add a pair whose subscription just succeeded on this node
+     * A pair added for a saga that is later rolled back only costs a probe.
+     */
+    public void recordSubscribed(String customerId, String productCode) {
+        if (filter != null) {
+            filter.put(key(customerId, productCode));
+        }
+    }
+    
+    /**
+     * Start streaming every subscribed pair into the filter without holding up startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (filter == null || loading.get()) {
+            return;
+        }
+        Thread thread = new Thread(Workload.BACKGROUND.wrap(() -> load(null)), "subscription-index-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Read pairs subscribed since the last load, or retry a failed warm-up
+     */
+    @Scheduled(fixedDelayString = "${fund.subscription-index.catch-up-interval-millis:5000}")
+    public void catchUp() {
+        if (filter == null) {
+            return;
+        }
+        if (!ready) {
+            warmUp();
+            return;
+        }
+        load(loadedUntil);
+    }
+    
+    private void load(LocalDateTime updatedSince) {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        String phase = updatedSince == null ? "warmup" : "catchup";
+        long startTime = System.nanoTime();
+        try {
+            LocalDateTime next = LocalDateTime.now().minusSeconds(properties.getCatchUpOverlapSeconds());
+            AtomicLong pairs = new AtomicLong();
+            BiConsumer<String, String> add = (customerId, productCode) -> {
+                filter.put(key(customerId, productCode));
+                pairs.incrementAndGet();
+            };
+            if (holdingCache.isEnabled()) {
+                holdingRepository.streamSubscribed(updatedSince, add);
+            } else {
+                transactionRepository.streamSubscribedPairs(updatedSince, add);
+            }
+            loadedUntil = next;
+            if (!ready) {
+                ready = true;
+                log.info("Subscription index warmed with {} pairs in {} ms", pairs.get(),
+                         TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+        } catch (RuntimeException e) {
+            log.error("Subscription index {} failed, will retry", phase, e);
+        } finally {
+            loading.set(false);
+            meterRegistry.timer("subscription.index.load.duration", "phase", phase)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private boolean probe(String customerId, String productCode) {
+        return holdingCache.isEnabled() ?
+            holdingCache.hasSubscribed(customerId, productCode) :
+            transactionRepository.hasExistingSubscription(customerId, productCode);
+    }
+    
+    private void record(String result) {
+        meterRegistry.counter("subscription.index.lookups", "result", result).increment();
+    }
+    
+    private static String key(String customerId, String productCode) {
+        return customerId + '|' + productCode;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.fund.trading.domain.service.holding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the in-memory index of customers who already subscribed to a product
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.subscription-index")
+public class SubscriptionIndexProperties {
+    
+    /**
+     * Answer first-time checks from a Bloom filter before probing the database
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Customer and product pairs the filter is sized for
+     */
+    private long expectedInsertions = 5_000_000;
+    
+    /**
+     * False positive rate at the expected insertions; a false positive costs one probe
+     */
+    private double falsePositiveRate = 0.01;
+    
+    /**
+     * Interval of reading pairs subscribed on other nodes into the filter
+     */
+    private long catchUpIntervalMillis = 5000;
+    
+    /**
+     * Seconds each catch-up reaches back before the previous one,
+     * covers sagas that updated their row before the last catch-up but committed after it
+     */
+    private long catchUpOverlapSeconds = 120;
+}
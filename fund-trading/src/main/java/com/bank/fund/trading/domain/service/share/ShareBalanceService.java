@@ -0,0 +1,102 @@
+package com.bank.fund.trading.domain.service.share;
+
+import com.bank.fund.trading.domain.model.ShareMovement;
+import com.bank.fund.trading.domain.model.ShareMovementTail;
+import com.bank.fund.trading.domain.model.ShareRecord;
+import com.bank.fund.trading.domain.repository.ShareMovementRepository;
+import com.bank.fund.trading.domain.repository.ShareRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Share balances derived from the SHARE_RECORD snapshot plus the movement tail
+ * With the movement journal enabled, writers only append to SHARE_MOVEMENT and never lock the
+ * share record row; the compaction job folds movements into SHARE_RECORD in the background.
+ * A snapshot stays valid after compaction because its last compaction pass tells which movements
+ * it already contains, so snapshots are cached for the TTL and only the tail is read each time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShareBalanceService {
+    
+    private final ShareMovementProperties properties;
+    private final ShareRecordRepository shareRecordRepository;
+    private final ShareMovementRepository shareMovementRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, CachedSnapshot> snapshots = new ConcurrentHashMap<>();
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Current shares of the customer in the product, empty when the customer holds none
+     */
+    public Optional<ShareRecord> getBalance(String customerId, String productCode) {
+        if (!isEnabled()) {
+            return shareRecordRepository.findByCustomerAndProduct(customerId, productCode);
+        }
+        ShareRecord snapshot = snapshot(customerId, productCode);
+        long lastCompactionId = snapshot != null ? snapshot.getLastCompactionId() : 0L;
+        ShareMovementTail tail = shareMovementRepository.sumAfter(customerId, productCode, lastCompactionId);
+        meterRegistry.summary("share.balance.tail.movements").record(tail.getMovements());
+        if (snapshot == null) {
+            if (tail.getMovements() == 0) {
+                return Optional.empty();
+            }
+            snapshot = ShareRecord.createNew(customerId, productCode);
+        }
+        return Optional.of(snapshot.plus(tail));
+    }
+    
+    /**
+     * Append movements in the caller's transaction
+     */
+    public void append(List<ShareMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        shareMovementRepository.appendAll(movements);
+        meterRegistry.counter("share.movement.appended").increment(movements.size());
+    }
+    
+    private ShareRecord snapshot(String customerId, String productCode) {
+        String key = customerId + '|' + productCode;
+        long now = System.currentTimeMillis();
+        CachedSnapshot cached = snapshots.get(key);
+        if (cached != null && now - cached.loadedAt < TimeUnit.SECONDS.toMillis(properties.getSnapshotTtlSeconds())) {
+            meterRegistry.counter("share.balance.snapshot", "result", "hit").increment();
+            return cached.record;
+        }
+        meterRegistry.counter("share.balance.snapshot", "result", "miss").increment();
+        ShareRecord record = shareRecordRepository.findByCustomerAndProduct(customerId, productCode).orElse(null);
+        if (snapshots.size() >= properties.getMaxSnapshots()) {
+            snapshots.clear();
+        }
+        snapshots.put(key, new CachedSnapshot(record, now));
+        return record;
+    }
+    
+    /**
+     * Share record snapshot with the time it was read, null record when there is none
+     */
+    private static final class CachedSnapshot {
+        private final ShareRecord record;
+        private final long loadedAt;
+        
+        private CachedSnapshot(ShareRecord record, long loadedAt) {
+            this.record = record;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
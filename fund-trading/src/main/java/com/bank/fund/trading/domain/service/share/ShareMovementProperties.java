@@ -0,0 +1,44 @@
+package com.bank.fund.trading.domain.service.share;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the share movement journal and its compaction
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.share-movements")
+public class ShareMovementProperties {
+    
+    /**
+     * Record share changes as movements instead of updating SHARE_RECORD in place
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Name of the compaction cursor row
+     */
+    private String cursorName = "default";
+    
+    /**
+     * Maximum movements folded into SHARE_RECORD in one compaction transaction
+     */
+    private int compactionBatchSize = 20000;
+    
+    /**
+     * Hours folded movements are kept for audit before they are purged
+     */
+    private long retentionHours = 72;
+    
+    /**
+     * Seconds a SHARE_RECORD snapshot is served from memory; the movement tail is always read
+     */
+    private long snapshotTtlSeconds = 60;
+    
+    /**
+     * Snapshots kept in memory before the cache is cleared
+     */
+    private int maxSnapshots = 100000;
+}
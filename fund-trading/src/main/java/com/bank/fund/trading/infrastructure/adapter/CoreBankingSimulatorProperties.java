@@ -0,0 +1,29 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the local core banking simulator
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.simulator.core-banking")
+public class CoreBankingSimulatorProperties {
+    
+    /**
+     * Register the simulator as the CoreBankingService (local and test environments only)
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Simulated round-trip latency per remote call, in milliseconds
+     */
+    private long latencyMillis = 20;
+    
+    /**
+     * Fraction of items answered with a business failure, between 0 and 1
+     */
+    private double failureRate = 0.0;
+}
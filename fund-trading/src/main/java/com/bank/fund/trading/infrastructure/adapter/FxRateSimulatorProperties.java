@@ -0,0 +1,33 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the local FX rate simulator
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.simulator.fx")
+public class FxRateSimulatorProperties {
+    
+    /**
+     * Register the simulator as the FxRateService (local and test environments only)
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Simulated round-trip latency per rate query, in milliseconds
+     */
+    private long latencyMillis = 10;
+    
+    /**
+     * Fixed rates keyed by base and quote currency codes concatenated (e.g. USDCNY)
+     */
+    private Map<String, BigDecimal> rates = new HashMap<>();
+}
@@ -0,0 +1,36 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration for the local marketing coupon simulator
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.simulator.marketing")
+public class MarketingSimulatorProperties {
+    
+    /**
+     * Register the simulator as the MarketingCouponService (local and test environments only)
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Simulated round-trip latency per remote call, in milliseconds
+     */
+    private long latencyMillis = 20;
+    
+    /**
+     * Fraction of coupon uses answered with a business failure, between 0 and 1
+     */
+    private double failureRate = 0.0;
+    
+    /**
+     * Fee discount rate granted by every simulated coupon
+     */
+    private BigDecimal discountRate = new BigDecimal("0.5");
+}
@@ -0,0 +1,153 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ExternalSystemException;
+import com.bank.fund.common.integration.CoreBankingService;
+import com.bank.fund.common.integration.dto.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local simulator of the core banking system
+ * Every call costs one simulated round trip, batch calls included, and items fail at the
+ * configured rate. Results are remembered per serial number so retries are idempotent.
+ */
+@Component
+@ConditionalOnProperty(name = "fund.simulator.core-banking.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SimulatedCoreBankingService implements CoreBankingService {
+    
+    private final CoreBankingSimulatorProperties properties;
+    
+    private final Map<String, String> freezes = new ConcurrentHashMap<>();
+    private final Map<String, String> debits = new ConcurrentHashMap<>();
+    
+    @Override
+    public AccountingResponse accounting(AccountingRequest request) {
+        roundTrip();
+        return debit(request.getTransactionSerialNumber());
+    }
+    
+    @Override
+    public FreezeResponse freeze(FreezeRequest request) {
+        roundTrip();
+        return freezeItem(request);
+    }
+    
+    @Override
+    public List<FreezeResponse> batchFreeze(List<FreezeRequest> requests) {
+        roundTrip();
+        List<FreezeResponse> responses = new ArrayList<>(requests.size());
+        for (FreezeRequest request : requests) {
+            responses.add(freezeItem(request));
+        }
+        return responses;
+    }
+    
+    @Override
+    public AccountingResponse unfreeze(String freezeId, String transactionSerialNumber) {
+        roundTrip();
+        freezes.remove(transactionSerialNumber);
+        return AccountingResponse.builder()
+            .success(true)
+            .coreBankingTxnId("SIM-UNF-" + UUID.randomUUID())
+            .build();
+    }
+    
+    @Override
+    public AccountingResponse debitFrozen(FreezeDebitRequest request) {
+        roundTrip();
+        return debit(request.getTransactionSerialNumber());
+    }
+    
+    @Override
+    public List<AccountingResponse> batchDebitFrozen(List<FreezeDebitRequest> requests) {
+        roundTrip();
+        List<AccountingResponse> responses = new ArrayList<>(requests.size());
+        for (FreezeDebitRequest request : requests) {
+            responses.add(debit(request.getTransactionSerialNumber()));
+        }
+        return responses;
+    }
+    
+    @Override
+    public AccountingResponse exchangeAndAccounting(ExchangeAndAccountingRequest request) {
+        roundTrip();
+        return debit(request.getTransactionSerialNumber());
+    }
+    
+    @Override
+    public AccountingResponse reversal(String coreBankingTxnId, String transactionSerialNumber) {
+        roundTrip();
+        debits.remove(transactionSerialNumber);
+        return AccountingResponse.builder()
+            .success(true)
+            .coreBankingTxnId("SIM-REV-" + UUID.randomUUID())
+            .build();
+    }
+    
+    private FreezeResponse freezeItem(FreezeRequest request) {
+        if (shouldFail()) {
+            return FreezeResponse.builder()
+                .success(false)
+                .errorCode(ErrorCode.FREEZE_FAILED)
+                .errorMessage("Simulated freeze failure")
+                .build();
+        }
+        String freezeId = freezes.computeIfAbsent(request.getTransactionSerialNumber(),
+            serialNumber -> "SIM-FRZ-" + UUID.randomUUID());
+        return FreezeResponse.builder()
+            .success(true)
+            .freezeId(freezeId)
+            .build();
+    }
+    
+    private AccountingResponse debit(String transactionSerialNumber) {
+        if (shouldFail()) {
+            return AccountingResponse.builder()
+                .success(false)
+                .errorCode(ErrorCode.ACCOUNTING_FAILED)
+                .errorMessage("Simulated accounting failure")
+                .build();
+        }
+        String txnId = debits.computeIfAbsent(transactionSerialNumber,
+            serialNumber -> "SIM-TXN-" + UUID.randomUUID());
+        return AccountingResponse.builder()
+            .success(true)
+            .coreBankingTxnId(txnId)
+            .build();
+    }
+    
+    private boolean shouldFail() {
+        return properties.getFailureRate() > 0 && 
+               ThreadLocalRandom.current().nextDouble() < properties.getFailureRate();
+    }
+    
+    /**
+     * Wait one round trip, giving up like a real client when the request deadline comes first
+     */
+    private void roundTrip() {
+        if (properties.getLatencyMillis() <= 0) {
+            return;
+        }
+        long timeout = Deadline.timeoutMillis(properties.getLatencyMillis());
+        try {
+            Thread.sleep(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (timeout < properties.getLatencyMillis()) {
+            throw new ExternalSystemException(ErrorCode.EXTERNAL_SYSTEM_TIMEOUT,
+                "Simulated call timed out after " + timeout + " ms at the request deadline");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ExternalSystemException;
+import com.bank.fund.common.integration.FxRateService;
+import com.bank.fund.common.integration.dto.FxRateResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Local simulator of the FX rate source
+ * Serves fixed configured rates; the inverse of a configured pair is derived.
+ */
+@Component
+@ConditionalOnProperty(name = "fund.simulator.fx.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SimulatedFxRateService implements FxRateService {
+    
+    private static final int INVERSE_RATE_SCALE = 8;
+    
+    private final FxRateSimulatorProperties properties;
+    
+    @Override
+    public FxRateResponse getRate(String baseCurrency, String quoteCurrency) {
+        roundTrip();
+        BigDecimal rate = properties.getRates().get(baseCurrency + quoteCurrency);
+        if (rate == null) {
+            BigDecimal inverse = properties.getRates().get(quoteCurrency + baseCurrency);
+            if (inverse != null && inverse.signum() > 0) {
+                rate = BigDecimal.ONE.divide(inverse, INVERSE_RATE_SCALE, RoundingMode.HALF_UP);
+            }
+        }
+        if (rate == null) {
+            return FxRateResponse.builder()
+                .success(false)
+                .baseCurrency(baseCurrency)
+                .quoteCurrency(quoteCurrency)
+                .errorCode(ErrorCode.FX_RATE_UNAVAILABLE)
+                .errorMessage("No simulated rate for " + baseCurrency + "/" + quoteCurrency)
+                .build();
+        }
+        return FxRateResponse.builder()
+            .success(true)
+            .baseCurrency(baseCurrency)
+            .quoteCurrency(quoteCurrency)
+            .rate(rate)
+            .quoteTime(LocalDateTime.now())
+            .build();
+    }
+    
+    /**
+     * Wait one round trip, giving up like a real client when the request deadline comes first
+     */
+    private void roundTrip() {
+        if (properties.getLatencyMillis() <= 0) {
+            return;
+        }
+        long timeout = Deadline.timeoutMillis(properties.getLatencyMillis());
+        try {
+            Thread.sleep(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (timeout < properties.getLatencyMillis()) {
+            throw new ExternalSystemException(ErrorCode.EXTERNAL_SYSTEM_TIMEOUT,
+                "Simulated call timed out after " + timeout + " ms at the request deadline");
+        }
+    }
+}
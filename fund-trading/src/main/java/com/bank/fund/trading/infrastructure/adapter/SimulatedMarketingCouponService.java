@@ -0,0 +1,119 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import com.bank.fund.common.concurrent.Deadline;
+import com.bank.fund.common.exception.ErrorCode;
+import com.bank.fund.common.exception.ExternalSystemException;
+import com.bank.fund.common.integration.MarketingCouponService;
+import com.bank.fund.common.integration.dto.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local simulator of the marketing coupon system
+ * Every coupon grants the configured rate discount. Uses are remembered per serial number
+ * so retries are idempotent, and returns release them.
+ */
+@Component
+@ConditionalOnProperty(name = "fund.simulator.marketing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SimulatedMarketingCouponService implements MarketingCouponService {
+    
+    private static final String COUPON_TYPE = "DISCOUNT";
+    
+    private final MarketingSimulatorProperties properties;
+    
+    private final Map<String, String> usages = new ConcurrentHashMap<>();
+    
+    @Override
+    public CouponTrialResponse trialCalculate(CouponTrialRequest request) {
+        roundTrip();
+        BigDecimal discountAmount = request.getOriginalFee()
+            .multiply(properties.getDiscountRate())
+            .setScale(2, RoundingMode.HALF_UP);
+        return CouponTrialResponse.builder()
+            .success(true)
+            .couponId(request.getCouponId())
+            .couponType(COUPON_TYPE)
+            .discountRate(properties.getDiscountRate())
+            .discountAmount(discountAmount)
+            .finalFee(request.getOriginalFee().subtract(discountAmount))
+            .build();
+    }
+    
+    @Override
+    public CouponTemplateResponse getCouponTemplate(String couponId) {
+        roundTrip();
+        return CouponTemplateResponse.builder()
+            .success(true)
+            .couponId(couponId)
+            .couponType(COUPON_TYPE)
+            .discountRate(properties.getDiscountRate())
+            .productCodes(Collections.emptyList())
+            .build();
+    }
+    
+    @Override
+    public CouponEligibilityResponse checkEligibility(String customerId, String couponId) {
+        roundTrip();
+        return CouponEligibilityResponse.builder()
+            .success(true)
+            .eligible(true)
+            .build();
+    }
+    
+    @Override
+    public CouponUseResponse useCoupon(CouponUseRequest request) {
+        roundTrip();
+        if (properties.getFailureRate() > 0 &&
+            ThreadLocalRandom.current().nextDouble() < properties.getFailureRate()) {
+            return CouponUseResponse.builder()
+                .success(false)
+                .errorCode(ErrorCode.COUPON_USE_FAILED)
+                .errorMessage("Simulated coupon use failure")
+                .build();
+        }
+        String usageId = usages.computeIfAbsent(request.getTransactionSerialNumber(),
+            serialNumber -> "SIM-USE-" + UUID.randomUUID());
+        return CouponUseResponse.builder()
+            .success(true)
+            .usageId(usageId)
+            .build();
+    }
+    
+    @Override
+    public CouponReturnResponse returnCoupon(CouponReturnRequest request) {
+        roundTrip();
+        usages.remove(request.getTransactionSerialNumber());
+        return CouponReturnResponse.builder()
+            .success(true)
+            .build();
+    }
+    
+    /**
+     * Wait one round trip, giving up like a real client when the request deadline comes first
+     */
+    private void roundTrip() {
+        if (properties.getLatencyMillis() <= 0) {
+            return;
+        }
+        long timeout = Deadline.timeoutMillis(properties.getLatencyMillis());
+        try {
+            Thread.sleep(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (timeout < properties.getLatencyMillis()) {
+            throw new ExternalSystemException(ErrorCode.EXTERNAL_SYSTEM_TIMEOUT,
+                "Simulated call timed out after " + timeout + " ms at the request deadline");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.fund.trading.infrastructure.adapter;
+
+import com.bank.fund.common.concurrent.SingleFlight;
+import com.bank.fund.common.integration.CoalescingFxRateService;
+import com.bank.fund.common.integration.CoalescingMarketingCouponService;
+import com.bank.fund.common.integration.FxRateService;
+import com.bank.fund.common.integration.MarketingCouponService;
+import com.bank.fund.product.domain.repository.FundProductRepository;
+import com.bank.fund.product.infrastructure.persistence.CoalescingFundProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps read-only remote lookups and product lookups with single-flight decorators
+ * Marketing coupon services, FX rate services and product repositories are decorated as they
+ * are created, so every consumer shares the coalescing. Coalescing ratios are published once
+ * all singletons exist.
+ */
+@Component
+@ConditionalOnProperty(name = "fund.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SingleFlightPostProcessor implements BeanPostProcessor, SmartInitializingSingleton {
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<SingleFlight<?, ?>> flights = new ArrayList<>();
+    
+    public SingleFlightPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof MarketingCouponService && !(bean instanceof CoalescingMarketingCouponService)) {
+            CoalescingMarketingCouponService coalescing = new CoalescingMarketingCouponService((MarketingCouponService) bean);
+            flights.addAll(coalescing.getFlights());
+            log.info("Coalescing identical concurrent queries of {}", beanName);
+            return coalescing;
+        }
+        if (bean instanceof FxRateService && !(bean instanceof CoalescingFxRateService)) {
+            CoalescingFxRateService coalescing = new CoalescingFxRateService((FxRateService) bean);
+            flights.add(coalescing.getFlight());
+            log.info("Coalescing identical concurrent queries of {}", beanName);
+            return coalescing;
+        }
+        if (bean instanceof FundProductRepository && !(bean instanceof CoalescingFundProductRepository)) {
+            CoalescingFundProductRepository coalescing = new CoalescingFundProductRepository((FundProductRepository) bean);
+            flights.addAll(coalescing.getFlights());
+            log.info("Coalescing identical concurrent lookups of {}", beanName);
+            return coalescing;
+        }
+        return bean;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        for (SingleFlight<?, ?> flight : flights) {
+            FunctionCounter.builder("singleflight.calls", flight, SingleFlight::getCalls)
+                .tag("flight", flight.getName())
+                .register(registry);
+            FunctionCounter.builder("singleflight.coalesced", flight, SingleFlight::getCoalesced)
+                .tag("flight", flight.getName())
+                .register(registry);
+            Gauge.builder("singleflight.coalescing.ratio", flight, SingleFlight::getCoalescingRatio)
+                .tag("flight", flight.getName())
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.bank.fund.trading.infrastructure.journal;
+
+import com.bank.fund.trading.domain.model.SagaJournalEntry;
+import com.bank.fund.trading.domain.model.SagaState;
+import com.bank.fund.trading.domain.repository.SagaJournal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Saga journal on memory-mapped segment files
+ * Records are framed as length, CRC32 and payload and appended to the current segment under a
+ * short lock. Appenders then wait for a flusher thread that gathers appends for the flush interval
+ * and makes them durable with one force(), so concurrent sagas share the cost of a disk sync.
+ * Replay stops at the first zero length or checksum mismatch, which is where a crash tore the tail.
+ * When a segment fills, the open sagas are rewritten into a fresh segment and older ones deleted,
+ * so the journal stays about one segment long.
+ */
+@Component
+@Slf4j
+public class MappedSagaJournal implements SagaJournal {
+    
+    private static final String SEGMENT_PREFIX = "saga-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+    
+    private final SagaJournalProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SagaJournalEntry> open = new ConcurrentHashMap<>();
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition forced = lock.newCondition();
+    
+    private Path directory;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentNumber;
+    private long writtenSequence;
+    private long forcedSequence;
+    private volatile boolean running;
+    private Thread flusher;
+    
+    private Timer appendTimer;
+    private Timer forceTimer;
+    private DistributionSummary forceBatch;
+    
+    public MappedSagaJournal(SagaJournalProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        
+        List<Path> segments = listSegments();
+        for (Path segment : segments) {
+            replay(segment);
+        }
+        long lastSegment = segments.isEmpty() ? 0 : segmentNumber(segments.get(segments.size() - 1));
+        lock.lock();
+        try {
+            openSegment(lastSegment + 1);
+            rewriteOpenSagas();
+            buffer.force();
+        } finally {
+            lock.unlock();
+        }
+        deleteSegmentsBefore(segmentNumber);
+        
+        appendTimer = meterRegistry.timer("saga.journal.append");
+        forceTimer = meterRegistry.timer("saga.journal.force.duration");
+        forceBatch = meterRegistry.summary("saga.journal.force.batch");
+        meterRegistry.gauge("saga.journal.open", open, Map::size);
+        
+        running = true;
+        flusher = new Thread(this::flushLoop, "saga-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Saga journal started in {}: {} open sagas replayed from {} segments",
+                 directory, open.size(), segments.size());
+    }
+    
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        lock.lock();
+        try {
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return running;
+    }
+    
+    @Override
+    public void append(SagaJournalEntry entry) {
+        if (!running) {
+            throw new IllegalStateException("Saga journal is not running");
+        }
+        long startTime = System.nanoTime();
+        byte[] payload = encode(entry);
+        long sequence;
+        lock.lock();
+        try {
+            if (buffer.remaining() < HEADER_BYTES + payload.length + HEADER_BYTES) {
+                rollover();
+            }
+            write(payload);
+            track(entry);
+            sequence = ++writtenSequence;
+            appended.signal();
+            
+            long remaining = TimeUnit.MILLISECONDS.toNanos(properties.getForceTimeoutMillis());
+            while (forcedSequence < sequence) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Saga journal force timed out for " + entry.getSerialNumber());
+                }
+                remaining = forced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for saga journal force", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll over saga journal segment", e);
+        } finally {
+            lock.unlock();
+        }
+        appendTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    
+    @Override
+    public Map<String, SagaJournalEntry> openSagas() {
+        return Collections.unmodifiableMap(open);
+    }
+    
+    /**
+     * Force appended records in groups and wake their appenders
+     */
+    private void flushLoop() {
+        long gatherNanos = TimeUnit.MICROSECONDS.toNanos(properties.getFlushIntervalMicros());
+        while (running) {
+            lock.lock();
+            try {
+                while (running && forcedSequence == writtenSequence) {
+                    appended.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (gatherNanos > 0) {
+                LockSupport.parkNanos(gatherNanos);
+            }
+            
+            MappedByteBuffer target;
+            long targetSequence;
+            long batch;
+            lock.lock();
+            try {
+                target = buffer;
+                targetSequence = writtenSequence;
+                batch = targetSequence - forcedSequence;
+            } finally {
+                lock.unlock();
+            }
+            if (batch <= 0) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            target.force();
+            forceTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            forceBatch.record(batch);
+            
+            lock.lock();
+            try {
+                forcedSequence = Math.max(forcedSequence, targetSequence);
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Start a new segment holding the open sagas; called with the lock held
+     */
+    private void rollover() throws IOException {
+        buffer.force();
+        forcedSequence = writtenSequence;
+        forced.signalAll();
+        channel.close();
+        
+        openSegment(segmentNumber + 1);
+        rewriteOpenSagas();
+        buffer.force();
+        deleteSegmentsBefore(segmentNumber);
+        meterRegistry.counter("saga.journal.rollovers").increment();
+        if (buffer.remaining() < buffer.capacity() / 2) {
+            log.warn("Saga journal segment is half full with {} open sagas after rollover; " +
+                     "consider a larger segment size", open.size());
+        }
+    }
+    
+    private void openSegment(long number) throws IOException {
+        long size = (long) properties.getSegmentSizeMb() * 1024 * 1024;
+        Path path = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentNumber = number;
+    }
+    
+    private void rewriteOpenSagas() {
+        for (SagaJournalEntry entry : open.values()) {
+            byte[] payload = encode(entry);
+            if (buffer.remaining() < HEADER_BYTES + payload.length + HEADER_BYTES) {
+                throw new IllegalStateException("Open sagas do not fit in one saga journal segment");
+            }
+            write(payload);
+        }
+    }
+    
+    private void write(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        // Length last, so a record is only visible to replay once its body is in place
+        buffer.putInt(start, payload.length);
+    }
+    
+    private void track(SagaJournalEntry entry) {
+        if (entry.getType() == SagaJournalEntry.Type.CLOSED) {
+            open.remove(entry.getSerialNumber());
+        } else {
+            open.put(entry.getSerialNumber(), entry);
+        }
+    }
+    
+    private void replay(Path segment) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            int records = 0;
+            while (readBuffer.remaining() >= HEADER_BYTES) {
+                int length = readBuffer.getInt();
+                int checksum = readBuffer.getInt();
+                if (length <= 0 || length > readBuffer.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                readBuffer.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Saga journal {} has a torn record after {} records, ignoring the rest",
+                             segment.getFileName(), records);
+                    break;
+                }
+                track(decode(payload));
+                records++;
+            }
+        }
+    }
+    
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+        return segments;
+    }
+    
+    private void deleteSegmentsBefore(long number) throws IOException {
+        for (Path segment : listSegments()) {
+            if (segmentNumber(segment) < number) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+    
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private static byte[] encode(SagaJournalEntry entry) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(entry.getType().ordinal());
+            out.writeLong(entry.getTimestampMillis());
+            out.writeUTF(entry.getSerialNumber());
+            writeNullable(out, entry.getSagaState() != null ? entry.getSagaState().name() : null);
+            writeNullable(out, entry.getCustomerId());
+            writeNullable(out, entry.getCouponId());
+            writeNullable(out, entry.getMarketingUsageId());
+            writeNullable(out, entry.getCoreBankingTxnId());
+            writeNullable(out, entry.getFreezeId());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static SagaJournalEntry decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            SagaJournalEntry.Type type = SagaJournalEntry.Type.values()[in.readByte()];
+            long timestamp = in.readLong();
+            String serialNumber = in.readUTF();
+            String sagaState = readNullable(in);
+            return SagaJournalEntry.builder()
+                .type(type)
+                .timestampMillis(timestamp)
+                .serialNumber(serialNumber)
+                .sagaState(sagaState != null ? SagaState.valueOf(sagaState) : null)
+                .customerId(readNullable(in))
+                .couponId(readNullable(in))
+                .marketingUsageId(readNullable(in))
+                .coreBankingTxnId(readNullable(in))
+                .freezeId(readNullable(in))
+                .build();
+        }
+    }
+    
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+    
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
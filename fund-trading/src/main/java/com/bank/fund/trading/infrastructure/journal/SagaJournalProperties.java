@@ -0,0 +1,49 @@
+package com.bank.fund.trading.infrastructure.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the memory-mapped saga journal
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fund.saga.journal")
+public class SagaJournalProperties {
+    
+    /**
+     * Journal saga steps to local files instead of updating the transaction row after each step
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Directory holding this node's journal segments; must not be shared between nodes
+     */
+    private String directory = "/data/fund/journal";
+    
+    /**
+     * Size of one journal segment file in megabytes
+     */
+    private int segmentSizeMb = 64;
+    
+    /**
+     * Microseconds the flusher waits for more appends before forcing them to disk together
+     */
+    private long flushIntervalMicros = 200;
+    
+    /**
+     * Milliseconds an append waits for its force before failing
+     */
+    private long forceTimeoutMillis = 5000;
+    
+    /**
+     * Minutes an open saga must be idle before the recovery sweep resolves it
+     */
+    private int recoveryStaleMinutes = 10;
+    
+    /**
+     * Interval of the recovery sweep over open sagas
+     */
+    private long recoveryIntervalMillis = 60000;
+}
@@ -0,0 +1,72 @@
+package com.bank.fund.trading.infrastructure.outbox;
+
+import com.bank.fund.trading.application.outbox.OutboxProperties;
+import com.bank.fund.trading.application.outbox.OutboxSink;
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Stand-in sink appending relayed messages to a daily JSON lines file
+ * Each batch is written with one call and forced to disk before the relay moves its cursor.
+ */
+@Component
+@ConditionalOnProperty(name = "fund.outbox.sink", havingValue = "file", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+    
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public String getName() {
+        return "file";
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder(messages.size() * 256);
+        try {
+            for (OutboxMessage message : messages) {
+                lines.append(objectMapper.writeValueAsString(OutboxEnvelope.toJson(objectMapper, message)))
+                    .append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox batch", e);
+        }
+        
+        Path directory = Paths.get(properties.getFile().getDirectory());
+        Path file = directory.resolve("outbox-" + LocalDate.now().format(FILE_DATE) + ".jsonl");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox batch to " + file, e);
+        }
+    }
+}
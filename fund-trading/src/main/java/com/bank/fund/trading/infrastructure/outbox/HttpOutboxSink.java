@@ -0,0 +1,74 @@
+package com.bank.fund.trading.infrastructure.outbox;
+
+import com.bank.fund.trading.application.outbox.OutboxProperties;
+import com.bank.fund.trading.application.outbox.OutboxSink;
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sink posting each relayed batch as a JSON array; any non-2xx answer fails the batch
+ */
+@Component
+@ConditionalOnProperty(name = "fund.outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+    
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    
+    public HttpOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(properties.getHttp().getTimeoutMillis()))
+            .build();
+    }
+    
+    @Override
+    public String getName() {
+        return "http";
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        ArrayNode batch = objectMapper.createArrayNode();
+        messages.forEach(message -> batch.add(OutboxEnvelope.toJson(objectMapper, message)));
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox batch", e);
+        }
+        
+        HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getHttp().getUrl()))
+            .timeout(Duration.ofMillis(properties.getHttp().getTimeoutMillis()))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Outbox endpoint " + request.uri() + " unreachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted delivering outbox batch", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Outbox endpoint answered " + response.statusCode());
+        }
+    }
+}
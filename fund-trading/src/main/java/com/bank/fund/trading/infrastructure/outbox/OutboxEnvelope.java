@@ -0,0 +1,29 @@
+package com.bank.fund.trading.infrastructure.outbox;
+
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * JSON form of an outbox message as sinks deliver it, with the event embedded as an object
+ */
+final class OutboxEnvelope {
+    
+    private OutboxEnvelope() {
+    }
+    
+    static ObjectNode toJson(ObjectMapper objectMapper, OutboxMessage message) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("id", message.getId());
+        envelope.put("aggregateId", message.getAggregateId());
+        envelope.put("eventType", message.getEventType());
+        envelope.put("createdAt", message.getCreatedAt().toString());
+        try {
+            envelope.set("payload", objectMapper.readTree(message.getPayload()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox message " + message.getId() + " has an unreadable payload", e);
+        }
+        return envelope;
+    }
+}
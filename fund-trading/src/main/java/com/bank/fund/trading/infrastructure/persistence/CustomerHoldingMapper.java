@@ -0,0 +1,39 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.CustomerHoldingPO;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareIncrementPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis mapper for the customer holdings projection
+ */
+@Mapper
+public interface CustomerHoldingMapper {
+    
+    CustomerHoldingPO find(@Param("customerId") String customerId, @Param("productCode") String productCode);
+    
+    List<CustomerHoldingPO> findByCustomer(@Param("customerId") String customerId);
+    
+    Cursor<CustomerHoldingPO> streamSubscribed(@Param("updatedSince") LocalDateTime updatedSince);
+    
+    /**
+     * Add the delta columns of the holding to the stored row, inserting it when missing
+     */
+    int mergeDelta(CustomerHoldingPO delta);
+    
+    int mergeShareIncrements(@Param("increments") List<ShareIncrementPO> increments,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Subtract the amounts of the listed subscriptions from the pending columns
+     */
+    int releasePending(@Param("serialNumbers") List<String> serialNumbers,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+    
+    int rebuild(@Param("updatedAt") LocalDateTime updatedAt);
+}
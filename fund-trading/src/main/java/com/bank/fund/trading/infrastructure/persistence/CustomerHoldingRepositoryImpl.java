@@ -0,0 +1,119 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.CustomerHolding;
+import com.bank.fund.trading.domain.model.HoldingDelta;
+import com.bank.fund.trading.domain.model.ShareIncrement;
+import com.bank.fund.trading.domain.repository.CustomerHoldingRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.CustomerHoldingPO;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareIncrementPO;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of CustomerHoldingRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerHoldingRepositoryImpl implements CustomerHoldingRepository {
+    
+    /**
+     * Maximum rows per MERGE statement and serial numbers per IN list
+     */
+    private static final int CHUNK_SIZE = 500;
+    
+    private final CustomerHoldingMapper customerHoldingMapper;
+    
+    @Override
+    public Optional<CustomerHolding> find(String customerId, String productCode) {
+        return Optional.ofNullable(customerHoldingMapper.find(customerId, productCode)).map(this::toDomain);
+    }
+    
+    @Override
+    public List<CustomerHolding> findByCustomer(String customerId) {
+        return customerHoldingMapper.findByCustomer(customerId).stream()
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * The cursor needs its session to stay open while rows are consumed,
+     * so streaming runs inside a read-only transaction
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSubscribed(LocalDateTime updatedSince, BiConsumer<String, String> consumer) {
+        try (Cursor<CustomerHoldingPO> cursor = customerHoldingMapper.streamSubscribed(updatedSince)) {
+            for (CustomerHoldingPO po : cursor) {
+                consumer.accept(po.getCustomerId(), po.getProductCode());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close customer holding cursor", e);
+        }
+    }
+    
+    @Override
+    public void applyDelta(HoldingDelta delta) {
+        CustomerHoldingPO po = new CustomerHoldingPO();
+        po.setCustomerId(delta.getCustomerId());
+        po.setProductCode(delta.getProductCode());
+        po.setConfirmedShares(delta.getShareDelta());
+        po.setPendingAmount(delta.getPendingAmountDelta());
+        po.setPendingOrders(delta.getPendingOrderDelta());
+        po.setSubscribed(delta.isSubscribed() ? "Y" : "N");
+        po.setUpdatedAt(LocalDateTime.now());
+        customerHoldingMapper.mergeDelta(po);
+    }
+    
+    @Override
+    public void applyShareIncrements(List<ShareIncrement> increments) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ShareIncrementPO> pos = increments.stream().map(this::toPO).collect(Collectors.toList());
+        for (int from = 0; from < pos.size(); from += CHUNK_SIZE) {
+            customerHoldingMapper.mergeShareIncrements(pos.subList(from, Math.min(from + CHUNK_SIZE, pos.size())), now);
+        }
+    }
+    
+    @Override
+    public void releasePending(List<String> transactionSerialNumbers) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < transactionSerialNumbers.size(); from += CHUNK_SIZE) {
+            customerHoldingMapper.releasePending(
+                transactionSerialNumbers.subList(from, Math.min(from + CHUNK_SIZE, transactionSerialNumbers.size())), now);
+        }
+    }
+    
+    @Override
+    public int rebuild() {
+        return customerHoldingMapper.rebuild(LocalDateTime.now());
+    }
+    
+    private ShareIncrementPO toPO(ShareIncrement increment) {
+        ShareIncrementPO po = new ShareIncrementPO();
+        po.setCustomerId(increment.getCustomerId());
+        po.setProductCode(increment.getProductCode());
+        po.setShareDelta(increment.getShareDelta());
+        return po;
+    }
+    
+    private CustomerHolding toDomain(CustomerHoldingPO po) {
+        return CustomerHolding.builder()
+            .customerId(po.getCustomerId())
+            .productCode(po.getProductCode())
+            .confirmedShares(po.getConfirmedShares())
+            .pendingAmount(po.getPendingAmount())
+            .pendingOrders(po.getPendingOrders() != null ? po.getPendingOrders() : 0)
+            .subscribed("Y".equals(po.getSubscribed()))
+            .updatedAt(po.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.IdempotencyRecordPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * MyBatis mapper for subscription idempotency records
+ */
+@Mapper
+public interface IdempotencyRecordMapper {
+    
+    /**
+     * Find record by idempotency key
+     */
+    IdempotencyRecordPO findByKey(@Param("idempotencyKey") String idempotencyKey);
+    
+    /**
+     * Insert record, fails on the primary key when the key is already claimed
+     */
+    int insert(IdempotencyRecordPO record);
+    
+    /**
+     * Move an in-progress claim whose lease has expired to a new serial number and lease
+     */
+    int reclaim(@Param("record") IdempotencyRecordPO record,
+                @Param("previousSerialNumber") String previousSerialNumber);
+    
+    /**
+     * Store the completed response, only while the claim is held under the record's serial number
+     */
+    int complete(IdempotencyRecordPO record);
+    
+    /**
+     * Delete the record unless it is completed or claimed under another serial number
+     */
+    int deleteInProgress(@Param("idempotencyKey") String idempotencyKey,
+                         @Param("transactionSerialNumber") String transactionSerialNumber);
+}
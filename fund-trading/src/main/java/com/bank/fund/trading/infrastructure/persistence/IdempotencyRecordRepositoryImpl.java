@@ -0,0 +1,78 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.IdempotencyRecord;
+import com.bank.fund.trading.domain.model.IdempotencyStatus;
+import com.bank.fund.trading.domain.repository.IdempotencyRecordRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.IdempotencyRecordPO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Implementation of IdempotencyRecordRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRecordRepositoryImpl implements IdempotencyRecordRepository {
+    
+    private final IdempotencyRecordMapper idempotencyRecordMapper;
+    
+    @Override
+    public boolean tryInsert(IdempotencyRecord record) {
+        try {
+            idempotencyRecordMapper.insert(toPO(record));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public Optional<IdempotencyRecord> findByKey(String idempotencyKey) {
+        IdempotencyRecordPO po = idempotencyRecordMapper.findByKey(idempotencyKey);
+        return Optional.ofNullable(po).map(this::toDomain);
+    }
+    
+    @Override
+    public boolean reclaim(IdempotencyRecord record, String previousSerialNumber) {
+        return idempotencyRecordMapper.reclaim(toPO(record), previousSerialNumber) > 0;
+    }
+    
+    @Override
+    public boolean complete(IdempotencyRecord record) {
+        return idempotencyRecordMapper.complete(toPO(record)) > 0;
+    }
+    
+    @Override
+    public void release(IdempotencyRecord record) {
+        idempotencyRecordMapper.deleteInProgress(record.getId(), record.getTransactionSerialNumber());
+    }
+    
+    private IdempotencyRecord toDomain(IdempotencyRecordPO po) {
+        return IdempotencyRecord.builder()
+            .id(po.getIdempotencyKey())
+            .requestFingerprint(po.getRequestFingerprint())
+            .status(IdempotencyStatus.valueOf(po.getStatus()))
+            .transactionSerialNumber(po.getTransactionSerialNumber())
+            .responseBody(po.getResponseBody())
+            .leaseExpiresAt(po.getLeaseExpiresAt())
+            .createdAt(po.getCreatedAt())
+            .updatedAt(po.getUpdatedAt())
+            .build();
+    }
+    
+    private IdempotencyRecordPO toPO(IdempotencyRecord record) {
+        IdempotencyRecordPO po = new IdempotencyRecordPO();
+        po.setIdempotencyKey(record.getId());
+        po.setRequestFingerprint(record.getRequestFingerprint());
+        po.setStatus(record.getStatus().name());
+        po.setTransactionSerialNumber(record.getTransactionSerialNumber());
+        po.setResponseBody(record.getResponseBody());
+        po.setLeaseExpiresAt(record.getLeaseExpiresAt());
+        po.setCreatedAt(record.getCreatedAt());
+        po.setUpdatedAt(record.getUpdatedAt());
+        return po;
+    }
+}
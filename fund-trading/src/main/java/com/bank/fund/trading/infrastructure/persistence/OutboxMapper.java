@@ -0,0 +1,32 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.OutboxMessagePO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis mapper for the outbox
+ */
+@Mapper
+public interface OutboxMapper {
+    
+    int insert(OutboxMessagePO message);
+    
+    /**
+     * Lock pending and stale relaying messages, skipping rows another relay holds
+     */
+    List<OutboxMessagePO> lockPending(@Param("limit") int limit, @Param("staleBefore") LocalDateTime staleBefore);
+    
+    int markRelaying(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    int markDelivered(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    int release(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    long countPending();
+    
+    int purgeDelivered(@Param("deliveredBefore") LocalDateTime deliveredBefore);
+}
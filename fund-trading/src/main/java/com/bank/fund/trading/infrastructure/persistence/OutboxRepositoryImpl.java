@@ -0,0 +1,96 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.OutboxMessage;
+import com.bank.fund.trading.domain.repository.OutboxRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.OutboxMessagePO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of OutboxRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepository {
+    
+    private static final int IN_LIST_CHUNK_SIZE = 1000;
+    
+    private final OutboxMapper outboxMapper;
+    
+    @Override
+    public void append(OutboxMessage message) {
+        OutboxMessagePO po = toPO(message);
+        outboxMapper.insert(po);
+        message.setId(po.getId());
+    }
+    
+    @Override
+    @Transactional
+    public List<OutboxMessage> claimPending(int limit, LocalDateTime staleBefore) {
+        List<OutboxMessagePO> pos = outboxMapper.lockPending(limit, staleBefore);
+        if (pos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        outboxMapper.markRelaying(
+            pos.stream().map(OutboxMessagePO::getId).collect(Collectors.toList()), LocalDateTime.now());
+        return pos.stream()
+            .sorted(Comparator.comparing(OutboxMessagePO::getId))
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void markDelivered(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK_SIZE) {
+            outboxMapper.markDelivered(ids.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, ids.size())),
+                LocalDateTime.now());
+        }
+    }
+    
+    @Override
+    public void release(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK_SIZE) {
+            outboxMapper.release(ids.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, ids.size())),
+                LocalDateTime.now());
+        }
+    }
+    
+    @Override
+    public long countPending() {
+        return outboxMapper.countPending();
+    }
+    
+    @Override
+    public int purgeDelivered(LocalDateTime deliveredBefore) {
+        return outboxMapper.purgeDelivered(deliveredBefore);
+    }
+    
+    private OutboxMessage toDomain(OutboxMessagePO po) {
+        return OutboxMessage.builder()
+            .id(po.getId())
+            .aggregateId(po.getAggregateId())
+            .eventType(po.getEventType())
+            .payload(po.getPayload())
+            .createdAt(po.getCreatedAt())
+            .build();
+    }
+    
+    private OutboxMessagePO toPO(OutboxMessage message) {
+        OutboxMessagePO po = new OutboxMessagePO();
+        po.setId(message.getId());
+        po.setAggregateId(message.getAggregateId());
+        po.setEventType(message.getEventType());
+        po.setPayload(message.getPayload());
+        po.setStatus("PENDING");
+        po.setCreatedAt(message.getCreatedAt());
+        po.setUpdatedAt(message.getCreatedAt());
+        return po;
+    }
+}
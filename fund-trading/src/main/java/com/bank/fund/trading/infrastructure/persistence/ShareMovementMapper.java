@@ -0,0 +1,49 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.ShareMovementPO;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareMovementTailPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis mapper for the share movement journal
+ */
+@Mapper
+public interface ShareMovementMapper {
+    
+    /**
+     * Insert movements in one statement, each row taking the next sequence value
+     */
+    int insertBatch(@Param("movements") List<ShareMovementPO> movements);
+    
+    ShareMovementTailPO sumAfter(@Param("customerId") String customerId,
+                                 @Param("productCode") String productCode,
+                                 @Param("lastCompactionId") long lastCompactionId);
+    
+    int initCursor(@Param("name") String name, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Lock the compaction cursor row, returning nothing when another node holds it
+     */
+    Long lockCursor(@Param("name") String name);
+    
+    /**
+     * Stamp up to limit committed movements not yet compacted with the compaction pass
+     */
+    int markCompacted(@Param("compactionId") long compactionId, @Param("limit") int limit);
+    
+    /**
+     * Merge the summed movements stamped with the compaction pass into share records
+     */
+    int compact(@Param("compactionId") long compactionId, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    int advanceCursor(@Param("name") String name, @Param("compactionId") long compactionId,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
+    long countUncompacted();
+    
+    int purgeCompacted(@Param("createdBefore") LocalDateTime createdBefore);
+}
@@ -0,0 +1,96 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.ShareMovement;
+import com.bank.fund.trading.domain.model.ShareMovementTail;
+import com.bank.fund.trading.domain.repository.ShareMovementRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareMovementPO;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareMovementTailPO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ShareMovementRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShareMovementRepositoryImpl implements ShareMovementRepository {
+    
+    /**
+     * Maximum rows per INSERT statement, keeps bind variable count well below Oracle limits
+     */
+    private static final int INSERT_CHUNK_SIZE = 500;
+    
+    private final ShareMovementMapper shareMovementMapper;
+    
+    @Override
+    public void appendAll(List<ShareMovement> movements) {
+        List<ShareMovementPO> pos = movements.stream().map(this::toPO).collect(Collectors.toList());
+        for (int from = 0; from < pos.size(); from += INSERT_CHUNK_SIZE) {
+            shareMovementMapper.insertBatch(pos.subList(from, Math.min(from + INSERT_CHUNK_SIZE, pos.size())));
+        }
+    }
+    
+    @Override
+    public ShareMovementTail sumAfter(String customerId, String productCode, long lastCompactionId) {
+        ShareMovementTailPO po = shareMovementMapper.sumAfter(customerId, productCode, lastCompactionId);
+        if (po == null || po.getMovements() == null || po.getMovements() == 0) {
+            return ShareMovementTail.EMPTY;
+        }
+        return new ShareMovementTail(po.getMovements(), po.getShareDelta(), po.getAvailableDelta(),
+                                     po.getFrozenDelta());
+    }
+    
+    @Override
+    public void initCursor(String name) {
+        shareMovementMapper.initCursor(name, LocalDateTime.now());
+    }
+    
+    @Override
+    public OptionalLong lockCursor(String name) {
+        Long compactionId = shareMovementMapper.lockCursor(name);
+        return compactionId != null ? OptionalLong.of(compactionId) : OptionalLong.empty();
+    }
+    
+    @Override
+    public int markCompacted(long compactionId, int limit) {
+        return shareMovementMapper.markCompacted(compactionId, limit);
+    }
+    
+    @Override
+    public int compact(long compactionId) {
+        return shareMovementMapper.compact(compactionId, LocalDateTime.now());
+    }
+    
+    @Override
+    public void advanceCursor(String name, long compactionId) {
+        shareMovementMapper.advanceCursor(name, compactionId, LocalDateTime.now());
+    }
+    
+    @Override
+    public long countUncompacted() {
+        return shareMovementMapper.countUncompacted();
+    }
+    
+    @Override
+    public int purgeCompacted(LocalDateTime createdBefore) {
+        return shareMovementMapper.purgeCompacted(createdBefore);
+    }
+    
+    private ShareMovementPO toPO(ShareMovement movement) {
+        ShareMovementPO po = new ShareMovementPO();
+        po.setCustomerId(movement.getCustomerId());
+        po.setProductCode(movement.getProductCode());
+        po.setMovementType(movement.getType().name());
+        po.setShareDelta(movement.getShareDelta());
+        po.setAvailableDelta(movement.getAvailableDelta());
+        po.setFrozenDelta(movement.getFrozenDelta());
+        po.setReference(movement.getReference());
+        po.setCreatedAt(movement.getCreatedAt());
+        return po;
+    }
+}
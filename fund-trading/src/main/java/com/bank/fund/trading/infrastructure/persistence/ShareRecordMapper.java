@@ -1,9 +1,13 @@
 package com.bank.fund.trading.infrastructure.persistence;
 
+import com.bank.fund.trading.infrastructure.persistence.po.ShareIncrementPO;
 import com.bank.fund.trading.infrastructure.persistence.po.ShareRecordPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * MyBatis mapper for share record
  */
@@ -25,5 +29,12 @@ public interface ShareRecordMapper {
      * Update share record
      */
     int update(ShareRecordPO shareRecord);
+    
+    /**
+     * Merge share increments into share records in one statement
+     * Existing records are incremented, missing records are inserted
+     */
+    int mergeShareIncrements(@Param("increments") List<ShareIncrementPO> increments,
+                             @Param("updatedAt") LocalDateTime updatedAt);
 }
 
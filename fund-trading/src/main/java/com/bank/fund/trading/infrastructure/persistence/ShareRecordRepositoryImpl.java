@@ -1,12 +1,18 @@
 package com.bank.fund.trading.infrastructure.persistence;
 
+import com.bank.fund.trading.domain.model.ShareIncrement;
 import com.bank.fund.trading.domain.model.ShareRecord;
 import com.bank.fund.trading.domain.repository.ShareRecordRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.ShareIncrementPO;
 import com.bank.fund.trading.infrastructure.persistence.po.ShareRecordPO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Implementation of ShareRecordRepository using MyBatis
@@ -15,6 +21,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ShareRecordRepositoryImpl implements ShareRecordRepository {
     
+    /**
+     * Maximum rows per MERGE statement, keeps bind variable count well below Oracle limits
+     */
+    private static final int MERGE_CHUNK_SIZE = 500;
+    
     private final ShareRecordMapper shareRecordMapper;
     
     @Override
@@ -35,6 +46,32 @@ public class ShareRecordRepositoryImpl implements ShareRecordRepository {
         shareRecordMapper.update(po);
     }
     
+    @Override
+    public void applyShareIncrements(List<ShareIncrement> increments) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ShareIncrementPO> chunk = new ArrayList<>(Math.min(increments.size(), MERGE_CHUNK_SIZE));
+        for (ShareIncrement increment : increments) {
+            chunk.add(toPO(increment));
+            if (chunk.size() == MERGE_CHUNK_SIZE) {
+                shareRecordMapper.mergeShareIncrements(chunk, now);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            shareRecordMapper.mergeShareIncrements(chunk, now);
+        }
+    }
+    
+    private ShareIncrementPO toPO(ShareIncrement increment) {
+        ShareIncrementPO po = new ShareIncrementPO();
+        // ID is only used if the merge inserts a new share record
+        po.setId(UUID.randomUUID().toString());
+        po.setCustomerId(increment.getCustomerId());
+        po.setProductCode(increment.getProductCode());
+        po.setShareDelta(increment.getShareDelta());
+        return po;
+    }
+    
     private ShareRecord toDomain(ShareRecordPO po) {
         return ShareRecord.builder()
             .id(po.getId())
@@ -44,6 +81,7 @@ public class ShareRecordRepositoryImpl implements ShareRecordRepository {
             .availableAmount(po.getAvailableAmount())
             .frozenAmount(po.getFrozenAmount())
             .status(po.getStatus())
+            .lastCompactionId(po.getLastCompactionId() != null ? po.getLastCompactionId() : 0L)
             .createdAt(po.getCreatedAt())
             .updatedAt(po.getUpdatedAt())
             .build();
@@ -58,6 +96,7 @@ public class ShareRecordRepositoryImpl implements ShareRecordRepository {
         po.setAvailableAmount(shareRecord.getAvailableAmount());
         po.setFrozenAmount(shareRecord.getFrozenAmount());
         po.setStatus(shareRecord.getStatus());
+        po.setLastCompactionId(shareRecord.getLastCompactionId() != null ? shareRecord.getLastCompactionId() : 0L);
         po.setCreatedAt(shareRecord.getCreatedAt());
         po.setUpdatedAt(shareRecord.getUpdatedAt());
         return po;
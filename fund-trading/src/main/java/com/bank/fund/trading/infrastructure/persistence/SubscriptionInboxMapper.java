@@ -0,0 +1,33 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.SubscriptionInboxPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis mapper for the subscription inbox
+ */
+@Mapper
+public interface SubscriptionInboxMapper {
+    
+    int insert(SubscriptionInboxPO entry);
+    
+    SubscriptionInboxPO findById(@Param("serialNumber") String serialNumber);
+    
+    /**
+     * Lock claimable entries, skipping rows locked by other nodes
+     */
+    List<SubscriptionInboxPO> lockPending(@Param("limit") int limit, @Param("staleBefore") LocalDateTime staleBefore);
+    
+    int markProcessing(@Param("serialNumbers") List<String> serialNumbers,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+    
+    int finish(SubscriptionInboxPO entry);
+    
+    int release(@Param("serialNumber") String serialNumber, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    long countPending();
+}
@@ -0,0 +1,99 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.InboxStatus;
+import com.bank.fund.trading.domain.model.SubscriptionInboxEntry;
+import com.bank.fund.trading.domain.repository.SubscriptionInboxRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.SubscriptionInboxPO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of SubscriptionInboxRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class SubscriptionInboxRepositoryImpl implements SubscriptionInboxRepository {
+    
+    private final SubscriptionInboxMapper subscriptionInboxMapper;
+    
+    @Override
+    public void save(SubscriptionInboxEntry entry) {
+        subscriptionInboxMapper.insert(toPO(entry));
+    }
+    
+    @Override
+    public Optional<SubscriptionInboxEntry> findById(String serialNumber) {
+        return Optional.ofNullable(subscriptionInboxMapper.findById(serialNumber)).map(this::toDomain);
+    }
+    
+    @Override
+    @Transactional
+    public List<SubscriptionInboxEntry> claimPending(int limit, int staleMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SubscriptionInboxPO> pos = subscriptionInboxMapper.lockPending(limit, now.minusMinutes(staleMinutes));
+        if (pos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        subscriptionInboxMapper.markProcessing(
+            pos.stream().map(SubscriptionInboxPO::getSerialNumber).collect(Collectors.toList()), now);
+        return pos.stream()
+            .peek(po -> {
+                po.setStatus(InboxStatus.PROCESSING.name());
+                po.setAttempts(po.getAttempts() + 1);
+                po.setUpdatedAt(now);
+            })
+            .map(this::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void finish(SubscriptionInboxEntry entry) {
+        subscriptionInboxMapper.finish(toPO(entry));
+    }
+    
+    @Override
+    public void release(SubscriptionInboxEntry entry) {
+        subscriptionInboxMapper.release(entry.getId(), LocalDateTime.now());
+    }
+    
+    @Override
+    public long countPending() {
+        return subscriptionInboxMapper.countPending();
+    }
+    
+    private SubscriptionInboxEntry toDomain(SubscriptionInboxPO po) {
+        return SubscriptionInboxEntry.builder()
+            .id(po.getSerialNumber())
+            .channel(po.getChannel())
+            .customerId(po.getCustomerId())
+            .requestBody(po.getRequestBody())
+            .status(InboxStatus.valueOf(po.getStatus()))
+            .attempts(po.getAttempts() != null ? po.getAttempts() : 0)
+            .responseBody(po.getResponseBody())
+            .createdAt(po.getCreatedAt())
+            .updatedAt(po.getUpdatedAt())
+            .build();
+    }
+    
+    private SubscriptionInboxPO toPO(SubscriptionInboxEntry entry) {
+        SubscriptionInboxPO po = new SubscriptionInboxPO();
+        po.setSerialNumber(entry.getId());
+        po.setChannel(entry.getChannel());
+        po.setCustomerId(entry.getCustomerId());
+        po.setRequestBody(entry.getRequestBody());
+        po.setStatus(entry.getStatus().name());
+        po.setAttempts(entry.getAttempts());
+        po.setResponseBody(entry.getResponseBody());
+        po.setCreatedAt(entry.getCreatedAt());
+        po.setUpdatedAt(entry.getUpdatedAt());
+        return po;
+    }
+}
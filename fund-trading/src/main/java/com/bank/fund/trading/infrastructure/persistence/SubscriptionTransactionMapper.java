@@ -2,8 +2,10 @@ package com.bank.fund.trading.infrastructure.persistence;
 
 import com.bank.fund.trading.infrastructure.persistence.po.SubscriptionTransactionPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,10 +20,16 @@ public interface SubscriptionTransactionMapper {
     SubscriptionTransactionPO findBySerialNumber(@Param("serialNumber") String serialNumber);
     
     /**
-     * Check if customer has existing subscription for product
+     * Check if customer has existing subscription for product, 1 when it has, 0 otherwise
      */
-    int countByCustomerAndProduct(@Param("customerId") String customerId, 
-                                    @Param("productCode") String productCode);
+    int existsByCustomerAndProduct(@Param("customerId") String customerId, 
+                                   @Param("productCode") String productCode);
+    
+    /**
+     * Open a cursor over distinct customer and product pairs with a successful subscription,
+     * limited to rows updated since the given time when it is not null
+     */
+    Cursor<SubscriptionTransactionPO> streamSubscribedPairs(@Param("updatedSince") LocalDateTime updatedSince);
     
     /**
      * Insert transaction
@@ -33,6 +41,11 @@ public interface SubscriptionTransactionMapper {
      */
     int update(SubscriptionTransactionPO transaction);
     
+    /**
+     * Write saga transitions of several transactions in one MERGE
+     */
+    int updateSagaStates(@Param("transactions") List<SubscriptionTransactionPO> transactions);
+    
     /**
      * Find failed transactions that need compensation
      * Returns transactions with status FAILED and saga state indicating compensation needed
@@ -43,6 +56,61 @@ public interface SubscriptionTransactionMapper {
      * Find stuck transactions that may have been interrupted during processing
      * Returns transactions in non-final state older than threshold minutes
      */
-    List<SubscriptionTransactionPO> findStuckTransactionsForRecovery(@Param("minutesThreshold") int minutesThreshold);
+    List<SubscriptionTransactionPO> findStuckTransactionsForRecovery(@Param("updatedBefore") LocalDateTime updatedBefore);
+    
+    /**
+     * Lock the settled transactions among the serial numbers and return their serial numbers
+     */
+    List<String> lockSettled(@Param("serialNumbers") List<String> serialNumbers);
+    
+    /**
+     * Mark settled transactions as confirmed by TA
+     * Transactions already confirmed or not settled are left untouched
+     */
+    int markConfirmed(@Param("serialNumbers") List<String> serialNumbers,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Find distinct product codes with settled transactions in the period
+     */
+    List<String> findProductsWithSettledTransactions(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+    
+    /**
+     * Open a cursor over settled transactions of a product in the period
+     */
+    Cursor<SubscriptionTransactionPO> streamSettledTransactions(@Param("productCode") String productCode,
+                                                                @Param("from") LocalDateTime from,
+                                                                @Param("to") LocalDateTime to);
+    
+    /**
+     * Lock a page of transactions waiting for freeze settlement, skipping rows locked elsewhere
+     */
+    List<SubscriptionTransactionPO> lockFrozenForSettlement(@Param("limit") int limit,
+                                                            @Param("now") LocalDateTime now,
+                                                            @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                            @Param("staleBefore") LocalDateTime staleBefore,
+                                                            @Param("backoffMinutes") int backoffMinutes);
+    
+    /**
+     * Move claimed transactions to SETTLING
+     */
+    int markSettling(@Param("serialNumbers") List<String> serialNumbers,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Record core banking txn IDs of settled transactions still in SETTLING
+     */
+    int markSettled(@Param("settlements") List<SubscriptionTransactionPO> settlements,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Move a transaction in SETTLING back to COMPLETED, or to SETTLEMENT_FAILED, with the debit error
+     */
+    int releaseSettlement(SubscriptionTransactionPO transaction);
+    
+    /**
+     * Count transactions waiting for freeze settlement
+     */
+    long countPendingFreezeSettlement();
 }
-
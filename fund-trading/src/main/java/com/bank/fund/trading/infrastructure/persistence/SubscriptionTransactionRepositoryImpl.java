@@ -7,11 +7,19 @@ import com.bank.fund.trading.domain.model.TransactionStatus;
 import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
 import com.bank.fund.trading.infrastructure.persistence.po.SubscriptionTransactionPO;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +29,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SubscriptionTransactionRepositoryImpl implements SubscriptionTransactionRepository {
     
+    /**
+     * Oracle allows at most 1000 expressions in an IN list
+     */
+    private static final int IN_LIST_CHUNK_SIZE = 1000;
+    
     private final SubscriptionTransactionMapper subscriptionTransactionMapper;
     
     @Override
@@ -41,10 +54,37 @@ public class SubscriptionTransactionRepositoryImpl implements SubscriptionTransa
         subscriptionTransactionMapper.update(po);
     }
     
+    @Override
+    public void updateSagaStates(List<SubscriptionTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<SubscriptionTransactionPO> pos = transactions.stream()
+                .map(this::toPO)
+                .collect(Collectors.toList());
+        subscriptionTransactionMapper.updateSagaStates(pos);
+    }
+    
     @Override
     public boolean hasExistingSubscription(String customerId, String productCode) {
-        int count = subscriptionTransactionMapper.countByCustomerAndProduct(customerId, productCode);
-        return count > 0;
+        return subscriptionTransactionMapper.existsByCustomerAndProduct(customerId, productCode) > 0;
+    }
+    
+    /**
+     * The cursor needs its session to stay open while rows are consumed,
+     * so streaming runs inside a read-only transaction
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSubscribedPairs(LocalDateTime updatedSince, BiConsumer<String, String> consumer) {
+        try (Cursor<SubscriptionTransactionPO> cursor = 
+                 subscriptionTransactionMapper.streamSubscribedPairs(updatedSince)) {
+            for (SubscriptionTransactionPO po : cursor) {
+                consumer.accept(po.getCustomerId(), po.getProductCode());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close subscribed pairs cursor", e);
+        }
     }
     
     @Override
@@ -57,12 +97,112 @@ public class SubscriptionTransactionRepositoryImpl implements SubscriptionTransa
     
     @Override
     public List<SubscriptionTransaction> findStuckTransactionsForRecovery(int minutesThreshold) {
-        List<SubscriptionTransactionPO> pos = subscriptionTransactionMapper.findStuckTransactionsForRecovery(minutesThreshold);
+        List<SubscriptionTransactionPO> pos = subscriptionTransactionMapper.findStuckTransactionsForRecovery(
+            LocalDateTime.now().minusMinutes(minutesThreshold));
         return pos.stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public List<String> markConfirmed(List<String> transactionSerialNumbers) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> confirmed = new ArrayList<>(transactionSerialNumbers.size());
+        for (int from = 0; from < transactionSerialNumbers.size(); from += IN_LIST_CHUNK_SIZE) {
+            int to = Math.min(from + IN_LIST_CHUNK_SIZE, transactionSerialNumbers.size());
+            List<String> settled = subscriptionTransactionMapper.lockSettled(transactionSerialNumbers.subList(from, to));
+            if (!settled.isEmpty()) {
+                subscriptionTransactionMapper.markConfirmed(settled, now);
+                confirmed.addAll(settled);
+            }
+        }
+        return confirmed;
+    }
+    
+    @Override
+    public List<String> findProductsWithSettledTransactions(LocalDateTime from, LocalDateTime to) {
+        return subscriptionTransactionMapper.findProductsWithSettledTransactions(from, to);
+    }
+    
+    /**
+     * The cursor needs its session to stay open while rows are consumed,
+     * so streaming runs inside a read-only transaction
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSettledTransactions(String productCode, LocalDateTime from, LocalDateTime to,
+                                          Consumer<SubscriptionTransaction> consumer) {
+        try (Cursor<SubscriptionTransactionPO> cursor = 
+                 subscriptionTransactionMapper.streamSettledTransactions(productCode, from, to)) {
+            for (SubscriptionTransactionPO po : cursor) {
+                consumer.accept(toDomain(po));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close transaction cursor for product " + productCode, e);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public List<SubscriptionTransaction> claimFrozenForSettlement(int limit, LocalDateTime updatedBefore, 
+                                                                  int staleMinutes, int backoffMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SubscriptionTransactionPO> pos = subscriptionTransactionMapper.lockFrozenForSettlement(
+            limit, now, updatedBefore, now.minusMinutes(staleMinutes), backoffMinutes);
+        if (pos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> serialNumbers = pos.stream()
+                .map(SubscriptionTransactionPO::getSerialNumber)
+                .collect(Collectors.toList());
+        for (int from = 0; from < serialNumbers.size(); from += IN_LIST_CHUNK_SIZE) {
+            int to = Math.min(from + IN_LIST_CHUNK_SIZE, serialNumbers.size());
+            subscriptionTransactionMapper.markSettling(serialNumbers.subList(from, to), now);
+        }
+        
+        return pos.stream()
+                .peek(po -> {
+                    po.setSagaState(SagaState.SETTLING.name());
+                    po.setUpdatedAt(now);
+                })
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void markSettled(List<SubscriptionTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<SubscriptionTransactionPO> settlements = transactions.stream()
+                .map(transaction -> {
+                    SubscriptionTransactionPO po = new SubscriptionTransactionPO();
+                    po.setSerialNumber(transaction.getId());
+                    po.setCoreBankingTxnId(transaction.getCoreBankingTxnId());
+                    return po;
+                })
+                .collect(Collectors.toList());
+        subscriptionTransactionMapper.markSettled(settlements, LocalDateTime.now());
+    }
+    
+    @Override
+    public void releaseSettlement(SubscriptionTransaction transaction) {
+        SubscriptionTransactionPO po = new SubscriptionTransactionPO();
+        po.setSerialNumber(transaction.getId());
+        po.setSagaState(transaction.getSagaState().name());
+        po.setSettlementAttempts(transaction.getSettlementAttempts());
+        po.setErrorCode(transaction.getErrorCode());
+        po.setErrorMessage(transaction.getErrorMessage());
+        po.setUpdatedAt(LocalDateTime.now());
+        subscriptionTransactionMapper.releaseSettlement(po);
+    }
+    
+    @Override
+    public long countPendingFreezeSettlement() {
+        return subscriptionTransactionMapper.countPendingFreezeSettlement();
+    }
+    
     private SubscriptionTransaction toDomain(SubscriptionTransactionPO po) {
         Currency currency = Currency.getInstance(po.getCurrencyCode());
         
@@ -83,6 +223,7 @@ public class SubscriptionTransactionRepositoryImpl implements SubscriptionTransa
             .coreBankingTxnId(po.getCoreBankingTxnId())
             .freezeId(po.getFreezeId())
             .sagaState(SagaState.valueOf(po.getSagaState()))
+            .settlementAttempts(po.getSettlementAttempts() != null ? po.getSettlementAttempts() : 0)
             .errorCode(po.getErrorCode())
             .errorMessage(po.getErrorMessage())
             .firstTimeSubscription("Y".equals(po.getFirstTimeSubscription()))
@@ -0,0 +1,32 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.infrastructure.persistence.po.TaFileCheckpointPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * MyBatis mapper for TA file checkpoint
+ */
+@Mapper
+public interface TaFileCheckpointMapper {
+    
+    /**
+     * Find checkpoint by file name
+     */
+    TaFileCheckpointPO findByFileName(@Param("fileName") String fileName);
+    
+    /**
+     * Find checkpoint by file name with a row lock
+     */
+    TaFileCheckpointPO lockByFileName(@Param("fileName") String fileName);
+    
+    /**
+     * Insert checkpoint
+     */
+    int insert(TaFileCheckpointPO checkpoint);
+    
+    /**
+     * Update checkpoint
+     */
+    int update(TaFileCheckpointPO checkpoint);
+}
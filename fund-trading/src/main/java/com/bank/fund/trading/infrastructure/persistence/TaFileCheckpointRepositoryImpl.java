@@ -0,0 +1,64 @@
+package com.bank.fund.trading.infrastructure.persistence;
+
+import com.bank.fund.trading.domain.model.TaFileCheckpoint;
+import com.bank.fund.trading.domain.model.TaFileStatus;
+import com.bank.fund.trading.domain.repository.TaFileCheckpointRepository;
+import com.bank.fund.trading.infrastructure.persistence.po.TaFileCheckpointPO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Implementation of TaFileCheckpointRepository using MyBatis
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaFileCheckpointRepositoryImpl implements TaFileCheckpointRepository {
+    
+    private final TaFileCheckpointMapper taFileCheckpointMapper;
+    
+    @Override
+    public Optional<TaFileCheckpoint> findByFileName(String fileName) {
+        TaFileCheckpointPO po = taFileCheckpointMapper.findByFileName(fileName);
+        return Optional.ofNullable(po).map(this::toDomain);
+    }
+    
+    @Override
+    public Optional<TaFileCheckpoint> lockByFileName(String fileName) {
+        TaFileCheckpointPO po = taFileCheckpointMapper.lockByFileName(fileName);
+        return Optional.ofNullable(po).map(this::toDomain);
+    }
+    
+    @Override
+    public void save(TaFileCheckpoint checkpoint) {
+        taFileCheckpointMapper.insert(toPO(checkpoint));
+    }
+    
+    @Override
+    public void update(TaFileCheckpoint checkpoint) {
+        taFileCheckpointMapper.update(toPO(checkpoint));
+    }
+    
+    private TaFileCheckpoint toDomain(TaFileCheckpointPO po) {
+        return TaFileCheckpoint.builder()
+            .id(po.getFileName())
+            .byteOffset(po.getByteOffset())
+            .recordCount(po.getRecordCount())
+            .status(TaFileStatus.valueOf(po.getStatus()))
+            .createdAt(po.getCreatedAt())
+            .updatedAt(po.getUpdatedAt())
+            .build();
+    }
+    
+    private TaFileCheckpointPO toPO(TaFileCheckpoint checkpoint) {
+        TaFileCheckpointPO po = new TaFileCheckpointPO();
+        po.setFileName(checkpoint.getId());
+        po.setByteOffset(checkpoint.getByteOffset());
+        po.setRecordCount(checkpoint.getRecordCount());
+        po.setStatus(checkpoint.getStatus().name());
+        po.setCreatedAt(checkpoint.getCreatedAt());
+        po.setUpdatedAt(checkpoint.getUpdatedAt());
+        return po;
+    }
+}
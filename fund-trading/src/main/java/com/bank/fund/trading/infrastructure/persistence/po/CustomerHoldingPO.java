@@ -0,0 +1,20 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for customer holding table
+ */
+@Data
+public class CustomerHoldingPO {
+    private String customerId;
+    private String productCode;
+    private BigDecimal confirmedShares;
+    private BigDecimal pendingAmount;
+    private Integer pendingOrders;
+    private String subscribed;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for subscription idempotency table
+ */
+@Data
+public class IdempotencyRecordPO {
+    private String idempotencyKey;
+    private String requestFingerprint;
+    private String status;
+    private String transactionSerialNumber;
+    private String responseBody;
+    private LocalDateTime leaseExpiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for outbox table
+ */
+@Data
+public class OutboxMessagePO {
+    private Long id;
+    private String aggregateId;
+    private String eventType;
+    private String payload;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
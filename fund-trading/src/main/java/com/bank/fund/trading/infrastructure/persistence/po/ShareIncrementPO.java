@@ -0,0 +1,16 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Persistent object for a share increment merged into share record table
+ */
+@Data
+public class ShareIncrementPO {
+    private String id;
+    private String customerId;
+    private String productCode;
+    private BigDecimal shareDelta;
+}
@@ -0,0 +1,22 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for share movement table
+ */
+@Data
+public class ShareMovementPO {
+    private Long id;
+    private String customerId;
+    private String productCode;
+    private String movementType;
+    private BigDecimal shareDelta;
+    private BigDecimal availableDelta;
+    private BigDecimal frozenDelta;
+    private String reference;
+    private LocalDateTime createdAt;
+}
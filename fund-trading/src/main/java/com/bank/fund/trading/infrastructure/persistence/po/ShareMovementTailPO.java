@@ -0,0 +1,16 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Persistent object for the movement sums of one customer and product
+ */
+@Data
+public class ShareMovementTailPO {
+    private Integer movements;
+    private BigDecimal shareDelta;
+    private BigDecimal availableDelta;
+    private BigDecimal frozenDelta;
+}
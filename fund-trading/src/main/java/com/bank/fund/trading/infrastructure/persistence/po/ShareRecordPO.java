@@ -17,6 +17,7 @@ public class ShareRecordPO {
     private BigDecimal availableAmount;
     private BigDecimal frozenAmount;
     private String status;
+    private Long lastCompactionId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
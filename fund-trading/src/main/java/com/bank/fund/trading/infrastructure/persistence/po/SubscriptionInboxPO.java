@@ -0,0 +1,21 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for subscription inbox table
+ */
+@Data
+public class SubscriptionInboxPO {
+    private String serialNumber;
+    private String channel;
+    private String customerId;
+    private String requestBody;
+    private String status;
+    private Integer attempts;
+    private String responseBody;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -27,6 +27,7 @@ public class SubscriptionTransactionPO {
     private String coreBankingTxnId;
     private String freezeId;
     private String sagaState;
+    private Integer settlementAttempts;
     private String errorCode;
     private String errorMessage;
     private String firstTimeSubscription;
@@ -0,0 +1,18 @@
+package com.bank.fund.trading.infrastructure.persistence.po;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent object for TA file checkpoint table
+ */
+@Data
+public class TaFileCheckpointPO {
+    private String fileName;
+    private Long byteOffset;
+    private Long recordCount;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
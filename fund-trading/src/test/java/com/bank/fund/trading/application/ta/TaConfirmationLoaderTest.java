@@ -0,0 +1,169 @@
+package com.bank.fund.trading.application.ta;
+
+import com.bank.fund.trading.domain.model.TaFileCheckpoint;
+import com.bank.fund.trading.domain.repository.CustomerHoldingRepository;
+import com.bank.fund.trading.domain.repository.ShareMovementRepository;
+import com.bank.fund.trading.domain.repository.ShareRecordRepository;
+import com.bank.fund.trading.domain.repository.SubscriptionTransactionRepository;
+import com.bank.fund.trading.domain.repository.TaFileCheckpointRepository;
+import com.bank.fund.trading.domain.service.holding.CustomerHoldingCache;
+import com.bank.fund.trading.domain.service.holding.HoldingProperties;
+import com.bank.fund.trading.domain.service.share.ShareBalanceService;
+import com.bank.fund.trading.domain.service.share.ShareMovementProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for TaConfirmationLoader against in-memory subscriptions and holdings
+ */
+class TaConfirmationLoaderTest {
+
+    @TempDir
+    Path inboundDir;
+
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    private SubscriptionTransactionRepository transactionRepository;
+    private CustomerHoldingRepository holdingRepository;
+    private TaConfirmationLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(SubscriptionTransactionRepository.class);
+        when(transactionRepository.markConfirmed(anyList())).thenAnswer(invocation -> {
+            List<String> moved = new ArrayList<>();
+            for (String serialNumber : invocation.<List<String>>getArgument(0)) {
+                Subscription subscription = subscriptions.get(serialNumber);
+                if (subscription != null && !subscription.confirmed) {
+                    subscription.confirmed = true;
+                    moved.add(serialNumber);
+                }
+            }
+            return moved;
+        });
+
+        // Mirrors the releasePending MERGE: subtract the listed subscriptions, never below zero
+        holdingRepository = mock(CustomerHoldingRepository.class);
+        doAnswer(invocation -> {
+            for (String serialNumber : invocation.<List<String>>getArgument(0)) {
+                Subscription subscription = subscriptions.get(serialNumber);
+                Pending holding = pending.get(subscription.holdingKey);
+                holding.amount = holding.amount.subtract(subscription.amount).max(BigDecimal.ZERO);
+                holding.orders = Math.max(holding.orders - 1, 0);
+            }
+            return null;
+        }).when(holdingRepository).releasePending(anyList());
+
+        AtomicReference<TaFileCheckpoint> checkpoint = new AtomicReference<>();
+        TaFileCheckpointRepository checkpointRepository = mock(TaFileCheckpointRepository.class);
+        when(checkpointRepository.findByFileName(any())).thenAnswer(invocation -> Optional.ofNullable(checkpoint.get()));
+        when(checkpointRepository.lockByFileName(any())).thenAnswer(invocation -> Optional.ofNullable(checkpoint.get()));
+        doAnswer(invocation -> {
+            checkpoint.set(invocation.getArgument(0));
+            return null;
+        }).when(checkpointRepository).save(any());
+
+        HoldingProperties holdingProperties = new HoldingProperties();
+        holdingProperties.setEnabled(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ShareRecordRepository shareRecordRepository = mock(ShareRecordRepository.class);
+
+        loader = new TaConfirmationLoader(
+            new TaFileProperties(),
+            shareRecordRepository,
+            transactionRepository,
+            checkpointRepository,
+            new CustomerHoldingCache(holdingRepository, holdingProperties, meterRegistry),
+            new ShareBalanceService(new ShareMovementProperties(), shareRecordRepository,
+                                    mock(ShareMovementRepository.class), meterRegistry),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            meterRegistry);
+    }
+
+    @Test
+    void confirmationReleasesPendingHoldings() throws IOException {
+        settled("SUB001", "C001", "FP001", "1000.00");
+        settled("SUB002", "C001", "FP001", "500.00");
+
+        loader.load(confirmationFile("20261019.cfm",
+            "SUB001|C001|FP001|1000.00|980.00|20261019|0000",
+            "SUB002|C001|FP001|500.00|490.00|20261019|0000"));
+
+        Pending holding = pending.get("C001|FP001");
+        assertEquals(0, holding.amount.compareTo(BigDecimal.ZERO));
+        assertEquals(0, holding.orders);
+        InOrder order = inOrder(transactionRepository, holdingRepository);
+        order.verify(transactionRepository).markConfirmed(Arrays.asList("SUB001", "SUB002"));
+        order.verify(holdingRepository).releasePending(Arrays.asList("SUB001", "SUB002"));
+    }
+
+    @Test
+    void redeliveredConfirmationReleasesPendingOnce() throws IOException {
+        settled("SUB001", "C001", "FP001", "1000.00");
+        settled("SUB002", "C001", "FP001", "500.00");
+        subscriptions.get("SUB001").confirmed = true;
+
+        loader.load(confirmationFile("20261019.cfm",
+            "SUB001|C001|FP001|1000.00|980.00|20261019|0000",
+            "SUB002|C001|FP001|500.00|490.00|20261019|0000"));
+
+        Pending holding = pending.get("C001|FP001");
+        assertEquals(0, holding.amount.compareTo(new BigDecimal("1000.00")));
+        assertEquals(1, holding.orders);
+    }
+
+    private void settled(String serialNumber, String customerId, String productCode, String amount) {
+        Subscription subscription = new Subscription(customerId + '|' + productCode, new BigDecimal(amount));
+        subscriptions.put(serialNumber, subscription);
+        Pending holding = pending.computeIfAbsent(subscription.holdingKey, key -> new Pending());
+        holding.amount = holding.amount.add(subscription.amount);
+        holding.orders++;
+    }
+
+    private Path confirmationFile(String fileName, String... lines) throws IOException {
+        return Files.write(inboundDir.resolve(fileName), Arrays.asList(lines), StandardCharsets.US_ASCII);
+    }
+
+    private static final class Subscription {
+        private final String holdingKey;
+        private final BigDecimal amount;
+        private boolean confirmed;
+
+        private Subscription(String holdingKey, BigDecimal amount) {
+            this.holdingKey = holdingKey;
+            this.amount = amount;
+        }
+    }
+
+    private static final class Pending {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private int orders;
+    }
+}